@@ -0,0 +1,85 @@
+package minimumheap;
+
+import java.util.Collection;
+
+/**
+ * {@code Interface} of a minimum priority queue of {@code Generic Type} whose
+ * elements can be reached again after they have been added, so that their
+ * priority can be decreased.
+ * <p>
+ * Elements are identified with {@code equals}, so the same element cannot be
+ * added twice. An element may also be changed in place (e.g. a field used by
+ * the comparator) and then passed to {@link #decrease(Object, Object)} as both
+ * {@code element} and {@code newElement}.
+ */
+public interface AddressablePriorityQueue<T> {
+
+    /**
+     * @return the number of elements into the queue
+     */
+    int size();
+
+    /**
+     * @param element to add
+     * @throws MinimumHeapException when {@code element} is {@code null} or is
+     *                              already into the queue
+     */
+    void add(T element) throws MinimumHeapException;
+
+    /**
+     * Add all the {@code elements} into the queue
+     * 
+     * @param elements to add
+     * @throws MinimumHeapException when {@code elements} is {@code null}, or one
+     *                              of them is {@code null} or already into the
+     *                              queue
+     */
+    default void addAll(Collection<? extends T> elements) throws MinimumHeapException {
+        if (elements == null)
+            throw new MinimumHeapException("\naddAll(elements): elements must be != null");
+
+        for (T element : elements)
+            add(element);
+    }
+
+    /**
+     * Remove the minimum element
+     * 
+     * @return the element removed
+     * @throws MinimumHeapException on an empty queue
+     */
+    T remove() throws MinimumHeapException;
+
+    /**
+     * Change the given {@code element} with the given {@code newElement}, which
+     * must not be greater than {@code element}
+     * 
+     * @param element    to change
+     * @param newElement to change with
+     * @throws MinimumHeapException when {@code element} or {@code newElement}
+     *                              are {@code null}, or {@code element} is NOT
+     *                              into the queue
+     */
+    void decrease(T element, T newElement) throws MinimumHeapException;
+
+    /**
+     * Move all the elements of {@code other} into this queue, leaving
+     * {@code other} empty; both queues must use the same ordering
+     * 
+     * @param other queue to meld with
+     * @throws MinimumHeapException when {@code other} is {@code null} or is this
+     *                              queue, or shares an element with this queue
+     */
+    void meld(AddressablePriorityQueue<T> other) throws MinimumHeapException;
+
+    /**
+     * Remove all the elements
+     */
+    void clear();
+
+    /**
+     * @return the elements into the queue as an array of {@code Object}, in no
+     *         particular order
+     */
+    Object[] toArray();
+}
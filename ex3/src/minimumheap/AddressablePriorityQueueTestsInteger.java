@@ -0,0 +1,191 @@
+package minimumheap;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class AddressablePriorityQueueTestsInteger {
+
+    static class CompareInteger implements Comparator<Integer> {
+        @Override
+        public int compare(Integer o1, Integer o2) {
+            return o1.compareTo(o2);
+        }
+    }
+
+    interface QueueFactory {
+        <E> AddressablePriorityQueue<E> create(Comparator<? super E> comparator) throws MinimumHeapException;
+    }
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> queues() {
+        QueueFactory minimumHeap = MinimumHeap::new;
+        QueueFactory pairingHeap = PairingHeap::new;
+        QueueFactory fibonacciHeap = FibonacciHeap::new;
+
+        return Arrays.asList(new Object[][] {
+                { "MinimumHeap", minimumHeap },
+                { "PairingHeap", pairingHeap },
+                { "FibonacciHeap", fibonacciHeap } });
+    }
+
+    private QueueFactory factory;
+    private AddressablePriorityQueue<Integer> queue;
+
+    public AddressablePriorityQueueTestsInteger(String name, QueueFactory factory) {
+        this.factory = factory;
+    }
+
+    @Before
+    public void createQueue() throws MinimumHeapException {
+        queue = factory.create(new CompareInteger());
+    }
+
+    private void addAll(AddressablePriorityQueue<Integer> q, int... values) throws MinimumHeapException {
+        for (int v : values)
+            q.add(v);
+    }
+
+    @Test
+    public void testSizeEmpty() {
+        assertEquals(0, queue.size());
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testAddNull() throws MinimumHeapException {
+        queue.add(null);
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testAddTwice() throws MinimumHeapException {
+        addAll(queue, 1, 1);
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testRemoveFromEmpty() throws MinimumHeapException {
+        queue.remove();
+    }
+
+    @Test
+    public void testAddTenElRemoveSorted() throws MinimumHeapException {
+        addAll(queue, 5, 3, 7, 2, 1, 8, 6, 9, 10, 4);
+        for (int i = 1; i <= 10; i++)
+            assertEquals(Integer.valueOf(i), queue.remove());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testDecreaseAfterRemove() throws MinimumHeapException {
+        addAll(queue, 5, 3, 7, 2, 1, 8, 6, 9, 10, 4);
+        queue.remove();
+        queue.decrease(9, 0);
+        queue.decrease(10, -1);
+        assertEquals(Integer.valueOf(-1), queue.remove());
+        assertEquals(Integer.valueOf(0), queue.remove());
+        assertEquals(Integer.valueOf(2), queue.remove());
+        assertEquals(Integer.valueOf(3), queue.remove());
+        assertEquals(5, queue.size());
+    }
+
+    @Test
+    public void testDecreaseToGreater() throws MinimumHeapException {
+        // after a remove the elements hang from each other, so every position
+        // is tried: the minimum, a node with children and a leaf
+        for (int victim = 20; victim <= 60; victim += 10) {
+            queue.clear();
+            addAll(queue, 40, 10, 60, 20, 50, 30);
+            assertEquals(Integer.valueOf(10), queue.remove());
+            queue.decrease(victim, 1000);
+
+            int previous = Integer.MIN_VALUE;
+            for (int i = 0; i < 5; i++) {
+                int removed = queue.remove();
+                assertTrue(removed > previous);
+                previous = removed;
+            }
+            assertEquals(1000, previous);
+        }
+    }
+
+    @Test
+    public void testDecreaseToGreaterInPlace() throws MinimumHeapException {
+        for (int victim = 1; victim < 6; victim++) {
+            AddressablePriorityQueue<int[]> changed = factory.create((a, b) -> Integer.compare(a[0], b[0]));
+            int[][] elements = new int[6][];
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = new int[] { 10 * (i + 1) };
+                changed.add(elements[i]);
+            }
+            assertSame(elements[0], changed.remove());
+
+            elements[victim][0] = 1000;
+            changed.decrease(elements[victim], elements[victim]);
+
+            int previous = Integer.MIN_VALUE;
+            for (int i = 0; i < 5; i++) {
+                int removed = changed.remove()[0];
+                assertTrue(removed > previous);
+                previous = removed;
+            }
+            assertEquals(1000, previous);
+        }
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testDecreaseMissing() throws MinimumHeapException {
+        addAll(queue, 1, 2, 3);
+        queue.decrease(10, 0);
+    }
+
+    @Test
+    public void testMeldSameType() throws MinimumHeapException {
+        AddressablePriorityQueue<Integer> other = factory.create(new CompareInteger());
+        addAll(queue, 5, 3, 9, 1);
+        addAll(other, 4, 8, 2, 7, 6);
+        queue.meld(other);
+        assertEquals(0, other.size());
+        assertEquals(9, queue.size());
+        for (int i = 1; i <= 9; i++)
+            assertEquals(Integer.valueOf(i), queue.remove());
+    }
+
+    @Test
+    public void testMeldOtherType() throws MinimumHeapException {
+        AddressablePriorityQueue<Integer> other = new PairingHeap<>(new CompareInteger());
+        if (queue instanceof PairingHeap)
+            other = new MinimumHeap<>(new CompareInteger());
+        addAll(queue, 3, 1);
+        addAll(other, 4, 2);
+        queue.meld(other);
+        assertEquals(0, other.size());
+        for (int i = 1; i <= 4; i++)
+            assertEquals(Integer.valueOf(i), queue.remove());
+    }
+
+    @Test
+    public void testMeldSharedElementLeavesQueuesUnchanged() throws MinimumHeapException {
+        AddressablePriorityQueue<Integer> other = factory.create(new CompareInteger());
+        addAll(queue, 1, 2);
+        addAll(other, 2, 3);
+        try {
+            queue.meld(other);
+            fail();
+        } catch (MinimumHeapException e) {
+            assertEquals(2, queue.size());
+            assertEquals(2, other.size());
+        }
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testMeldWithItself() throws MinimumHeapException {
+        queue.meld(queue);
+    }
+}
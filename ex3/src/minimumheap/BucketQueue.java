@@ -0,0 +1,337 @@
+package minimumheap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Class used to manage a {@code Bucket Queue} of {@code Generic Type} (Dial's
+ * queue), a monotone priority queue with non-negative {@code long} keys.
+ * <p>
+ * The key of an element is read once from the given {@code ToLongFunction}
+ * when it is added or decreased, and cached. The buckets are a circular array
+ * of {@code range} slots, the key {@code k} going into slot
+ * {@code k % range}: they hold the window of the keys from the last key
+ * removed up to {@code range - 1} after it, and the window moves with the
+ * cursor of {@link #remove()}. The elements whose key is beyond the window
+ * wait into an overflow list, which is scanned only when the cursor reaches
+ * its least key or the buckets are empty, and then gives to the buckets every
+ * element that fits.
+ * <p>
+ * {@link #add(Object)} and {@link #decrease(Object, Object)} run in constant
+ * time, {@link #remove()} moves the cursor along the buckets. Running Dijkstra
+ * with {@code range} greater than the largest weight, every key given to the
+ * queue but the infinite ones is within the window, so the unreached vertices
+ * stay into the overflow list and are never scanned until the reached ones
+ * are all removed.
+ * <p>
+ * The queue is monotone: no key may be less than the last key removed.
+ */
+public class BucketQueue<T> implements AddressablePriorityQueue<T> {
+
+    private static final int OVERFLOW = -1;
+
+    private static class Node<T> {
+        private T element = null;
+        private long key = 0;
+        private int bucket = OVERFLOW;
+        private Node<T> prev = null;
+        private Node<T> next = null;
+
+        private Node(T element, long key) {
+            this.element = element;
+            this.key = key;
+        }
+    }
+
+    private Node<T>[] buckets = null;
+    private Node<T> overflow = null;
+    private long overflowMin = Long.MAX_VALUE; // not greater than any key of the overflow list
+    private HashMap<T, Node<T>> nodes = null;
+    private ToLongFunction<? super T> key = null;
+    private long last = 0; // last key removed, the cursor and the start of the window
+    private int windowSize = 0; // number of elements into the buckets
+
+    /**
+     * @param key   used to read the non-negative key of an element
+     * @param range number of keys of the window, e.g. the largest weight plus
+     *              one
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code key} is {@code null}</li>
+     *                              <li>{@code range} is less than 1</li>
+     *                              </ul>
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public BucketQueue(ToLongFunction<? super T> key, int range) throws MinimumHeapException {
+        if (key == null)
+            throw new MinimumHeapException("\nBucketQueue(key, range): key must be != null");
+
+        if (range < 1)
+            throw new MinimumHeapException("\nBucketQueue(key, range): range must be >= 1");
+
+        this.key = key;
+        this.buckets = (Node<T>[]) new Node[range];
+        this.nodes = new HashMap<>();
+    }
+
+    @Override
+    public int size() {
+        return this.nodes.size();
+    }
+
+    /**
+     * @return the last key removed, which is a lower bound of every key into
+     *         the {@code BucketQueue}
+     */
+    public long lastKey() {
+        return this.last;
+    }
+
+    /**
+     * @param element to add
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code element} is {@code null} or is
+     *                              already into the {@code BucketQueue}</li>
+     *                              <li>the key of {@code element} is less than
+     *                              the last key removed</li>
+     *                              </ul>
+     */
+    @Override
+    public void add(T element) throws MinimumHeapException {
+        if (element == null)
+            throw new MinimumHeapException("\nadd(element): element must be != null");
+
+        long k = keyOf(element, "\nadd(element)");
+        Node<T> node = new Node<>(element, k);
+
+        if (this.nodes.putIfAbsent(element, node) != null)
+            throw new MinimumHeapException("\nadd(element): element is already in the BucketQueue");
+
+        insert(node);
+    }
+
+    @Override
+    public T remove() throws MinimumHeapException {
+        if (this.nodes.isEmpty())
+            throw new MinimumHeapException("\nremove(): cannot remove the root element of an empty BucketQueue");
+
+        if (this.windowSize == 0)
+            nextWindow();
+
+        while (true) {
+            // the overflow list may hold keys the cursor is reaching
+            if (this.last >= this.overflowMin)
+                pullOverflow();
+
+            if (this.buckets[bucketOf(this.last)] != null)
+                break;
+
+            this.last++;
+        }
+
+        Node<T> removed = this.buckets[bucketOf(this.last)];
+        unlink(removed);
+        this.nodes.remove(removed.element);
+
+        return removed.element;
+    }
+
+    /**
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code element} or {@code newElement}
+     *                              are {@code null}</li>
+     *                              <li>{@code element} is NOT into the
+     *                              {@code BucketQueue}</li>
+     *                              <li>the key of {@code newElement} is less
+     *                              than the last key removed</li>
+     *                              </ul>
+     */
+    @Override
+    public void decrease(T element, T newElement) throws MinimumHeapException {
+        if (element == null)
+            throw new MinimumHeapException("\ndecrease(element, newElement): element must be != null");
+
+        if (newElement == null)
+            throw new MinimumHeapException("\ndecrease(element, newElement): newElement must be != null");
+
+        Node<T> node = this.nodes.get(element);
+
+        if (node == null)
+            throw new MinimumHeapException(
+                    "\ndecrease(element, newElement): cannot decrease an element that is not in the BucketQueue");
+
+        long k = keyOf(newElement, "\ndecrease(element, newElement)");
+
+        if (element != newElement) {
+            this.nodes.remove(element);
+            this.nodes.put(newElement, node);
+        }
+        node.element = newElement;
+
+        unlink(node);
+        node.key = k;
+        insert(node);
+    }
+
+    /**
+     * Move all the elements of {@code other} into the {@code BucketQueue},
+     * adding them one by one
+     *
+     * @param other queue to meld with
+     * @throws MinimumHeapException when {@code other} is {@code null} or is this
+     *                              {@code BucketQueue}, shares an element with
+     *                              it or holds a key less than the last key
+     *                              removed; in that case both queues are left
+     *                              unchanged
+     */
+    @Override
+    public void meld(AddressablePriorityQueue<T> other) throws MinimumHeapException {
+        if (other == null)
+            throw new MinimumHeapException("\nmeld(other): other must be != null");
+
+        if (other == this)
+            throw new MinimumHeapException("\nmeld(other): cannot meld a BucketQueue with itself");
+
+        @SuppressWarnings("unchecked")
+        T[] elements = (T[]) other.toArray();
+
+        for (T element : elements) {
+            if (element == null || this.nodes.containsKey(element))
+                throw new MinimumHeapException("\nmeld(other): element " + element + " is already in the BucketQueue");
+            keyOf(element, "\nmeld(other)");
+        }
+        for (T element : elements)
+            add(element);
+
+        other.clear();
+    }
+
+    /**
+     * Remove all the elements; the next keys can start again from 0
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(this.buckets, null);
+        this.overflow = null;
+        this.overflowMin = Long.MAX_VALUE;
+        this.nodes.clear();
+        this.last = 0;
+        this.windowSize = 0;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] ris = new Object[this.nodes.size()];
+        int i = 0;
+        for (Node<T> node : this.nodes.values())
+            ris[i++] = node.element;
+        return ris;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    /**
+     * @return the key of {@code element}
+     * @throws MinimumHeapException when the key is less than the last key
+     *                              removed
+     */
+    private long keyOf(T element, String method) throws MinimumHeapException {
+        long k = this.key.applyAsLong(element);
+
+        if (k < this.last)
+            throw new MinimumHeapException(method + ": the key " + k + " of " + element
+                    + " is less than the last key removed " + this.last);
+
+        return k;
+    }
+
+    private int bucketOf(long k) {
+        return (int) (k % this.buckets.length);
+    }
+
+    /**
+     * Move the cursor to the least key of the overflow list, the buckets being
+     * empty, then move there the elements that fit into the window
+     */
+    private void nextWindow() {
+        long min = this.overflow.key;
+        for (Node<T> node = this.overflow.next; node != null; node = node.next)
+            min = Math.min(min, node.key);
+
+        this.last = min;
+        pullOverflow();
+    }
+
+    /**
+     * Move into the buckets the elements of the overflow list that fit into
+     * the window, and compute the least key of the ones left; since that key
+     * is beyond the window, the cursor moves at least {@code range} keys before
+     * the next scan
+     */
+    private void pullOverflow() {
+        long min = Long.MAX_VALUE;
+        Node<T> node = this.overflow;
+        while (node != null) {
+            Node<T> next = node.next;
+            if (node.key - this.last < this.buckets.length) {
+                unlink(node);
+                insert(node);
+            } else {
+                min = Math.min(min, node.key);
+            }
+            node = next;
+        }
+
+        this.overflowMin = min;
+    }
+
+    /**
+     * Put {@code node} at the head of the bucket of its key, or of the overflow
+     * list when its key is beyond the window
+     */
+    private void insert(Node<T> node) {
+        // keys are never less than last, so the difference cannot overflow
+        if (node.key - this.last < this.buckets.length) {
+            node.bucket = bucketOf(node.key);
+            node.next = this.buckets[node.bucket];
+            this.buckets[node.bucket] = node;
+            this.windowSize++;
+        } else {
+            node.bucket = OVERFLOW;
+            node.next = this.overflow;
+            this.overflow = node;
+            this.overflowMin = Math.min(this.overflowMin, node.key);
+        }
+
+        node.prev = null;
+        if (node.next != null)
+            node.next.prev = node;
+    }
+
+    /**
+     * Remove {@code node} from its bucket or from the overflow list
+     */
+    private void unlink(Node<T> node) {
+        if (node.prev != null)
+            node.prev.next = node.next;
+        else if (node.bucket == OVERFLOW)
+            this.overflow = node.next;
+        else
+            this.buckets[node.bucket] = node.next;
+
+        if (node.bucket != OVERFLOW)
+            this.windowSize--;
+
+        if (node.next != null)
+            node.next.prev = node.prev;
+
+        node.prev = null;
+        node.next = null;
+    }
+}
@@ -0,0 +1,394 @@
+package minimumheap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Class used to manage a relaxed concurrent {@code Minimum Priority Queue} of
+ * {@code Generic Type} (a {@code MultiQueue}).
+ * <p>
+ * The elements are spread over several {@link IndexedMinimumHeap}, each one
+ * guarded by its own lock. {@link #add(Object)} locks a random heap;
+ * {@link #poll()} looks at the roots of two random heaps without locking and
+ * removes the smaller one. So the element removed is one of the smallest with
+ * high probability, not always the smallest, and threads seldom wait for each
+ * other. With one heap the queue is exact.
+ * <p>
+ * All the methods are thread safe; {@link #clear()}, {@link #toArray()} and
+ * {@link #meld(AddressablePriorityQueue)} lock every heap. Being relaxed, it is
+ * a {@link RelaxedPriorityQueue} and not an {@link AddressablePriorityQueue},
+ * so it cannot be given to an algorithm that needs the exact minimum.
+ */
+public class ConcurrentMultiQueue<T> implements RelaxedPriorityQueue<T> {
+
+    private static final int QUEUES_PER_THREAD = 2;
+
+    private static final class Shard<T> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final IndexedMinimumHeap<T> heap;
+        private volatile T top = null; // root of the heap, read without locking
+        private volatile int size = 0; // size of the heap, read without locking
+
+        private Shard(IndexedMinimumHeap<T> heap) {
+            this.heap = heap;
+        }
+
+        /**
+         * Publish the root and the size of the heap, under the lock of the shard
+         */
+        private void update() {
+            this.size = this.heap.size();
+            this.top = (this.size == 0) ? null : this.heap.elementAt(0);
+        }
+    }
+
+    private static final class Entry {
+        private final int shard;
+        private int handle = -1; // written and read under the lock of the shard
+
+        private Entry(int shard) {
+            this.shard = shard;
+        }
+    }
+
+    /**
+     * Snapshot of the counters of a {@code ConcurrentMultiQueue}
+     */
+    public static final class Statistics {
+        private final long adds;
+        private final long removes;
+        private final long decreases;
+        private final long contentions;
+
+        private Statistics(long adds, long removes, long decreases, long contentions) {
+            this.adds = adds;
+            this.removes = removes;
+            this.decreases = decreases;
+            this.contentions = contentions;
+        }
+
+        /**
+         * @return the number of elements added
+         */
+        public long getAdds() {
+            return this.adds;
+        }
+
+        /**
+         * @return the number of elements removed
+         */
+        public long getRemoves() {
+            return this.removes;
+        }
+
+        /**
+         * @return the number of elements decreased
+         */
+        public long getDecreases() {
+            return this.decreases;
+        }
+
+        /**
+         * @return the number of times a thread found a heap locked and tried
+         *         another one
+         */
+        public long getContentions() {
+            return this.contentions;
+        }
+
+        @Override
+        public String toString() {
+            return "{adds=" + this.adds + ", removes=" + this.removes + ", decreases=" + this.decreases
+                    + ", contentions=" + this.contentions + "}";
+        }
+    }
+
+    private final Shard<T>[] shards;
+    private final ConcurrentHashMap<T, Entry> entries = new ConcurrentHashMap<>();
+    private final Comparator<? super T> comparator;
+
+    private final LongAdder adds = new LongAdder();
+    private final LongAdder removes = new LongAdder();
+    private final LongAdder decreases = new LongAdder();
+    private final LongAdder contentions = new LongAdder();
+
+    /**
+     * Init a {@code ConcurrentMultiQueue} with two heaps for each available
+     * processor
+     *
+     * @param comparator used to compare two {@code Generic Type} elements
+     * @throws MinimumHeapException when {@code comparator} is {@code null}
+     */
+    public ConcurrentMultiQueue(Comparator<? super T> comparator) throws MinimumHeapException {
+        this(comparator, QUEUES_PER_THREAD * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param comparator used to compare two {@code Generic Type} elements
+     * @param queues     number of heaps; more heaps mean less contention and a
+     *                   more relaxed order
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code comparator} is {@code null}</li>
+     *                              <li>{@code queues} is less than 1</li>
+     *                              </ul>
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public ConcurrentMultiQueue(Comparator<? super T> comparator, int queues) throws MinimumHeapException {
+        if (comparator == null)
+            throw new MinimumHeapException("\nConcurrentMultiQueue(comparator, queues): comparator must be != null");
+
+        if (queues < 1)
+            throw new MinimumHeapException("\nConcurrentMultiQueue(comparator, queues): queues must be >= 1");
+
+        this.comparator = comparator;
+        this.shards = (Shard<T>[]) new Shard[queues];
+        for (int i = 0; i < queues; i++)
+            this.shards[i] = new Shard<>(new IndexedMinimumHeap<>(comparator));
+    }
+
+    /**
+     * @return the number of elements, summed over the heaps without locking
+     *         them; exact only when no other thread changes the queue
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (Shard<T> shard : this.shards)
+            size += shard.size;
+
+        return size;
+    }
+
+    @Override
+    public void add(T element) throws MinimumHeapException {
+        if (element == null)
+            throw new MinimumHeapException("\nadd(element): element must be != null");
+
+        while (true) {
+            int i = ThreadLocalRandom.current().nextInt(this.shards.length);
+            Shard<T> shard = this.shards[i];
+
+            if (!shard.lock.tryLock()) {
+                this.contentions.increment();
+                continue;
+            }
+
+            try {
+                // the entry is published under the lock, so decrease waits until
+                // its handle is known
+                Entry entry = new Entry(i);
+                if (this.entries.putIfAbsent(element, entry) != null)
+                    throw new MinimumHeapException("\nadd(element): element is already in the ConcurrentMultiQueue");
+
+                entry.handle = shard.heap.add(element);
+                shard.update();
+            } finally {
+                shard.lock.unlock();
+            }
+
+            this.adds.increment();
+            return;
+        }
+    }
+
+    /**
+     * @return the element removed, {@code null} if a scan of all the heaps
+     *         found them empty
+     */
+    @Override
+    public T poll() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (true) {
+            Shard<T> shard = choose(this.shards[random.nextInt(this.shards.length)],
+                    this.shards[random.nextInt(this.shards.length)]);
+
+            if (shard == null) {
+                // both heaps look empty, look for any element left
+                for (Shard<T> s : this.shards) {
+                    if (s.top != null) {
+                        shard = s;
+                        break;
+                    }
+                }
+                if (shard == null)
+                    return null;
+            }
+
+            if (!shard.lock.tryLock()) {
+                this.contentions.increment();
+                continue;
+            }
+
+            T removed = null;
+            try {
+                if (shard.heap.size() == 0)
+                    continue;
+
+                removed = shard.heap.remove();
+                this.entries.remove(removed);
+                shard.update();
+            } catch (MinimumHeapException e) {
+                // cannot happen, the heap is not empty
+                throw new IllegalStateException(e);
+            } finally {
+                shard.lock.unlock();
+            }
+
+            this.removes.increment();
+            return removed;
+        }
+    }
+
+    /**
+     * @throws MinimumHeapException on an empty {@code ConcurrentMultiQueue}
+     * @see #poll()
+     */
+    @Override
+    public T remove() throws MinimumHeapException {
+        T removed = poll();
+
+        if (removed == null)
+            throw new MinimumHeapException(
+                    "\nremove(): cannot remove the root element of an empty ConcurrentMultiQueue");
+
+        return removed;
+    }
+
+    @Override
+    public void decrease(T element, T newElement) throws MinimumHeapException {
+        if (element == null)
+            throw new MinimumHeapException("\ndecrease(element, newElement): element must be != null");
+
+        if (newElement == null)
+            throw new MinimumHeapException("\ndecrease(element, newElement): newElement must be != null");
+
+        Entry entry = this.entries.get(element);
+
+        if (entry == null)
+            throw new MinimumHeapException(
+                    "\ndecrease(element, newElement): cannot decrease an element that is not in the ConcurrentMultiQueue");
+
+        Shard<T> shard = this.shards[entry.shard];
+        shard.lock.lock();
+        try {
+            // the element may have been removed while waiting for the lock
+            if (this.entries.get(element) != entry)
+                throw new MinimumHeapException(
+                        "\ndecrease(element, newElement): cannot decrease an element that is not in the ConcurrentMultiQueue");
+
+            if (element != newElement) {
+                this.entries.remove(element);
+                this.entries.put(newElement, entry);
+            }
+
+            shard.heap.decrease(entry.handle, newElement);
+            shard.update();
+        } finally {
+            shard.lock.unlock();
+        }
+
+        this.decreases.increment();
+    }
+
+    /**
+     * Move all the elements of {@code other} into the
+     * {@code ConcurrentMultiQueue}, leaving {@code other} empty
+     *
+     * @param other exact queue to meld with
+     * @throws MinimumHeapException when {@code other} is {@code null}, or shares
+     *                              an element with the
+     *                              {@code ConcurrentMultiQueue}
+     */
+    public void meld(AddressablePriorityQueue<T> other) throws MinimumHeapException {
+        if (other == null)
+            throw new MinimumHeapException("\nmeld(other): other must be != null");
+
+        @SuppressWarnings("unchecked")
+        T[] elements = (T[]) other.toArray();
+
+        for (T element : elements) {
+            if (this.entries.containsKey(element))
+                throw new MinimumHeapException("\nmeld(other): element " + element
+                        + " is already in the ConcurrentMultiQueue");
+        }
+        for (T element : elements)
+            add(element);
+
+        other.clear();
+    }
+
+    @Override
+    public void clear() {
+        lockAll();
+        try {
+            for (Shard<T> shard : this.shards) {
+                shard.heap.clear();
+                shard.update();
+            }
+            this.entries.clear();
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    public Object[] toArray() {
+        lockAll();
+        try {
+            List<Object> ris = new ArrayList<>(size());
+            for (Shard<T> shard : this.shards) {
+                for (Object element : shard.heap.toArray())
+                    ris.add(element);
+            }
+            return ris.toArray();
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * @return a snapshot of the counters of the {@code ConcurrentMultiQueue}
+     */
+    public Statistics getStatistics() {
+        return new Statistics(this.adds.sum(), this.removes.sum(), this.decreases.sum(), this.contentions.sum());
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    /**
+     * @return the heap with the smaller root, {@code null} if both look empty
+     */
+    private Shard<T> choose(Shard<T> a, Shard<T> b) {
+        T topA = a.top;
+        T topB = b.top;
+
+        if (topA == null)
+            return (topB == null) ? null : b;
+
+        if (topB == null)
+            return a;
+
+        return (this.comparator.compare(topA, topB) <= 0) ? a : b;
+    }
+
+    private void lockAll() {
+        for (Shard<T> shard : this.shards)
+            shard.lock.lock();
+    }
+
+    private void unlockAll() {
+        for (int i = this.shards.length - 1; i >= 0; i--)
+            this.shards[i].lock.unlock();
+    }
+}
@@ -0,0 +1,206 @@
+package minimumheap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConcurrentMultiQueueTestsInteger {
+
+    static class CompareInteger implements Comparator<Integer> {
+        @Override
+        public int compare(Integer o1, Integer o2) {
+            return o1.compareTo(o2);
+        }
+    }
+
+    private ConcurrentMultiQueue<Integer> queue;
+
+    @Before
+    public void createConcurrentMultiQueue() throws MinimumHeapException {
+        queue = new ConcurrentMultiQueue<>(new CompareInteger(), 8);
+    }
+
+    @Test
+    public void testPollEmpty() {
+        assertNull(queue.poll());
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testRemoveFromEmpty() throws MinimumHeapException {
+        queue.remove();
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testAddTwice() throws MinimumHeapException {
+        queue.add(1);
+        queue.add(1);
+    }
+
+    @Test
+    public void testSingleQueueIsExact() throws MinimumHeapException {
+        queue = new ConcurrentMultiQueue<>(new CompareInteger(), 1);
+        for (int i : new int[] { 5, 3, 7, 2, 1, 8, 6, 9, 10, 4 })
+            queue.add(i);
+        queue.decrease(9, 0);
+        assertEquals(Integer.valueOf(0), queue.remove());
+        for (int i = 1; i <= 8; i++)
+            assertEquals(Integer.valueOf(i), queue.remove());
+        assertEquals(Integer.valueOf(10), queue.remove());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testDecreaseAcrossQueues() throws MinimumHeapException {
+        for (int i = 100; i < 200; i++)
+            queue.add(i);
+        queue.decrease(150, 1);
+        assertEquals(100, queue.size());
+        assertEquals(1, queue.getStatistics().getDecreases());
+
+        boolean found = false;
+        Integer removed;
+        while ((removed = queue.poll()) != null)
+            found = found || removed == 1;
+        assertTrue(found);
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentProducersAndConsumers() throws InterruptedException {
+        final int threads = 4;
+        final int perThread = 5000;
+        final AtomicIntegerArray seen = new AtomicIntegerArray(threads * perThread);
+        final Throwable[] failure = new Throwable[1];
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            final int first = t * perThread;
+            workers.add(new Thread(() -> {
+                try {
+                    for (int i = first; i < first + perThread; i++)
+                        queue.add(i);
+                } catch (Throwable e) {
+                    failure[0] = e;
+                }
+            }));
+            workers.add(new Thread(() -> {
+                int removed = 0;
+                // a producer that failed leaves the consumers short of elements
+                while (removed < perThread && failure[0] == null) {
+                    Integer element = queue.poll();
+                    if (element != null) {
+                        seen.incrementAndGet(element);
+                        removed++;
+                    }
+                }
+            }));
+        }
+
+        for (Thread worker : workers)
+            worker.start();
+        for (Thread worker : workers)
+            worker.join();
+
+        assertNull(failure[0]);
+        for (int i = 0; i < threads * perThread; i++)
+            assertEquals(1, seen.get(i));
+        assertEquals(0, queue.size());
+        assertEquals(threads * perThread, queue.getStatistics().getRemoves());
+    }
+
+    @Test(timeout = 10000)
+    public void testClearWhileAdding() throws InterruptedException {
+        final int threads = 4;
+        final int perThread = 5000;
+        final Throwable[] failure = new Throwable[1];
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            final int first = t * perThread;
+            workers.add(new Thread(() -> {
+                try {
+                    for (int i = first; i < first + perThread; i++)
+                        queue.add(i);
+                } catch (Throwable e) {
+                    failure[0] = e;
+                }
+            }));
+        }
+        workers.add(new Thread(() -> {
+            try {
+                for (int i = 0; i < 1000; i++)
+                    queue.clear();
+            } catch (Throwable e) {
+                failure[0] = e;
+            }
+        }));
+
+        for (Thread worker : workers)
+            worker.start();
+        for (Thread worker : workers)
+            worker.join();
+
+        assertNull(failure[0]);
+        // every element left is polled, then poll stops on the empty heaps
+        int left = queue.size();
+        assertTrue(left <= threads * perThread);
+        for (int i = 0; i < left; i++)
+            assertNotNull(queue.poll());
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+    }
+
+    @Test(timeout = 10000)
+    public void testDecreaseWhilePolling() throws InterruptedException, MinimumHeapException {
+        final int n = 20000;
+        final AtomicInteger front = new AtomicInteger(); // the element the poller takes next
+        final Throwable[] failure = new Throwable[1];
+        // one heap, so the order is exact and both threads meet on its root
+        queue = new ConcurrentMultiQueue<>(new CompareInteger(), 1);
+        for (int i = 0; i < n; i++)
+            queue.add(i);
+
+        Thread poller = new Thread(() -> {
+            try {
+                for (int i = 0; i < n && failure[0] == null; i++) {
+                    Integer element = queue.poll();
+                    assertEquals(Integer.valueOf(i), element);
+                    front.set(i + 1);
+                }
+            } catch (Throwable e) {
+                failure[0] = e;
+            }
+        });
+        // decrease the root to itself while the poller may be removing it
+        List<Thread> decreasers = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            decreasers.add(new Thread(() -> {
+                for (int v; (v = front.get()) < n && failure[0] == null;) {
+                    try {
+                        queue.decrease(v, v);
+                    } catch (MinimumHeapException e) {
+                        // polled first
+                    } catch (Throwable e) {
+                        failure[0] = e;
+                    }
+                }
+            }));
+        }
+
+        poller.start();
+        for (Thread decreaser : decreasers)
+            decreaser.start();
+        poller.join();
+        for (Thread decreaser : decreasers)
+            decreaser.join();
+
+        assertNull(failure[0]);
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+    }
+}
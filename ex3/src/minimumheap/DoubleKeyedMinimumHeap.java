@@ -0,0 +1,500 @@
+package minimumheap;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Class used to manage a {@code Minimum Heap} of {@code Generic Type} ordered
+ * by a primitive {@code double} key given with each element.
+ * <p>
+ * The keys are kept in heap order into a {@code double} array next to the
+ * elements, so a sift compares primitives only and never reads the elements.
+ * As in {@link IndexedMinimumHeap}, every element receives an {@code int}
+ * {@code handle} that stays valid until the element leaves the heap; elements
+ * can also be addressed directly, so the same element cannot be added twice.
+ */
+public class DoubleKeyedMinimumHeap<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int DEFAULT_ARITY = 2;
+
+    private double[] keys = null; // slot -> key
+    private Object[] elements = null; // slot -> element
+    private int[] heap = null; // slot -> handle
+    private int[] positions = null; // handle -> position
+    private int size = 0;
+    private int handles = 0; // number of handles issued so far
+    private int arity = DEFAULT_ARITY;
+    private ElementIndex<T> table = null;
+
+    /**
+     * Init a binary {@code DoubleKeyedMinimumHeap}
+     */
+    public DoubleKeyedMinimumHeap() {
+        init(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Init a {@code d-ary} {@code DoubleKeyedMinimumHeap}
+     *
+     * @param arity           number of children of each node
+     * @param initialCapacity number of elements the heap can hold before growing
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code arity} is less than 2</li>
+     *                              <li>{@code initialCapacity} is negative</li>
+     *                              </ul>
+     */
+    public DoubleKeyedMinimumHeap(int arity, int initialCapacity) throws MinimumHeapException {
+        if (arity < 2)
+            throw new MinimumHeapException("\nDoubleKeyedMinimumHeap(arity, initialCapacity): arity must be >= 2");
+
+        if (initialCapacity < 0)
+            throw new MinimumHeapException(
+                    "\nDoubleKeyedMinimumHeap(arity, initialCapacity): initialCapacity must be >= 0");
+
+        this.arity = arity;
+        init(initialCapacity);
+    }
+
+    private void init(int initialCapacity) {
+        this.keys = new double[initialCapacity];
+        this.elements = new Object[initialCapacity];
+        this.heap = new int[initialCapacity];
+        this.positions = new int[initialCapacity];
+        this.table = new ElementIndex<>(initialCapacity);
+    }
+
+    /**
+     * @return the size of the {@code DoubleKeyedMinimumHeap}
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @param handle returned by {@link #add(Object, double)}
+     * @return {@code TRUE} iff the element with the given {@code handle} is into
+     *         the {@code DoubleKeyedMinimumHeap}, {@code FALSE} otherwise
+     */
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < this.handles && this.positions[handle] < this.size;
+    }
+
+    /**
+     * @param element to search
+     * @return the {@code handle} of {@code element}, {@code -1} if it is not into
+     *         the {@code DoubleKeyedMinimumHeap}
+     */
+    public int handle(T element) {
+        if (element == null)
+            return -1;
+
+        return this.table.get(element);
+    }
+
+    /**
+     * @param handle returned by {@link #add(Object, double)}
+     * @return the element with the given {@code handle}
+     * @throws MinimumHeapException when {@code handle} is NOT into the
+     *                              {@code DoubleKeyedMinimumHeap}
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int handle) throws MinimumHeapException {
+        if (!contains(handle))
+            throw new MinimumHeapException("\nget(handle): handle is not in the DoubleKeyedMinimumHeap");
+
+        return (T) this.elements[this.positions[handle]];
+    }
+
+    /**
+     * @param handle returned by {@link #add(Object, double)}
+     * @return the key of the element with the given {@code handle}
+     * @throws MinimumHeapException when {@code handle} is NOT into the
+     *                              {@code DoubleKeyedMinimumHeap}
+     */
+    public double getKey(int handle) throws MinimumHeapException {
+        if (!contains(handle))
+            throw new MinimumHeapException("\ngetKey(handle): handle is not in the DoubleKeyedMinimumHeap");
+
+        return this.keys[this.positions[handle]];
+    }
+
+    /**
+     * @return the key of the root element
+     * @throws MinimumHeapException on an empty {@code DoubleKeyedMinimumHeap}
+     */
+    public double minKey() throws MinimumHeapException {
+        if (this.size == 0)
+            throw new MinimumHeapException("\nminKey(): the DoubleKeyedMinimumHeap is empty");
+
+        return this.keys[0];
+    }
+
+    /**
+     * @return the {@code handle} of the root element
+     * @throws MinimumHeapException on an empty {@code DoubleKeyedMinimumHeap}
+     */
+    public int minHandle() throws MinimumHeapException {
+        if (this.size == 0)
+            throw new MinimumHeapException("\nminHandle(): the DoubleKeyedMinimumHeap is empty");
+
+        return this.heap[0];
+    }
+
+    /**
+     * Add an {@code element} of {@code generic type} with the given {@code key}
+     *
+     * @param element to add
+     * @param key     of the element
+     * @return the {@code handle} of the element added
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code element} is {@code null}</li>
+     *                              <li>{@code element} is already into the
+     *                              {@code DoubleKeyedMinimumHeap}</li>
+     *                              <li>{@code key} is {@code NaN}</li>
+     *                              </ul>
+     */
+    public int add(T element, double key) throws MinimumHeapException {
+        if (element == null)
+            throw new MinimumHeapException("\nadd(element, key): element must be != null");
+
+        if (Double.isNaN(key))
+            throw new MinimumHeapException("\nadd(element, key): key must be a number");
+
+        ensureCapacity(this.size + 1);
+
+        if (this.table.putIfAbsent(element, nextHandle()) != ElementIndex.NONE)
+            throw new MinimumHeapException("\nadd(element, key): element is already in the DoubleKeyedMinimumHeap");
+
+        int handle = append(element, key);
+        siftUp(this.size - 1);
+
+        return handle;
+    }
+
+    /**
+     * Add all the {@code elements}, each with the key at the same index of
+     * {@code keys}.
+     * <p>
+     * The elements are appended to the heap layout, then the heap is rebuilt
+     * bottom-up in linear time when the batch is at least as large as the heap
+     * already is; smaller batches are sifted up one by one.
+     *
+     * @param elements to add
+     * @param keys     of the elements, in iteration order
+     * @return the {@code handles} of the elements added, in iteration order
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code elements} or {@code keys} is
+     *                              {@code null}</li>
+     *                              <li>{@code keys} has not one key per
+     *                              element</li>
+     *                              <li>{@code elements} contains {@code null}, a
+     *                              repeated element or an element already into
+     *                              the {@code DoubleKeyedMinimumHeap}</li>
+     *                              <li>{@code keys} contains {@code NaN}</li>
+     *                              </ul>
+     *                              in that case the
+     *                              {@code DoubleKeyedMinimumHeap} is left
+     *                              unchanged
+     */
+    @SuppressWarnings("unchecked")
+    public int[] addAll(Collection<? extends T> elements, double[] keys) throws MinimumHeapException {
+        if (elements == null)
+            throw new MinimumHeapException("\naddAll(elements, keys): elements must be != null");
+
+        if (keys == null)
+            throw new MinimumHeapException("\naddAll(elements, keys): keys must be != null");
+
+        Object[] batch = elements.toArray();
+        if (batch.length != keys.length)
+            throw new MinimumHeapException("\naddAll(elements, keys): keys must hold one key per element");
+
+        for (int i = 0; i < batch.length; i++) {
+            if (batch[i] == null)
+                throw new MinimumHeapException("\naddAll(elements, keys): elements must not contain null");
+
+            if (Double.isNaN(keys[i]))
+                throw new MinimumHeapException("\naddAll(elements, keys): keys must be numbers");
+        }
+
+        int first = this.size;
+        int[] added = new int[batch.length];
+
+        ensureCapacity(this.size + batch.length);
+        for (int i = 0; i < batch.length; i++) {
+            if (this.table.putIfAbsent((T) batch[i], nextHandle()) != ElementIndex.NONE) {
+                // undo the elements appended so far, their handles stay recyclable
+                for (int j = first; j < this.size; j++) {
+                    this.table.remove(this.elements[j]);
+                    this.elements[j] = null;
+                }
+                this.size = first;
+
+                throw new MinimumHeapException("\naddAll(elements, keys): element " + batch[i]
+                        + " is repeated or already in the DoubleKeyedMinimumHeap");
+            }
+
+            added[i] = append(batch[i], keys[i]);
+        }
+
+        if (this.size < 2) {
+            // nothing to order
+        } else if (batch.length >= first) {
+            for (int i = (this.size - 2) / this.arity; i >= 0; i--)
+                siftDown(i);
+        } else {
+            for (int i = first; i < this.size; i++)
+                siftUp(i);
+        }
+
+        return added;
+    }
+
+    /**
+     * Remove the root element, then rebuild the {@code DoubleKeyedMinimumHeap}
+     *
+     * @return the element removed
+     * @throws MinimumHeapException on an empty {@code DoubleKeyedMinimumHeap}
+     */
+    @SuppressWarnings("unchecked")
+    public T remove() throws MinimumHeapException {
+        if (this.size == 0)
+            throw new MinimumHeapException(
+                    "\nremove(): cannot remove the root element of an empty DoubleKeyedMinimumHeap");
+
+        int lastSlot = this.size - 1;
+        int root = this.heap[0];
+        T removed = (T) this.elements[0];
+
+        this.table.remove(removed);
+
+        // the last element takes the place of the root, the handle of the root is
+        // kept after the last element to be recycled
+        move(lastSlot, 0);
+        this.heap[lastSlot] = root;
+        this.elements[lastSlot] = null;
+        this.size--;
+        this.positions[root] = this.size;
+
+        if (this.size > 1)
+            siftDown(0);
+
+        return removed;
+    }
+
+    /**
+     * Change the key of the element with the given {@code handle}
+     *
+     * @param handle of the element
+     * @param newKey of the element
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code handle} is NOT into the
+     *                              {@code DoubleKeyedMinimumHeap}</li>
+     *                              <li>{@code newKey} is {@code NaN}</li>
+     *                              </ul>
+     */
+    public void decrease(int handle, double newKey) throws MinimumHeapException {
+        if (!contains(handle))
+            throw new MinimumHeapException(
+                    "\ndecrease(handle, newKey): cannot decrease an element that is not in the DoubleKeyedMinimumHeap");
+
+        if (Double.isNaN(newKey))
+            throw new MinimumHeapException("\ndecrease(handle, newKey): newKey must be a number");
+
+        int position = this.positions[handle];
+        this.keys[position] = newKey;
+
+        // move the element towards the root, then check if it can go down
+        siftDown(siftUp(position));
+    }
+
+    /**
+     * Change the key of the given {@code element}
+     *
+     * @param element to change
+     * @param newKey  of the element
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code element} is {@code null}</li>
+     *                              <li>{@code element} is NOT into the
+     *                              {@code DoubleKeyedMinimumHeap}</li>
+     *                              <li>{@code newKey} is {@code NaN}</li>
+     *                              </ul>
+     */
+    public void decrease(T element, double newKey) throws MinimumHeapException {
+        if (element == null)
+            throw new MinimumHeapException("\ndecrease(element, newKey): element must be != null");
+
+        int handle = this.table.get(element);
+
+        if (handle == ElementIndex.NONE)
+            throw new MinimumHeapException(
+                    "\ndecrease(element, newKey): cannot decrease an element that is not in the DoubleKeyedMinimumHeap");
+
+        decrease(handle, newKey);
+    }
+
+    /**
+     * Remove all the elements; every {@code handle} issued so far becomes
+     * invalid
+     */
+    public void clear() {
+        Arrays.fill(this.elements, null);
+        this.table.clear();
+        this.size = 0;
+        this.handles = 0;
+    }
+
+    /**
+     * @return the {@code handle} the next element added will receive
+     */
+    private int nextHandle() {
+        // the slots after the last element hold the handles already released
+        if (this.size < this.handles)
+            return this.heap[this.size];
+
+        return this.size;
+    }
+
+    /**
+     * Put {@code element} after the last position of the heap layout, without
+     * sifting it
+     *
+     * @return the {@code handle} of {@code element}
+     */
+    private int append(Object element, double key) {
+        int handle = nextHandle();
+        int slot = this.size;
+        if (handle == this.handles) {
+            this.heap[slot] = handle;
+            this.handles++;
+        }
+
+        this.keys[slot] = key;
+        this.elements[slot] = element;
+        this.positions[handle] = this.size;
+        this.size++;
+
+        return handle;
+    }
+
+    /**
+     * Copy the key, the element and the handle of slot {@code from} into slot
+     * {@code to}
+     */
+    private void move(int from, int to) {
+        int handle = this.heap[from];
+
+        this.keys[to] = this.keys[from];
+        this.elements[to] = this.elements[from];
+        this.heap[to] = handle;
+        this.positions[handle] = to;
+    }
+
+    /**
+     * Move the element at the given {@code position} towards the root while its
+     * key is less than the key of its parent
+     *
+     * @param position where to start
+     * @return the final position of the element
+     */
+    private int siftUp(int position) {
+        double key = this.keys[position];
+        Object element = this.elements[position];
+        int handle = this.heap[position];
+
+        while (position > 0) {
+            int parent = (position - 1) / this.arity;
+
+            if (key >= this.keys[parent])
+                break;
+
+            move(parent, position);
+            position = parent;
+        }
+
+        put(position, key, element, handle);
+
+        return position;
+    }
+
+    /**
+     * Move the element at the given {@code position} towards the leaves while
+     * the key of one of its children is less than its key
+     *
+     * @param position where to start
+     */
+    private void siftDown(int position) {
+        double key = this.keys[position];
+        Object element = this.elements[position];
+        int handle = this.heap[position];
+
+        while (true) {
+            int first = (this.arity * position) + 1;
+
+            if (first >= this.size)
+                break;
+
+            // on equal children the last one is preferred
+            int last = Math.min(first + this.arity, this.size);
+            int min = first;
+            double minKey = this.keys[first];
+            for (int child = first + 1; child < last; child++) {
+                double childKey = this.keys[child];
+                if (childKey <= minKey) {
+                    min = child;
+                    minKey = childKey;
+                }
+            }
+
+            if (minKey >= key)
+                break;
+
+            move(min, position);
+            position = min;
+        }
+
+        put(position, key, element, handle);
+    }
+
+    private void put(int position, double key, Object element, int handle) {
+        this.keys[position] = key;
+        this.elements[position] = element;
+        this.heap[position] = handle;
+        this.positions[handle] = position;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= this.positions.length)
+            return;
+
+        int capacity = Math.max(Math.max(DEFAULT_CAPACITY, this.positions.length * 2), required);
+
+        this.keys = Arrays.copyOf(this.keys, capacity);
+        this.elements = Arrays.copyOf(this.elements, capacity);
+        this.heap = Arrays.copyOf(this.heap, capacity);
+        this.positions = Arrays.copyOf(this.positions, capacity);
+    }
+
+    @Override
+    public String toString() {
+        String s = "[";
+        for (int i = 0; i < this.size; i++) {
+            if (i > 0)
+                s += ", ";
+            s += this.elements[i] + "=" + this.keys[i];
+        }
+        return s + "]";
+    }
+
+    /**
+     * @return the {@code DoubleKeyedMinimumHeap} as an array of {@code Object}
+     */
+    public Object[] toArray() {
+        return Arrays.copyOf(this.elements, this.size);
+    }
+}
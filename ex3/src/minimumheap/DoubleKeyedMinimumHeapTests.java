@@ -0,0 +1,119 @@
+package minimumheap;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DoubleKeyedMinimumHeapTests {
+
+    private DoubleKeyedMinimumHeap<String> heap;
+
+    @Before
+    public void createDoubleKeyedMinimumHeap() throws MinimumHeapException {
+        heap = new DoubleKeyedMinimumHeap<>(4, 0);
+    }
+
+    private void addAll(String... elements) throws MinimumHeapException {
+        for (int i = 0; i < elements.length; i++)
+            heap.add(elements[i], 10 * (i + 1));
+    }
+
+    @Test
+    public void testSizeEmpty() {
+        assertEquals(0, heap.size());
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testAddNull() throws MinimumHeapException {
+        heap.add(null, 1);
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testAddNaN() throws MinimumHeapException {
+        heap.add("a", Double.NaN);
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testAddTwice() throws MinimumHeapException {
+        heap.add("a", 1);
+        heap.add("a", 2);
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testRemoveFromEmpty() throws MinimumHeapException {
+        heap.remove();
+    }
+
+    @Test
+    public void testRemoveOrderedByKey() throws MinimumHeapException {
+        heap.add("c", 3.5);
+        heap.add("a", -1);
+        heap.add("d", Double.POSITIVE_INFINITY);
+        heap.add("b", 2);
+        assertEquals(-1, heap.minKey(), 0);
+        assertEquals("a", heap.remove());
+        assertEquals("b", heap.remove());
+        assertEquals("c", heap.remove());
+        assertEquals("d", heap.remove());
+    }
+
+    @Test
+    public void testDecreaseElement() throws MinimumHeapException {
+        addAll("a", "b", "c", "d", "e", "f", "g");
+        heap.decrease("f", 5);
+        assertEquals(5, heap.minKey(), 0);
+        assertEquals(heap.handle("f"), heap.minHandle());
+        assertEquals("f", heap.remove());
+        assertEquals(-1, heap.handle("f"));
+        assertEquals("a", heap.remove());
+    }
+
+    @Test
+    public void testDecreaseHandleAndGetKey() throws MinimumHeapException {
+        int handle = heap.add("x", 100);
+        addAll("a", "b", "c");
+        heap.decrease(handle, 15);
+        assertEquals(15, heap.getKey(handle), 0);
+        assertEquals("a", heap.remove());
+        assertEquals("x", heap.remove());
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testDecreaseMissingElement() throws MinimumHeapException {
+        addAll("a", "b");
+        heap.decrease("z", 1);
+    }
+
+    @Test
+    public void testAddAll() throws MinimumHeapException {
+        heap.add("x", 25);
+        int[] handles = heap.addAll(Arrays.asList("e", "b", "d", "a", "c"), new double[] { 50, 20, 40, 10, 30 });
+        assertEquals(6, heap.size());
+        assertEquals(heap.handle("d"), handles[2]);
+        assertEquals(40, heap.getKey(handles[2]), 0);
+        for (String expected : new String[] { "a", "b", "x", "c", "d", "e" })
+            assertEquals(expected, heap.remove());
+    }
+
+    @Test
+    public void testAddAllRepeatedLeavesHeapUnchanged() throws MinimumHeapException {
+        heap.add("a", 1);
+        try {
+            heap.addAll(Arrays.asList("b", "c", "b"), new double[] { 2, 3, 4 });
+            fail();
+        } catch (MinimumHeapException e) {
+            assertEquals(1, heap.size());
+            assertEquals(-1, heap.handle("b"));
+        }
+        heap.add("c", 0);
+        assertEquals("c", heap.remove());
+        assertEquals("a", heap.remove());
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testAddAllWrongKeys() throws MinimumHeapException {
+        heap.addAll(Arrays.asList("a", "b"), new double[] { 1 });
+    }
+}
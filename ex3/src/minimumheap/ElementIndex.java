@@ -0,0 +1,166 @@
+package minimumheap;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing table (linear probing) that maps an element to an
+ * {@code int} value without boxing it.
+ * Elements are compared with {@code equals} and {@code hashCode}, as a
+ * {@code Hashtable} would do.
+ */
+class ElementIndex<T> {
+
+    static final int NONE = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private Object[] keys = null;
+    private int[] values = null;
+    private int size = 0;
+    private int mask = 0;
+
+    ElementIndex() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expected number of mappings the table can hold before growing
+     */
+    ElementIndex(int expected) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expected * 2)
+            capacity <<= 1;
+
+        this.keys = new Object[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * @param key to search
+     * @return the value mapped to {@code key}, {@link #NONE} if there is none
+     */
+    int get(Object key) {
+        int i = slot(key);
+        return (this.keys[i] == null) ? NONE : this.values[i];
+    }
+
+    boolean containsKey(Object key) {
+        return this.keys[slot(key)] != null;
+    }
+
+    /**
+     * @param key   to map
+     * @param value to map with {@code key}
+     * @return the value already mapped to {@code key}, {@link #NONE} if
+     *         {@code value} was added
+     */
+    int putIfAbsent(T key, int value) {
+        int i = slot(key);
+
+        if (this.keys[i] != null)
+            return this.values[i];
+
+        this.keys[i] = key;
+        this.values[i] = value;
+
+        if (++this.size * 2 > this.keys.length)
+            resize(this.keys.length * 2);
+
+        return NONE;
+    }
+
+    /**
+     * @param key   to map
+     * @param value to map with {@code key}, replacing the previous one if any
+     */
+    void put(T key, int value) {
+        int i = slot(key);
+
+        if (this.keys[i] != null) {
+            this.values[i] = value;
+            return;
+        }
+
+        this.keys[i] = key;
+        this.values[i] = value;
+
+        if (++this.size * 2 > this.keys.length)
+            resize(this.keys.length * 2);
+    }
+
+    /**
+     * @param key to remove
+     * @return the value mapped to {@code key}, {@link #NONE} if there was none
+     */
+    int remove(Object key) {
+        int i = slot(key);
+
+        if (this.keys[i] == null)
+            return NONE;
+
+        int removed = this.values[i];
+        this.size--;
+
+        // shift back the following entries of the cluster to fill the hole
+        int hole = i;
+        int j = (i + 1) & this.mask;
+        while (this.keys[j] != null) {
+            int home = hash(this.keys[j]) & this.mask;
+
+            if (((j - home) & this.mask) >= ((j - hole) & this.mask)) {
+                this.keys[hole] = this.keys[j];
+                this.values[hole] = this.values[j];
+                hole = j;
+            }
+            j = (j + 1) & this.mask;
+        }
+        this.keys[hole] = null;
+
+        return removed;
+    }
+
+    void clear() {
+        Arrays.fill(this.keys, null);
+        this.size = 0;
+    }
+
+    /**
+     * @return the slot that holds {@code key}, or the empty slot where it would
+     *         be added
+     */
+    private int slot(Object key) {
+        int i = hash(key) & this.mask;
+
+        while (this.keys[i] != null && !this.keys[i].equals(key))
+            i = (i + 1) & this.mask;
+
+        return i;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void resize(int capacity) {
+        Object[] oldKeys = this.keys;
+        int[] oldValues = this.values;
+
+        this.keys = new Object[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int j = slot(oldKeys[i]);
+                this.keys[j] = oldKeys[i];
+                this.values[j] = oldValues[i];
+            }
+        }
+    }
+}
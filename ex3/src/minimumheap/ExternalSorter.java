@@ -0,0 +1,307 @@
+package minimumheap;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Class used to sort more elements of {@code Generic Type} than fit in memory.
+ * <p>
+ * The input is read {@code runSize} elements at a time; every run is sorted in
+ * memory and written to a temporary file, one element per line through the
+ * given encoder. The runs are then merged {@code fanIn} at a time with an
+ * {@link IndexedMinimumHeap} of run readers ordered by their head element,
+ * until the last merge streams the elements to the output. An input that fits
+ * into a single run is never written to disk.
+ * <p>
+ * The sort is stable: equal elements keep their input order.
+ */
+public class ExternalSorter<T> {
+
+    private static final Charset ENCODING = StandardCharsets.UTF_8;
+
+    /**
+     * Sorted run being merged, positioned on its head element
+     */
+    private class Run {
+        private final BufferedReader reader;
+        private final int index; // order of the run into the input, to keep the sort stable
+        private T head = null;
+
+        private Run(Path file, int index) throws IOException {
+            this.reader = Files.newBufferedReader(file, ENCODING);
+            this.index = index;
+        }
+
+        /**
+         * @return {@code TRUE} iff a new head was read, {@code FALSE} at the end
+         *         of the run
+         */
+        private boolean advance() throws IOException {
+            String line = this.reader.readLine();
+            this.head = (line == null) ? null : ExternalSorter.this.decoder.apply(line);
+            return this.head != null;
+        }
+    }
+
+    private Comparator<? super T> comparator = null;
+    private Function<? super T, String> encoder = null;
+    private Function<String, ? extends T> decoder = null;
+    private int runSize = 0;
+    private int fanIn = 0;
+    private Path tempDirectory = null;
+
+    /**
+     * @param comparator used to compare two {@code Generic Type} elements
+     * @param encoder    used to write an element as a line, which must not
+     *                   contain line terminators
+     * @param decoder    used to read back an element written by
+     *                   {@code encoder}
+     * @param runSize    number of elements sorted in memory at a time
+     * @param fanIn      number of runs merged at a time
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code comparator}, {@code encoder} or
+     *                              {@code decoder} are {@code null}</li>
+     *                              <li>{@code runSize} is less than 1</li>
+     *                              <li>{@code fanIn} is less than 2</li>
+     *                              </ul>
+     */
+    public ExternalSorter(Comparator<? super T> comparator, Function<? super T, String> encoder,
+            Function<String, ? extends T> decoder, int runSize, int fanIn) throws MinimumHeapException {
+        if (comparator == null)
+            throw new MinimumHeapException("\nExternalSorter(comparator, ...): comparator must be != null");
+
+        if (encoder == null || decoder == null)
+            throw new MinimumHeapException(
+                    "\nExternalSorter(..., encoder, decoder, ...): encoder and decoder must be != null");
+
+        if (runSize < 1)
+            throw new MinimumHeapException("\nExternalSorter(..., runSize, fanIn): runSize must be >= 1");
+
+        if (fanIn < 2)
+            throw new MinimumHeapException("\nExternalSorter(..., runSize, fanIn): fanIn must be >= 2");
+
+        this.comparator = comparator;
+        this.encoder = encoder;
+        this.decoder = decoder;
+        this.runSize = runSize;
+        this.fanIn = fanIn;
+    }
+
+    /**
+     * @param tempDirectory where the runs are written, {@code null} for the
+     *                      default temporary directory
+     */
+    public void setTempDirectory(Path tempDirectory) {
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Sort the elements left into {@code input}, passing them to {@code output}
+     * from the smallest
+     *
+     * @param input  elements to sort
+     * @param output receives the sorted elements
+     * @return the number of elements sorted
+     * @throws MinimumHeapException when {@code input} or {@code output} are
+     *                              {@code null}, or {@code input} returns a
+     *                              {@code null} element
+     * @throws IOException          on an error writing or reading the runs
+     */
+    public long sort(Iterator<? extends T> input, Consumer<? super T> output)
+            throws MinimumHeapException, IOException {
+        if (input == null)
+            throw new MinimumHeapException("\nsort(input, output): input must be != null");
+
+        if (output == null)
+            throw new MinimumHeapException("\nsort(input, output): output must be != null");
+
+        List<Path> created = new ArrayList<>(); // every run file, deleted at the end
+        List<Path> runs = new ArrayList<>();
+        try {
+            List<T> buffer = new ArrayList<>(Math.min(this.runSize, 1 << 16));
+            long count = 0;
+
+            while (input.hasNext()) {
+                T element = input.next();
+                if (element == null)
+                    throw new MinimumHeapException("\nsort(input, output): input must not contain null");
+
+                buffer.add(element);
+                count++;
+
+                if (buffer.size() == this.runSize && input.hasNext()) {
+                    buffer.sort(this.comparator);
+                    runs.add(writeRun(buffer, created));
+                    buffer.clear();
+                }
+            }
+
+            buffer.sort(this.comparator);
+            if (runs.isEmpty()) {
+                // everything fits into memory
+                buffer.forEach(output);
+                return count;
+            }
+            if (!buffer.isEmpty())
+                runs.add(writeRun(buffer, created));
+
+            // merge groups of runs into longer runs until one merge is left
+            while (runs.size() > this.fanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += this.fanIn) {
+                    List<Path> group = runs.subList(i, Math.min(i + this.fanIn, runs.size()));
+                    Path file = createRunFile(created);
+                    merged.add(file);
+                    try (BufferedWriter writer = Files.newBufferedWriter(file, ENCODING)) {
+                        merge(group, element -> write(writer, element));
+                    }
+                    delete(group);
+                }
+                runs = merged;
+            }
+
+            merge(runs, output);
+
+            return count;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            delete(created);
+        }
+    }
+
+    /**
+     * Sort the lines of {@code input} into {@code output}; every line is read
+     * with the decoder and written with the encoder
+     *
+     * @param input  file to sort
+     * @param output file to write, replaced if it exists
+     * @return the number of lines sorted
+     * @throws MinimumHeapException when {@code input} or {@code output} are
+     *                              {@code null}
+     * @throws IOException          on an error reading {@code input}, writing
+     *                              {@code output} or the runs
+     */
+    public long sort(Path input, Path output) throws MinimumHeapException, IOException {
+        if (input == null)
+            throw new MinimumHeapException("\nsort(input, output): input must be != null");
+
+        if (output == null)
+            throw new MinimumHeapException("\nsort(input, output): output must be != null");
+
+        try (BufferedReader reader = Files.newBufferedReader(input, ENCODING);
+                BufferedWriter writer = Files.newBufferedWriter(output, ENCODING)) {
+            Iterator<T> elements = new Iterator<T>() {
+                private String next = readLine(reader);
+
+                @Override
+                public boolean hasNext() {
+                    return this.next != null;
+                }
+
+                @Override
+                public T next() {
+                    T ris = ExternalSorter.this.decoder.apply(this.next);
+                    this.next = readLine(reader);
+                    return ris;
+                }
+            };
+
+            return sort(elements, element -> write(writer, element));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Merge the sorted {@code files} into {@code output}
+     */
+    private void merge(List<Path> files, Consumer<? super T> output) throws IOException, MinimumHeapException {
+        Comparator<Run> byHead = (a, b) -> {
+            int ris = this.comparator.compare(a.head, b.head);
+            return (ris != 0) ? ris : Integer.compare(a.index, b.index);
+        };
+        IndexedMinimumHeap<Run> heap = new IndexedMinimumHeap<>(byHead, files.size());
+        List<Run> runs = new ArrayList<>(files.size());
+
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                Run run = new Run(files.get(i), i);
+                runs.add(run);
+                if (run.advance())
+                    heap.add(run);
+            }
+
+            while (heap.size() > 0) {
+                Run run = heap.elementAt(0);
+                output.accept(run.head);
+
+                // the run goes back into the heap keyed by its next head
+                if (run.advance())
+                    heap.replace(run);
+                else
+                    heap.remove();
+            }
+        } finally {
+            for (Run run : runs)
+                run.reader.close();
+        }
+    }
+
+    /**
+     * Write the sorted {@code buffer} into a new run file
+     */
+    private Path writeRun(List<T> buffer, List<Path> created) throws IOException {
+        Path file = createRunFile(created);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, ENCODING)) {
+            for (T element : buffer)
+                write(writer, element);
+        }
+
+        return file;
+    }
+
+    private Path createRunFile(List<Path> created) throws IOException {
+        Path file = (this.tempDirectory == null) ? Files.createTempFile("run", ".txt")
+                : Files.createTempFile(this.tempDirectory, "run", ".txt");
+        created.add(file);
+
+        return file;
+    }
+
+    private void write(BufferedWriter writer, T element) {
+        try {
+            writer.write(this.encoder.apply(element));
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String readLine(BufferedReader reader) {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void delete(List<Path> files) throws IOException {
+        for (Path file : files)
+            Files.deleteIfExists(file);
+    }
+
+}
@@ -0,0 +1,99 @@
+package minimumheap;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExternalSorterTests {
+
+    private Path directory;
+
+    @Before
+    public void createTempDirectory() throws IOException {
+        directory = Files.createTempDirectory("externalsorter");
+    }
+
+    @After
+    public void deleteTempDirectory() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator)
+                Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+
+    private ExternalSorter<Integer> integerSorter(int runSize, int fanIn) throws MinimumHeapException {
+        ExternalSorter<Integer> sorter = new ExternalSorter<>(Integer::compare, String::valueOf, Integer::valueOf,
+                runSize, fanIn);
+        sorter.setTempDirectory(directory);
+        return sorter;
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testFanInLessThanTwo() throws MinimumHeapException {
+        integerSorter(10, 1);
+    }
+
+    @Test
+    public void testFitsInOneRun() throws MinimumHeapException, IOException {
+        List<Integer> output = new ArrayList<>();
+        assertEquals(5, integerSorter(10, 2).sort(Arrays.asList(5, 3, 7, 2, 1).iterator(), output::add));
+        assertEquals(Arrays.asList(1, 2, 3, 5, 7), output);
+    }
+
+    @Test
+    public void testManyRunsSeveralMergePasses() throws MinimumHeapException, IOException {
+        Random random = new Random(5);
+        List<Integer> input = new ArrayList<>();
+        for (int i = 0; i < 10000; i++)
+            input.add(random.nextInt(1000));
+
+        List<Integer> output = new ArrayList<>();
+        integerSorter(100, 3).sort(input.iterator(), output::add);
+
+        input.sort(Integer::compare);
+        assertEquals(input, output);
+        // the runs are deleted once merged
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void testStableOnEqualKeys() throws MinimumHeapException, IOException {
+        Comparator<String> byFirstChar = Comparator.comparing(s -> s.charAt(0));
+        ExternalSorter<String> sorter = new ExternalSorter<>(byFirstChar, s -> s, s -> s, 2, 2);
+        sorter.setTempDirectory(directory);
+
+        List<String> output = new ArrayList<>();
+        sorter.sort(Arrays.asList("b1", "a1", "b2", "a2", "b3", "a3", "a4").iterator(), output::add);
+        assertEquals(Arrays.asList("a1", "a2", "a3", "a4", "b1", "b2", "b3"), output);
+    }
+
+    @Test
+    public void testSortFile() throws MinimumHeapException, IOException {
+        Path input = directory.resolve("input.csv");
+        Path output = directory.resolve("output.csv");
+        Files.write(input, Arrays.asList("c,3", "a,10", "b,2", "d,1"), StandardCharsets.UTF_8);
+
+        Comparator<String[]> byInt = Comparator.comparingInt(r -> Integer.parseInt(r[1]));
+        ExternalSorter<String[]> sorter = new ExternalSorter<>(byInt, r -> String.join(",", r), l -> l.split(","),
+                1, 2);
+        sorter.setTempDirectory(directory);
+
+        assertEquals(4, sorter.sort(input, output));
+        assertEquals(Arrays.asList("d,1", "b,2", "c,3", "a,10"), Files.readAllLines(output, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,395 @@
+package minimumheap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+
+/**
+ * Class used to manage a {@code Fibonacci Heap} of {@code Generic Type}.
+ * <p>
+ * {@link #add(Object)}, {@link #meld(AddressablePriorityQueue)} of another
+ * {@code FibonacciHeap} and {@link #decrease(Object, Object)} run in constant
+ * amortized time; {@link #remove()} consolidates the roots in
+ * {@code O(log n)} amortized time.
+ */
+public class FibonacciHeap<T> implements AddressablePriorityQueue<T> {
+
+    private static class Node<T> {
+        private T element = null;
+        private Node<T> parent = null;
+        private Node<T> child = null; // any child, the children form a circular list
+        private Node<T> left = this;
+        private Node<T> right = this;
+        private int degree = 0;
+        private boolean marked = false;
+
+        private Node(T element) {
+            this.element = element;
+        }
+    }
+
+    private Node<T> min = null; // the roots form a circular list
+    private HashMap<T, Node<T>> nodes = null;
+    private Comparator<? super T> comparator = null;
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Node<T>[] degrees = (Node<T>[]) new Node[32]; // used by consolidate
+
+    /**
+     * @param comparator used to compare two {@code Generic Type} elements
+     * @throws MinimumHeapException when {@code comparator} is {@code null}
+     */
+    public FibonacciHeap(Comparator<? super T> comparator) throws MinimumHeapException {
+        if (comparator == null)
+            throw new MinimumHeapException("\nFibonacciHeap(comparator): comparator must be != null");
+
+        this.comparator = comparator;
+        this.nodes = new HashMap<>();
+    }
+
+    @Override
+    public int size() {
+        return this.nodes.size();
+    }
+
+    @Override
+    public void add(T element) throws MinimumHeapException {
+        if (element == null)
+            throw new MinimumHeapException("\nadd(element): element must be != null");
+
+        Node<T> node = new Node<>(element);
+
+        if (this.nodes.putIfAbsent(element, node) != null)
+            throw new MinimumHeapException("\nadd(element): element is already in the FibonacciHeap");
+
+        addRoot(node);
+    }
+
+    @Override
+    public T remove() throws MinimumHeapException {
+        if (this.min == null)
+            throw new MinimumHeapException("\nremove(): cannot remove the root element of an empty FibonacciHeap");
+
+        Node<T> removed = this.min;
+        this.nodes.remove(removed.element);
+        removeMin();
+
+        return removed.element;
+    }
+
+    /**
+     * Change {@code element} with {@code newElement}; a greater
+     * {@code newElement} is cut out with its children, which become roots, and
+     * added back as a new root. An element changed in place is taken as greater
+     * when one of its children is less, or when it is the minimum, since the
+     * other roots may now be less
+     */
+    @Override
+    public void decrease(T element, T newElement) throws MinimumHeapException {
+        if (element == null)
+            throw new MinimumHeapException("\ndecrease(element, newElement): element must be != null");
+
+        if (newElement == null)
+            throw new MinimumHeapException("\ndecrease(element, newElement): newElement must be != null");
+
+        Node<T> node = this.nodes.get(element);
+
+        if (node == null)
+            throw new MinimumHeapException(
+                    "\ndecrease(element, newElement): cannot decrease an element that is not in the FibonacciHeap");
+
+        boolean increased = (element != newElement) ? this.comparator.compare(newElement, element) > 0
+                : node == this.min || hasLessChild(node);
+
+        if (element != newElement) {
+            this.nodes.remove(element);
+            this.nodes.put(newElement, node);
+        }
+        node.element = newElement;
+
+        Node<T> parent = node.parent;
+        if (increased) {
+            if (parent != null) {
+                cut(node, parent);
+                cascadingCut(parent);
+            }
+
+            // remove the node as if it were the minimum, then add it alone
+            this.min = node;
+            removeMin();
+            node.child = null;
+            node.degree = 0;
+            addRoot(node);
+            return;
+        }
+
+        if (parent != null && this.comparator.compare(node.element, parent.element) < 0) {
+            cut(node, parent);
+            cascadingCut(parent);
+        }
+
+        if (this.comparator.compare(node.element, this.min.element) < 0)
+            this.min = node;
+    }
+
+    /**
+     * Move all the elements of {@code other} into the {@code FibonacciHeap};
+     * when {@code other} is a {@code FibonacciHeap} the two root lists are
+     * joined, otherwise its elements are added one by one
+     *
+     * @param other queue to meld with
+     * @throws MinimumHeapException when {@code other} is {@code null} or is this
+     *                              {@code FibonacciHeap}, or shares an element
+     *                              with it; in that case both queues are left
+     *                              unchanged
+     */
+    @Override
+    public void meld(AddressablePriorityQueue<T> other) throws MinimumHeapException {
+        if (other == null)
+            throw new MinimumHeapException("\nmeld(other): other must be != null");
+
+        if (other == this)
+            throw new MinimumHeapException("\nmeld(other): cannot meld a FibonacciHeap with itself");
+
+        if (!(other instanceof FibonacciHeap)) {
+            @SuppressWarnings("unchecked")
+            T[] elements = (T[]) other.toArray();
+
+            for (T element : elements) {
+                if (element == null || this.nodes.containsKey(element))
+                    throw new MinimumHeapException("\nmeld(other): element " + element
+                            + " is already in the FibonacciHeap");
+            }
+            for (T element : elements)
+                add(element);
+
+            other.clear();
+            return;
+        }
+
+        FibonacciHeap<T> heap = (FibonacciHeap<T>) other;
+
+        // merge the smaller table into the larger one
+        HashMap<T, Node<T>> larger = (this.nodes.size() >= heap.nodes.size()) ? this.nodes : heap.nodes;
+        HashMap<T, Node<T>> smaller = (larger == this.nodes) ? heap.nodes : this.nodes;
+        for (T element : smaller.keySet()) {
+            if (larger.containsKey(element))
+                throw new MinimumHeapException("\nmeld(other): element " + element
+                        + " is already in the FibonacciHeap");
+        }
+        larger.putAll(smaller);
+        this.nodes = larger;
+
+        if (heap.min != null) {
+            if (this.min == null) {
+                this.min = heap.min;
+            } else {
+                // join the two circular root lists
+                Node<T> a = this.min.right;
+                Node<T> b = heap.min.left;
+                this.min.right = heap.min;
+                heap.min.left = this.min;
+                a.left = b;
+                b.right = a;
+
+                if (this.comparator.compare(heap.min.element, this.min.element) < 0)
+                    this.min = heap.min;
+            }
+        }
+
+        heap.nodes = new HashMap<>();
+        heap.min = null;
+    }
+
+    @Override
+    public void clear() {
+        this.min = null;
+        this.nodes.clear();
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] ris = new Object[this.nodes.size()];
+        int i = 0;
+        for (Node<T> node : this.nodes.values())
+            ris[i++] = node.element;
+        return ris;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    /**
+     * Take the minimum out of the root list, making its children roots, then
+     * consolidate the roots left
+     */
+    private void removeMin() {
+        Node<T> removed = this.min;
+
+        // the children of the minimum become roots
+        Node<T> child = removed.child;
+        for (int i = 0; i < removed.degree; i++) {
+            Node<T> next = child.right;
+            child.parent = null;
+            child.marked = false;
+            splice(removed, child);
+            child = next;
+        }
+
+        if (removed.right == removed) {
+            this.min = null;
+        } else {
+            this.min = removed.right;
+            unlink(removed);
+            consolidate();
+        }
+    }
+
+    /**
+     * Put {@code node} into the root list, updating the minimum
+     */
+    private void addRoot(Node<T> node) {
+        node.parent = null;
+
+        if (this.min == null) {
+            node.left = node;
+            node.right = node;
+            this.min = node;
+            return;
+        }
+
+        splice(this.min, node);
+        if (this.comparator.compare(node.element, this.min.element) < 0)
+            this.min = node;
+    }
+
+    /**
+     * Insert {@code node} on the left of {@code position} into its circular
+     * list
+     */
+    private static <T> void splice(Node<T> position, Node<T> node) {
+        node.right = position;
+        node.left = position.left;
+        position.left.right = node;
+        position.left = node;
+    }
+
+    /**
+     * Remove {@code node} from its circular list
+     */
+    private static <T> void unlink(Node<T> node) {
+        node.left.right = node.right;
+        node.right.left = node.left;
+        node.left = node;
+        node.right = node;
+    }
+
+    /**
+     * Link the roots with the same degree until every root has a different
+     * degree, then find the new minimum
+     */
+    private void consolidate() {
+        int roots = 0;
+        Node<T> node = this.min;
+        do {
+            roots++;
+            node = node.right;
+        } while (node != this.min);
+
+        while (roots-- > 0) {
+            Node<T> x = node;
+            node = node.right;
+            unlink(x);
+
+            int d = x.degree;
+            while (d < this.degrees.length && this.degrees[d] != null) {
+                Node<T> y = this.degrees[d];
+                this.degrees[d] = null;
+
+                if (this.comparator.compare(y.element, x.element) < 0) {
+                    Node<T> tmp = x;
+                    x = y;
+                    y = tmp;
+                }
+                link(y, x);
+                d++;
+            }
+
+            if (d >= this.degrees.length)
+                this.degrees = Arrays.copyOf(this.degrees, d * 2);
+            this.degrees[d] = x;
+        }
+
+        // rebuild the root list from the trees left
+        this.min = null;
+        for (int d = 0; d < this.degrees.length; d++) {
+            if (this.degrees[d] != null) {
+                addRoot(this.degrees[d]);
+                this.degrees[d] = null;
+            }
+        }
+    }
+
+    /**
+     * @return {@code TRUE} iff a child of {@code node} is less than it
+     */
+    private boolean hasLessChild(Node<T> node) {
+        Node<T> child = node.child;
+        for (int i = 0; i < node.degree; i++, child = child.right) {
+            if (this.comparator.compare(child.element, node.element) < 0)
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Make the root {@code child} a child of the root {@code parent}
+     */
+    private static <T> void link(Node<T> child, Node<T> parent) {
+        child.parent = parent;
+        child.marked = false;
+
+        if (parent.child == null)
+            parent.child = child;
+        else
+            splice(parent.child, child);
+
+        parent.degree++;
+    }
+
+    /**
+     * Move {@code node} from the children of {@code parent} to the root list
+     */
+    private void cut(Node<T> node, Node<T> parent) {
+        if (node.right == node)
+            parent.child = null;
+        else if (parent.child == node)
+            parent.child = node.right;
+
+        unlink(node);
+        parent.degree--;
+
+        node.marked = false;
+        addRoot(node);
+    }
+
+    /**
+     * Cut {@code node} too if it already lost a child, then go up
+     */
+    private void cascadingCut(Node<T> node) {
+        Node<T> parent = node.parent;
+
+        while (parent != null) {
+            if (!node.marked) {
+                node.marked = true;
+                return;
+            }
+
+            cut(node, parent);
+            node = parent;
+            parent = node.parent;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package minimumheap;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event emitted by an {@link IndexedMinimumHeap} for each operation when
+ * {@link HeapStatistics#ENABLED} is {@code true}
+ */
+@Name("minimumheap.HeapOperation")
+@Label("Heap Operation")
+@Category("Minimum Heap")
+@Description("An operation of an IndexedMinimumHeap, with the work it did")
+class HeapOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Size")
+    @Description("Number of elements after the operation")
+    int size;
+
+    @Label("Comparisons")
+    long comparisons;
+
+    @Label("Swaps")
+    long swaps;
+
+    @Label("Sift Levels")
+    @Description("Levels crossed by the sifts of the operation")
+    long levels;
+
+    // counters of the heap when the operation began, not recorded
+    transient long startComparisons;
+    transient long startSwaps;
+    transient long startLevels;
+}
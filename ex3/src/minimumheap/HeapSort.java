@@ -0,0 +1,173 @@
+package minimumheap;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Class used to sort arrays and {@code List} of {@code Generic Type} in place
+ * with a {@code 4-ary} heap, running the sift of {@link IndexedMinimumHeap} on
+ * the array itself: the heap is rebuilt bottom-up in linear time, then its
+ * root is swapped to the end of the array until the heap is empty.
+ * <p>
+ * The heap keeps the greatest element at its root, so the array ends sorted
+ * from the smallest; sorting an array allocates only the reversed comparator,
+ * and the sort is NOT stable. {@link #partialSort(Object[], int, Comparator)}
+ * keeps a heap of only {@code k} elements while it scans the others, so it
+ * runs in {@code O(n log k)} time.
+ */
+public final class HeapSort {
+
+    private static final int ARITY = 4;
+
+    private HeapSort() {
+    }
+
+    /**
+     * Sort {@code array} from the smallest element
+     *
+     * @param array      to sort
+     * @param comparator used to compare two {@code Generic Type} elements
+     * @throws MinimumHeapException when {@code array} or {@code comparator} are
+     *                              {@code null}
+     */
+    public static <T> void sort(T[] array, Comparator<? super T> comparator) throws MinimumHeapException {
+        if (array == null)
+            throw new MinimumHeapException("\nsort(array, comparator): array must be != null");
+
+        if (comparator == null)
+            throw new MinimumHeapException("\nsort(array, comparator): comparator must be != null");
+
+        select(array, array.length, comparator);
+    }
+
+    /**
+     * Sort {@code list} from the smallest element; the elements are sorted into
+     * an array, then written back through the {@code ListIterator} of
+     * {@code list}
+     *
+     * @param list       to sort
+     * @param comparator used to compare two {@code Generic Type} elements
+     * @throws MinimumHeapException when {@code list} or {@code comparator} are
+     *                              {@code null}
+     */
+    public static <T> void sort(List<T> list, Comparator<? super T> comparator) throws MinimumHeapException {
+        if (list == null)
+            throw new MinimumHeapException("\nsort(list, comparator): list must be != null");
+
+        if (comparator == null)
+            throw new MinimumHeapException("\nsort(list, comparator): comparator must be != null");
+
+        writeBack(list, select(list, list.size(), comparator));
+    }
+
+    /**
+     * Move the {@code k} smallest elements of {@code array} to its first
+     * {@code k} positions, sorted from the smallest; the other elements are left
+     * after them in no particular order
+     *
+     * @param array      to sort
+     * @param k          number of elements to sort
+     * @param comparator used to compare two {@code Generic Type} elements
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code array} or {@code comparator} are
+     *                              {@code null}</li>
+     *                              <li>{@code k} is negative or greater than the
+     *                              length of {@code array}</li>
+     *                              </ul>
+     */
+    public static <T> void partialSort(T[] array, int k, Comparator<? super T> comparator)
+            throws MinimumHeapException {
+        if (array == null)
+            throw new MinimumHeapException("\npartialSort(array, k, comparator): array must be != null");
+
+        if (comparator == null)
+            throw new MinimumHeapException("\npartialSort(array, k, comparator): comparator must be != null");
+
+        if (k < 0 || k > array.length)
+            throw new MinimumHeapException("\npartialSort(array, k, comparator): k must be between 0 and "
+                    + array.length);
+
+        select(array, k, comparator);
+    }
+
+    /**
+     * Move the {@code k} smallest elements of {@code list} to its first
+     * {@code k} positions, sorted from the smallest; the other elements are left
+     * after them in no particular order
+     *
+     * @param list       to sort
+     * @param k          number of elements to sort
+     * @param comparator used to compare two {@code Generic Type} elements
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code list} or {@code comparator} are
+     *                              {@code null}</li>
+     *                              <li>{@code k} is negative or greater than the
+     *                              size of {@code list}</li>
+     *                              </ul>
+     */
+    public static <T> void partialSort(List<T> list, int k, Comparator<? super T> comparator)
+            throws MinimumHeapException {
+        if (list == null)
+            throw new MinimumHeapException("\npartialSort(list, k, comparator): list must be != null");
+
+        if (comparator == null)
+            throw new MinimumHeapException("\npartialSort(list, k, comparator): comparator must be != null");
+
+        if (k < 0 || k > list.size())
+            throw new MinimumHeapException("\npartialSort(list, k, comparator): k must be between 0 and "
+                    + list.size());
+
+        writeBack(list, select(list, k, comparator));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] select(List<T> list, int k, Comparator<? super T> comparator) {
+        T[] array = (T[]) list.toArray();
+        select(array, k, comparator);
+        return array;
+    }
+
+    /**
+     * Keep the {@code k} smallest elements into a heap at the start of
+     * {@code array}, then sort them
+     */
+    private static <T> void select(T[] array, int k, Comparator<? super T> comparator) {
+        if (k == 0)
+            return;
+
+        // the sift of IndexedMinimumHeap, with the greatest element at the root
+        Comparator<? super T> reversed = Collections.reverseOrder(comparator);
+
+        for (int position = (k - 2) / ARITY; position >= 0; position--)
+            IndexedMinimumHeap.siftDown(array, null, null, position, k, ARITY, reversed);
+
+        // an element less than the greatest one kept takes its place at the root
+        for (int i = k; i < array.length; i++) {
+            if (comparator.compare(array[i], array[0]) < 0) {
+                T element = array[i];
+                array[i] = array[0];
+                array[0] = element;
+                IndexedMinimumHeap.siftDown(array, null, null, 0, k, ARITY, reversed);
+            }
+        }
+
+        for (int size = k - 1; size > 0; size--) {
+            T element = array[size];
+            array[size] = array[0];
+            array[0] = element;
+            IndexedMinimumHeap.siftDown(array, null, null, 0, size, ARITY, reversed);
+        }
+    }
+
+    private static <T> void writeBack(List<T> list, T[] array) {
+        ListIterator<T> iterator = list.listIterator();
+        for (int i = 0; i < array.length; i++) {
+            iterator.next();
+            iterator.set(array[i]);
+        }
+    }
+}
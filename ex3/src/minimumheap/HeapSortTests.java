@@ -0,0 +1,137 @@
+package minimumheap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class HeapSortTests {
+
+    private static final Comparator<Integer> ORDER = Integer::compare;
+
+    private static Integer[] random(int n, int bound, long seed) {
+        Random random = new Random(seed);
+        Integer[] ris = new Integer[n];
+        for (int i = 0; i < n; i++)
+            ris[i] = random.nextInt(bound);
+        return ris;
+    }
+
+    @Test
+    public void testSortEmptyAndSingle() throws MinimumHeapException {
+        Integer[] empty = {};
+        HeapSort.sort(empty, ORDER);
+        assertEquals(0, empty.length);
+
+        Integer[] single = { 4 };
+        HeapSort.sort(single, ORDER);
+        assertArrayEquals(new Integer[] { 4 }, single);
+    }
+
+    @Test
+    public void testSortArray() throws MinimumHeapException {
+        for (int n : new int[] { 2, 5, 17, 1000 }) {
+            Integer[] array = random(n, 50, n);
+            Integer[] expected = array.clone();
+            Arrays.sort(expected);
+            HeapSort.sort(array, ORDER);
+            assertArrayEquals(expected, array);
+        }
+    }
+
+    @Test
+    public void testSortReversedComparator() throws MinimumHeapException {
+        Integer[] array = { 3, 1, 4, 1, 5, 9, 2, 6 };
+        HeapSort.sort(array, Comparator.reverseOrder());
+        assertArrayEquals(new Integer[] { 9, 6, 5, 4, 3, 2, 1, 1 }, array);
+    }
+
+    @Test
+    public void testSortList() throws MinimumHeapException {
+        List<Integer> list = new ArrayList<>(Arrays.asList(random(300, 1000, 7)));
+        List<Integer> expected = new ArrayList<>(list);
+        expected.sort(ORDER);
+        HeapSort.sort(list, ORDER);
+        assertEquals(expected, list);
+
+        List<Integer> linked = new LinkedList<>(Arrays.asList(5, 2, 8, 1));
+        HeapSort.sort(linked, ORDER);
+        assertEquals(Arrays.asList(1, 2, 5, 8), linked);
+    }
+
+    @Test
+    public void testPartialSortArray() throws MinimumHeapException {
+        Integer[] array = random(500, 100, 3);
+        Integer[] expected = array.clone();
+        Arrays.sort(expected);
+
+        HeapSort.partialSort(array, 20, ORDER);
+        assertArrayEquals(Arrays.copyOf(expected, 20), Arrays.copyOf(array, 20));
+
+        // the other elements are all still there
+        Arrays.sort(array);
+        assertArrayEquals(expected, array);
+    }
+
+    @Test
+    public void testPartialSortList() throws MinimumHeapException {
+        List<Integer> list = new ArrayList<>(Arrays.asList(9, 4, 7, 1, 8, 2, 6));
+        HeapSort.partialSort(list, 3, ORDER);
+        assertEquals(Arrays.asList(1, 2, 4), list.subList(0, 3));
+        List<Integer> all = new ArrayList<>(list);
+        all.sort(ORDER);
+        assertEquals(Arrays.asList(1, 2, 4, 6, 7, 8, 9), all);
+    }
+
+    @Test
+    public void testSortRunsTheHeapSift() throws MinimumHeapException {
+        // equal keys come out in the order the shared sift leaves them
+        Comparator<int[]> byKey = (a, b) -> Integer.compare(a[0], b[0]);
+        int[][] array = new int[300][];
+        for (int i = 0; i < array.length; i++)
+            array[i] = new int[] { (i * 37) % 11, i };
+
+        Object[] expected = array.clone();
+        Comparator<int[]> reversed = byKey.reversed();
+        for (int i = (expected.length - 2) / 4; i >= 0; i--)
+            IndexedMinimumHeap.siftDown(expected, null, null, i, expected.length, 4, reversed);
+        for (int size = expected.length - 1; size > 0; size--) {
+            Object element = expected[size];
+            expected[size] = expected[0];
+            expected[0] = element;
+            IndexedMinimumHeap.siftDown(expected, null, null, 0, size, 4, reversed);
+        }
+
+        HeapSort.sort(array, byKey);
+        for (int i = 0; i < array.length; i++)
+            assertSame(expected[i], array[i]);
+    }
+
+    @Test
+    public void testPartialSortBounds() throws MinimumHeapException {
+        Integer[] array = { 3, 1, 2 };
+        HeapSort.partialSort(array, 0, ORDER);
+        HeapSort.partialSort(array, 3, ORDER);
+        assertArrayEquals(new Integer[] { 1, 2, 3 }, array);
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testPartialSortKTooLarge() throws MinimumHeapException {
+        HeapSort.partialSort(new Integer[] { 1, 2 }, 3, ORDER);
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testSortNullComparator() throws MinimumHeapException {
+        HeapSort.sort(new Integer[] { 1 }, null);
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testSortNullList() throws MinimumHeapException {
+        HeapSort.sort((List<Integer>) null, ORDER);
+    }
+}
@@ -0,0 +1,97 @@
+package minimumheap;
+
+/**
+ * Snapshot of the counters of an {@link IndexedMinimumHeap}, and so of a
+ * {@link MinimumHeap}.
+ * <p>
+ * The counters are updated only when the JVM is started with
+ * {@code -Dminimumheap.statistics=true}; otherwise {@link #ENABLED} is
+ * {@code false}, the JIT removes the code that updates them and every counter
+ * stays 0. When they are enabled, every {@code add}, {@code addAll},
+ * {@code meld}, {@code remove}, {@code replace}, {@code decrease},
+ * {@code increase} and {@code delete} also emits a
+ * {@code minimumheap.HeapOperation} JFR event, recorded when JFR is running.
+ */
+public final class HeapStatistics {
+
+    /**
+     * {@code TRUE} iff the heaps update their counters
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("minimumheap.statistics");
+
+    private final long comparisons;
+    private final long swaps;
+    private final long siftUps;
+    private final long siftUpLevels;
+    private final long siftDowns;
+    private final long siftDownLevels;
+    private final int maxSiftDepth;
+
+    HeapStatistics(long comparisons, long swaps, long siftUps, long siftUpLevels, long siftDowns,
+            long siftDownLevels, int maxSiftDepth) {
+        this.comparisons = comparisons;
+        this.swaps = swaps;
+        this.siftUps = siftUps;
+        this.siftUpLevels = siftUpLevels;
+        this.siftDowns = siftDowns;
+        this.siftDownLevels = siftDownLevels;
+        this.maxSiftDepth = maxSiftDepth;
+    }
+
+    /**
+     * @return the number of calls to the {@code Comparator}
+     */
+    public long getComparisons() {
+        return this.comparisons;
+    }
+
+    /**
+     * @return the number of elements moved by one level; a sift moves the
+     *         elements into a hole, so a move costs half a swap
+     */
+    public long getSwaps() {
+        return this.swaps;
+    }
+
+    /**
+     * @return the number of sifts towards the root
+     */
+    public long getSiftUps() {
+        return this.siftUps;
+    }
+
+    /**
+     * @return the number of levels climbed by all the sifts towards the root
+     */
+    public long getSiftUpLevels() {
+        return this.siftUpLevels;
+    }
+
+    /**
+     * @return the number of sifts towards the leaves
+     */
+    public long getSiftDowns() {
+        return this.siftDowns;
+    }
+
+    /**
+     * @return the number of levels descended by all the sifts towards the leaves
+     */
+    public long getSiftDownLevels() {
+        return this.siftDownLevels;
+    }
+
+    /**
+     * @return the largest number of levels crossed by a single sift
+     */
+    public int getMaxSiftDepth() {
+        return this.maxSiftDepth;
+    }
+
+    @Override
+    public String toString() {
+        return "{comparisons=" + this.comparisons + ", swaps=" + this.swaps + ", siftUps=" + this.siftUps
+                + ", siftUpLevels=" + this.siftUpLevels + ", siftDowns=" + this.siftDowns + ", siftDownLevels="
+                + this.siftDownLevels + ", maxSiftDepth=" + this.maxSiftDepth + "}";
+    }
+}
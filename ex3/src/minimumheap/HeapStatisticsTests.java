@@ -0,0 +1,75 @@
+package minimumheap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HeapStatisticsTests {
+
+    private MinimumHeap<Integer> heap;
+
+    @Before
+    public void createMinimumHeap() throws MinimumHeapException {
+        heap = new MinimumHeap<>(Integer::compare);
+        heap.addAll(Arrays.asList(5, 3, 7, 2, 1, 8, 6, 9, 10, 4));
+        heap.remove();
+        heap.decrease(9, 0);
+    }
+
+    @Test
+    public void testCountersZeroWhenDisabled() {
+        assumeTrue(!HeapStatistics.ENABLED);
+        HeapStatistics statistics = heap.getStatistics();
+        assertEquals(0, statistics.getComparisons());
+        assertEquals(0, statistics.getSwaps());
+        assertEquals(0, statistics.getSiftUps());
+        assertEquals(0, statistics.getSiftDowns());
+    }
+
+    @Test
+    public void testCountersWhenEnabled() {
+        assumeTrue(HeapStatistics.ENABLED);
+        HeapStatistics statistics = heap.getStatistics();
+        assertTrue(statistics.getComparisons() > 0);
+        assertTrue(statistics.getSwaps() > 0);
+        // heapify sifts down the 5 inner nodes, remove 1 more, decrease sifts up then down
+        assertEquals(1, statistics.getSiftUps());
+        assertEquals(7, statistics.getSiftDowns());
+        assertTrue(statistics.getMaxSiftDepth() >= 1);
+    }
+
+    @Test
+    public void testReset() throws MinimumHeapException {
+        heap.resetStatistics();
+        assertEquals(0, heap.getStatistics().getComparisons());
+        assertEquals(0, heap.getStatistics().getSiftDownLevels());
+    }
+
+    @Test(timeout = 60000)
+    public void testCountersInJvmWithStatistics() throws IOException, InterruptedException {
+        // the flag is read once per JVM, so the enabled path runs into a JVM of its own
+        assumeTrue(!HeapStatistics.ENABLED);
+
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(java, "-Dminimumheap.statistics=true", "-cp",
+                System.getProperty("java.class.path"), "org.junit.runner.JUnitCore",
+                HeapStatisticsTests.class.getName()).redirectErrorStream(true).start();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (InputStream in = process.getInputStream()) {
+            in.transferTo(output);
+        }
+
+        String report = output.toString(StandardCharsets.UTF_8);
+        assertEquals(report, 0, process.waitFor());
+        assertTrue(report, report.contains("OK ("));
+    }
+}
@@ -0,0 +1,248 @@
+package minimumheap;
+
+import java.util.Arrays;
+
+/**
+ * Class used to manage a {@code Minimum Heap} of {@code int} ids from
+ * {@code 0} to {@code capacity - 1}, ordered by a primitive {@code double} key
+ * given with each id.
+ * <p>
+ * Each id is its own {@code handle}: its position is kept into an
+ * {@code int} array indexed by the id, and the keys are kept in heap order
+ * next to the ids, so no operation boxes, hashes or allocates. Made for
+ * searches over the vertices of a numbered graph, such as Dijkstra on a
+ * {@code Compressed Sparse Row} graph.
+ */
+public class IdMinimumHeap {
+
+    private static final int DEFAULT_ARITY = 2;
+
+    private final double[] keys; // slot -> key
+    private final int[] heap; // slot -> id
+    private final int[] positions; // id -> slot, -1 if the id is not into the heap
+    private final int arity;
+    private int size = 0;
+
+    /**
+     * Init a binary {@code IdMinimumHeap}
+     *
+     * @param capacity number of ids, from {@code 0} to {@code capacity - 1}
+     * @throws MinimumHeapException when {@code capacity} is negative
+     */
+    public IdMinimumHeap(int capacity) throws MinimumHeapException {
+        this(DEFAULT_ARITY, capacity);
+    }
+
+    /**
+     * Init a {@code d-ary} {@code IdMinimumHeap}
+     *
+     * @param arity    number of children of each node
+     * @param capacity number of ids, from {@code 0} to {@code capacity - 1}
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code arity} is less than 2</li>
+     *                              <li>{@code capacity} is negative</li>
+     *                              </ul>
+     */
+    public IdMinimumHeap(int arity, int capacity) throws MinimumHeapException {
+        if (arity < 2)
+            throw new MinimumHeapException("\nIdMinimumHeap(arity, capacity): arity must be >= 2");
+
+        if (capacity < 0)
+            throw new MinimumHeapException("\nIdMinimumHeap(arity, capacity): capacity must be >= 0");
+
+        this.arity = arity;
+        this.keys = new double[capacity];
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(this.positions, -1);
+    }
+
+    /**
+     * @return the size of the {@code IdMinimumHeap}
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @param id to search
+     * @return {@code TRUE} iff {@code id} is into the {@code IdMinimumHeap},
+     *         {@code FALSE} otherwise
+     */
+    public boolean contains(int id) {
+        return id >= 0 && id < this.positions.length && this.positions[id] >= 0;
+    }
+
+    /**
+     * @param id of the element
+     * @return the key of {@code id}
+     * @throws MinimumHeapException when {@code id} is NOT into the
+     *                              {@code IdMinimumHeap}
+     */
+    public double getKey(int id) throws MinimumHeapException {
+        if (!contains(id))
+            throw new MinimumHeapException("\ngetKey(id): id is not in the IdMinimumHeap");
+
+        return this.keys[this.positions[id]];
+    }
+
+    /**
+     * @return the key of the root id
+     * @throws MinimumHeapException on an empty {@code IdMinimumHeap}
+     */
+    public double minKey() throws MinimumHeapException {
+        if (this.size == 0)
+            throw new MinimumHeapException("\nminKey(): the IdMinimumHeap is empty");
+
+        return this.keys[0];
+    }
+
+    /**
+     * Add {@code id} with the given {@code key}
+     *
+     * @param id  to add
+     * @param key of {@code id}
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code id} is out of the capacity</li>
+     *                              <li>{@code id} is already into the
+     *                              {@code IdMinimumHeap}</li>
+     *                              <li>{@code key} is {@code NaN}</li>
+     *                              </ul>
+     */
+    public void add(int id, double key) throws MinimumHeapException {
+        if (id < 0 || id >= this.positions.length)
+            throw new MinimumHeapException("\nadd(id, key): id must be >= 0 and < " + this.positions.length);
+
+        if (this.positions[id] >= 0)
+            throw new MinimumHeapException("\nadd(id, key): id is already in the IdMinimumHeap");
+
+        if (Double.isNaN(key))
+            throw new MinimumHeapException("\nadd(id, key): key must be a number");
+
+        siftUp(this.size++, id, key);
+    }
+
+    /**
+     * Remove the root id, then rebuild the {@code IdMinimumHeap}
+     *
+     * @return the id removed
+     * @throws MinimumHeapException on an empty {@code IdMinimumHeap}
+     */
+    public int remove() throws MinimumHeapException {
+        if (this.size == 0)
+            throw new MinimumHeapException("\nremove(): cannot remove the root id of an empty IdMinimumHeap");
+
+        int removed = this.heap[0];
+        this.positions[removed] = -1;
+        this.size--;
+
+        // the last id takes the place of the root
+        if (this.size > 0)
+            siftDown(0, this.heap[this.size], this.keys[this.size]);
+
+        return removed;
+    }
+
+    /**
+     * Lower the key of {@code id}
+     *
+     * @param id     of the element
+     * @param newKey of {@code id}, not greater than its key
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code id} is NOT into the
+     *                              {@code IdMinimumHeap}</li>
+     *                              <li>{@code newKey} is {@code NaN} or greater
+     *                              than the key of {@code id}</li>
+     *                              </ul>
+     */
+    public void decrease(int id, double newKey) throws MinimumHeapException {
+        if (!contains(id))
+            throw new MinimumHeapException(
+                    "\ndecrease(id, newKey): cannot decrease an id that is not in the IdMinimumHeap");
+
+        int position = this.positions[id];
+
+        if (!(newKey <= this.keys[position]))
+            throw new MinimumHeapException("\ndecrease(id, newKey): newKey must be a number <= the key of id");
+
+        siftUp(position, id, newKey);
+    }
+
+    /**
+     * Remove all the ids
+     */
+    public void clear() {
+        for (int i = 0; i < this.size; i++)
+            this.positions[this.heap[i]] = -1;
+        this.size = 0;
+    }
+
+    /**
+     * Move {@code id} from the hole at {@code position} towards the root while
+     * {@code key} is less than the key of its parent
+     */
+    private void siftUp(int position, int id, double key) {
+        while (position > 0) {
+            int parent = (position - 1) / this.arity;
+
+            if (key >= this.keys[parent])
+                break;
+
+            put(position, this.heap[parent], this.keys[parent]);
+            position = parent;
+        }
+
+        put(position, id, key);
+    }
+
+    /**
+     * Move {@code id} from the hole at {@code position} towards the leaves while
+     * the key of one of its children is less than {@code key}
+     */
+    private void siftDown(int position, int id, double key) {
+        while (true) {
+            int first = (this.arity * position) + 1;
+
+            if (first >= this.size)
+                break;
+
+            int last = Math.min(first + this.arity, this.size);
+            int min = first;
+            double minKey = this.keys[first];
+            for (int child = first + 1; child < last; child++) {
+                if (this.keys[child] < minKey) {
+                    min = child;
+                    minKey = this.keys[child];
+                }
+            }
+
+            if (minKey >= key)
+                break;
+
+            put(position, this.heap[min], minKey);
+            position = min;
+        }
+
+        put(position, id, key);
+    }
+
+    private void put(int position, int id, double key) {
+        this.keys[position] = key;
+        this.heap[position] = id;
+        this.positions[id] = position;
+    }
+
+    @Override
+    public String toString() {
+        String s = "[";
+        for (int i = 0; i < this.size; i++) {
+            if (i > 0)
+                s += ", ";
+            s += this.heap[i] + "=" + this.keys[i];
+        }
+        return s + "]";
+    }
+}
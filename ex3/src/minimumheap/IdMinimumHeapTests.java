@@ -0,0 +1,121 @@
+package minimumheap;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IdMinimumHeapTests {
+
+    private IdMinimumHeap heap;
+
+    @Before
+    public void createIdMinimumHeap() throws MinimumHeapException {
+        heap = new IdMinimumHeap(4, 10);
+    }
+
+    @Test
+    public void testSizeEmpty() {
+        assertEquals(0, heap.size());
+        assertFalse(heap.contains(0));
+        assertFalse(heap.contains(-1));
+        assertFalse(heap.contains(10));
+    }
+
+    @Test
+    public void testRemoveOrderedByKey() throws MinimumHeapException {
+        heap.add(3, 3.5);
+        heap.add(0, -1);
+        heap.add(9, Double.POSITIVE_INFINITY);
+        heap.add(5, 2);
+        assertEquals(-1, heap.minKey(), 0);
+        assertEquals(0, heap.remove());
+        assertEquals(5, heap.remove());
+        assertEquals(3, heap.remove());
+        assertEquals(9, heap.remove());
+        assertEquals(0, heap.size());
+    }
+
+    @Test
+    public void testDecrease() throws MinimumHeapException {
+        for (int id = 0; id < 10; id++)
+            heap.add(id, 10 * (id + 1));
+        heap.decrease(7, 5);
+        assertEquals(5, heap.getKey(7), 0);
+        assertEquals(7, heap.remove());
+        assertFalse(heap.contains(7));
+        assertEquals(0, heap.remove());
+    }
+
+    @Test
+    public void testAddAgainAfterRemove() throws MinimumHeapException {
+        heap.add(2, 1);
+        assertEquals(2, heap.remove());
+        heap.add(2, 4);
+        heap.add(1, 3);
+        assertEquals(1, heap.remove());
+        assertEquals(2, heap.remove());
+    }
+
+    @Test
+    public void testRandomAgainstSort() throws MinimumHeapException {
+        IdMinimumHeap large = new IdMinimumHeap(1000);
+        Random random = new Random(3);
+        double[] keys = new double[1000];
+        for (int id = 0; id < keys.length; id++) {
+            keys[id] = random.nextInt(5000);
+            large.add(id, keys[id]);
+        }
+        for (int id = 0; id < keys.length; id += 3) {
+            keys[id] -= random.nextInt(100);
+            large.decrease(id, keys[id]);
+        }
+
+        double previous = Double.NEGATIVE_INFINITY;
+        while (large.size() != 0) {
+            double key = large.minKey();
+            assertTrue(key >= previous);
+            assertEquals(keys[large.remove()], key, 0);
+            previous = key;
+        }
+    }
+
+    @Test
+    public void testClear() throws MinimumHeapException {
+        heap.add(1, 1);
+        heap.add(2, 2);
+        heap.clear();
+        assertEquals(0, heap.size());
+        assertFalse(heap.contains(1));
+        heap.add(1, 5);
+        assertEquals(1, heap.remove());
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testAddTwice() throws MinimumHeapException {
+        heap.add(1, 1);
+        heap.add(1, 2);
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testAddOutOfCapacity() throws MinimumHeapException {
+        heap.add(10, 1);
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testDecreaseToGreater() throws MinimumHeapException {
+        heap.add(1, 1);
+        heap.decrease(1, 2);
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testDecreaseMissing() throws MinimumHeapException {
+        heap.decrease(1, 0);
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testRemoveFromEmpty() throws MinimumHeapException {
+        heap.remove();
+    }
+}
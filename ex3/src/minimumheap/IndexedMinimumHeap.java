@@ -0,0 +1,907 @@
+package minimumheap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Class used to manage an indexed {@code Minimum Heap} of {@code Generic Type}.
+ * <p>
+ * Every element added receives an {@code int} {@code handle} that stays valid
+ * until the element leaves the heap; the position of each handle is kept into
+ * a primitive array, so {@link #decrease(int, Object)} neither hashes nor
+ * allocates. Handles of removed elements are recycled by later calls to
+ * {@link #add(Object)}.
+ * <p>
+ * Each node has {@code arity} children (2 by default). The elements are kept in
+ * heap order next to their handles, so the references to the children
+ * compared by a sift are adjacent into the array.
+ */
+public class IndexedMinimumHeap<T> {
+
+    static final int DEFAULT_CAPACITY = 16;
+    private static final int DEFAULT_ARITY = 2;
+
+    private Object[] elements = null; // slot -> element
+    private int[] heap = null; // slot -> handle
+    private int[] positions = null; // handle -> position
+    private int size = 0;
+    private int handles = 0; // number of handles issued so far
+    private int arity = DEFAULT_ARITY;
+    private Comparator<? super T> comparator = null;
+    private final Comparator<T> counter = this::compare; // the comparator, counting when HeapStatistics.ENABLED
+    private int modifications = 0; // changes of the layout, checked by the sorted iterators
+
+    // updated only when HeapStatistics.ENABLED
+    private long comparisons = 0;
+    private long swaps = 0;
+    private long siftUps = 0;
+    private long siftUpLevels = 0;
+    private long siftDowns = 0;
+    private long siftDownLevels = 0;
+    private int maxSiftDepth = 0;
+
+    /**
+     * Init a binary {@code IndexedMinimumHeap}
+     * 
+     * @param comparator used to compare two {@code Generic Type} elements
+     * @throws MinimumHeapException when {@code comparator} is {@code null}
+     */
+    public IndexedMinimumHeap(Comparator<? super T> comparator) throws MinimumHeapException {
+        this(comparator, DEFAULT_ARITY, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Init a binary {@code IndexedMinimumHeap}
+     * 
+     * @param comparator      used to compare two {@code Generic Type} elements
+     * @param initialCapacity number of elements the heap can hold before growing
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code comparator} is {@code null}</li>
+     *                              <li>{@code initialCapacity} is negative</li>
+     *                              </ul>
+     */
+    public IndexedMinimumHeap(Comparator<? super T> comparator, int initialCapacity) throws MinimumHeapException {
+        this(comparator, DEFAULT_ARITY, initialCapacity);
+    }
+
+    /**
+     * Init a {@code d-ary} {@code IndexedMinimumHeap}
+     * 
+     * @param comparator      used to compare two {@code Generic Type} elements
+     * @param arity           number of children of each node
+     * @param initialCapacity number of elements the heap can hold before growing
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code comparator} is {@code null}</li>
+     *                              <li>{@code arity} is less than 2</li>
+     *                              <li>{@code initialCapacity} is negative</li>
+     *                              </ul>
+     */
+    public IndexedMinimumHeap(Comparator<? super T> comparator, int arity, int initialCapacity)
+            throws MinimumHeapException {
+        if (comparator == null)
+            throw new MinimumHeapException("\nIndexedMinimumHeap(comparator): comparator must be != null");
+
+        if (arity < 2)
+            throw new MinimumHeapException("\nIndexedMinimumHeap(comparator, arity, initialCapacity): arity must be >= 2");
+
+        if (initialCapacity < 0)
+            throw new MinimumHeapException(
+                    "\nIndexedMinimumHeap(comparator, initialCapacity): initialCapacity must be >= 0");
+
+        this.comparator = comparator;
+        this.arity = arity;
+        this.elements = new Object[initialCapacity];
+        this.heap = new int[initialCapacity];
+        this.positions = new int[initialCapacity];
+    }
+
+    /**
+     * @return the number of children of each node
+     */
+    public int arity() {
+        return this.arity;
+    }
+
+    /**
+     * @return the size of the {@code IndexedMinimumHeap}
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @param handle returned by {@link #add(Object)}
+     * @return {@code TRUE} iff the element with the given {@code handle} is into
+     *         the {@code IndexedMinimumHeap}, {@code FALSE} otherwise
+     */
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < this.handles && this.positions[handle] < this.size;
+    }
+
+    /**
+     * @param handle returned by {@link #add(Object)}
+     * @return the element with the given {@code handle}
+     * @throws MinimumHeapException when {@code handle} is NOT into the
+     *                              {@code IndexedMinimumHeap}
+     */
+    public T get(int handle) throws MinimumHeapException {
+        if (!contains(handle))
+            throw new MinimumHeapException("\nget(handle): handle is not in the IndexedMinimumHeap");
+
+        return elementAt(this.positions[handle]);
+    }
+
+    /**
+     * Add an {@code element} of {@code generic type} into the
+     * {@code IndexedMinimumHeap}
+     *
+     * @param element to add
+     * @return the {@code handle} of the element added
+     * @throws MinimumHeapException when {@code element} is {@code null}
+     */
+    public int add(T element) throws MinimumHeapException {
+        if (element == null)
+            throw new MinimumHeapException("\nadd(element): element must be != null");
+
+        HeapOperationEvent event = HeapStatistics.ENABLED ? begin("add") : null;
+
+        ensureCapacity(this.size + 1);
+
+        int handle = append(element);
+        siftUp(this.size - 1);
+
+        if (HeapStatistics.ENABLED)
+            end(event);
+
+        return handle;
+    }
+
+    /**
+     * Add all the {@code elements} into the {@code IndexedMinimumHeap}.
+     * <p>
+     * The elements are appended to the heap layout, then the heap is rebuilt
+     * bottom-up in linear time when the batch is at least as large as the heap
+     * already is; smaller batches are sifted up one by one.
+     *
+     * @param elements to add
+     * @return the {@code handles} of the elements added, in iteration order
+     * @throws MinimumHeapException when {@code elements} is {@code null} or
+     *                              contains a {@code null} element; in that case
+     *                              the {@code IndexedMinimumHeap} is left
+     *                              unchanged
+     */
+    public int[] addAll(Collection<? extends T> elements) throws MinimumHeapException {
+        if (elements == null)
+            throw new MinimumHeapException("\naddAll(elements): elements must be != null");
+
+        Object[] batch = elements.toArray();
+        for (Object element : batch) {
+            if (element == null)
+                throw new MinimumHeapException("\naddAll(elements): elements must not contain null");
+        }
+
+        HeapOperationEvent event = HeapStatistics.ENABLED ? begin("addAll") : null;
+
+        int[] added = addBatch(batch, 0, batch.length);
+
+        if (HeapStatistics.ENABLED)
+            end(event);
+
+        return added;
+    }
+
+    /**
+     * Move all the elements of {@code other} into the
+     * {@code IndexedMinimumHeap} as a single batch, leaving {@code other} empty;
+     * both heaps must use the same ordering
+     *
+     * @param other heap to meld with
+     * @return the new {@code handles} of the elements moved, in the order of the
+     *         heap layout of {@code other}
+     * @throws MinimumHeapException when {@code other} is {@code null} or is this
+     *                              {@code IndexedMinimumHeap}
+     * @see #addAll(Collection)
+     */
+    public int[] meld(IndexedMinimumHeap<T> other) throws MinimumHeapException {
+        if (other == null)
+            throw new MinimumHeapException("\nmeld(other): other must be != null");
+
+        if (other == this)
+            throw new MinimumHeapException("\nmeld(other): cannot meld an IndexedMinimumHeap with itself");
+
+        HeapOperationEvent event = HeapStatistics.ENABLED ? begin("meld") : null;
+
+        int[] added = addBatch(other.elements, 0, other.size);
+        other.clear();
+
+        if (HeapStatistics.ENABLED)
+            end(event);
+
+        return added;
+    }
+
+    /**
+     * Remove the root element, then rebuild the {@code IndexedMinimumHeap}
+     *
+     * @return the element removed
+     * @throws MinimumHeapException on an empty {@code IndexedMinimumHeap}
+     */
+    public T remove() throws MinimumHeapException {
+        if (this.size == 0)
+            throw new MinimumHeapException(
+                    "\nremove(): cannot remove the root element of an empty IndexedMinimumHeap");
+
+        HeapOperationEvent event = HeapStatistics.ENABLED ? begin("remove") : null;
+
+        int lastSlot = this.size - 1;
+        int root = this.heap[0];
+        T removed = elementAt(0);
+
+        // the last element takes the place of the root, the handle of the root is
+        // kept after the last element to be recycled
+        move(lastSlot, 0);
+        this.heap[lastSlot] = root;
+        this.elements[lastSlot] = null;
+        this.size--;
+        this.modifications++;
+        this.positions[root] = this.size;
+
+        if (this.size > 1)
+            siftDown(0);
+
+        if (HeapStatistics.ENABLED)
+            end(event);
+
+        return removed;
+    }
+
+    /**
+     * Remove the root element and add {@code element} with a single sift
+     * towards the leaves, instead of a {@link #remove()} followed by an
+     * {@link #add(Object)}; the {@code handle} of the root now identifies
+     * {@code element}
+     *
+     * @param element to add
+     * @return the element removed
+     * @throws MinimumHeapException when {@code element} is {@code null} or the
+     *                              {@code IndexedMinimumHeap} is empty
+     */
+    public T replace(T element) throws MinimumHeapException {
+        if (element == null)
+            throw new MinimumHeapException("\nreplace(element): element must be != null");
+
+        if (this.size == 0)
+            throw new MinimumHeapException(
+                    "\nreplace(element): cannot replace the root element of an empty IndexedMinimumHeap");
+
+        HeapOperationEvent event = HeapStatistics.ENABLED ? begin("replace") : null;
+
+        T removed = elementAt(0);
+        this.elements[0] = element;
+        this.modifications++;
+        siftDown(0);
+
+        if (HeapStatistics.ENABLED)
+            end(event);
+
+        return removed;
+    }
+
+    /**
+     * Change the element with the given {@code handle} with the given
+     * {@code newElement}; the {@code handle} stays the same
+     *
+     * @param handle     of the element to change
+     * @param newElement to change with
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code newElement} is {@code null}</li>
+     *                              <li>{@code handle} is NOT into the
+     *                              {@code IndexedMinimumHeap}</li>
+     *                              </ul>
+     */
+    public void decrease(int handle, T newElement) throws MinimumHeapException {
+        if (newElement == null)
+            throw new MinimumHeapException("\ndecrease(handle, newElement): newElement must be != null");
+
+        if (!contains(handle))
+            throw new MinimumHeapException(
+                    "\ndecrease(handle, newElement): cannot decrease an element that is not in the IndexedMinimumHeap");
+
+        HeapOperationEvent event = HeapStatistics.ENABLED ? begin("decrease") : null;
+
+        int position = this.positions[handle];
+        this.elements[position] = newElement;
+        this.modifications++;
+
+        // move the element towards the root, then check if it can go down
+        siftDown(siftUp(position));
+
+        if (HeapStatistics.ENABLED)
+            end(event);
+    }
+
+    /**
+     * Change the element with the given {@code handle} with the given
+     * {@code newElement}, which must not be less than it; the {@code handle}
+     * stays the same
+     *
+     * @param handle     of the element to change
+     * @param newElement to change with
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code newElement} is {@code null}</li>
+     *                              <li>{@code handle} is NOT into the
+     *                              {@code IndexedMinimumHeap}</li>
+     *                              <li>{@code newElement} is less than the
+     *                              element it replaces</li>
+     *                              </ul>
+     */
+    public void increase(int handle, T newElement) throws MinimumHeapException {
+        if (newElement == null)
+            throw new MinimumHeapException("\nincrease(handle, newElement): newElement must be != null");
+
+        if (!contains(handle))
+            throw new MinimumHeapException(
+                    "\nincrease(handle, newElement): cannot increase an element that is not in the IndexedMinimumHeap");
+
+        int position = this.positions[handle];
+
+        // a smaller element would only be sifted down, breaking the heap order
+        if (this.comparator.compare(newElement, elementAt(position)) < 0)
+            throw new MinimumHeapException(
+                    "\nincrease(handle, newElement): newElement must not be less than the element it replaces");
+
+        HeapOperationEvent event = HeapStatistics.ENABLED ? begin("increase") : null;
+
+        this.elements[position] = newElement;
+        this.modifications++;
+        siftDown(position);
+
+        if (HeapStatistics.ENABLED)
+            end(event);
+    }
+
+    /**
+     * Remove the element with the given {@code handle}, wherever it is into the
+     * heap layout
+     *
+     * @param handle of the element to remove
+     * @return the element removed
+     * @throws MinimumHeapException when {@code handle} is NOT into the
+     *                              {@code IndexedMinimumHeap}
+     */
+    public T delete(int handle) throws MinimumHeapException {
+        if (!contains(handle))
+            throw new MinimumHeapException(
+                    "\ndelete(handle): cannot delete an element that is not in the IndexedMinimumHeap");
+
+        HeapOperationEvent event = HeapStatistics.ENABLED ? begin("delete") : null;
+
+        int position = this.positions[handle];
+        int slot = position;
+        int lastSlot = this.size - 1;
+        T removed = elementAt(position);
+
+        // the last element takes the place of the one removed, whose handle is
+        // kept after the last element to be recycled
+        move(lastSlot, slot);
+        this.heap[lastSlot] = handle;
+        this.elements[lastSlot] = null;
+        this.size--;
+        this.modifications++;
+        this.positions[handle] = this.size;
+
+        // the last element may be less than the parent of the hole, or greater
+        // than its children
+        if (position < this.size)
+            siftDown(siftUp(position));
+
+        if (HeapStatistics.ENABLED)
+            end(event);
+
+        return removed;
+    }
+
+    /**
+     * @return the root element, {@code null} if the {@code IndexedMinimumHeap}
+     *         is empty
+     */
+    public T peek() {
+        return (this.size == 0) ? null : elementAt(0);
+    }
+
+    /**
+     * Remove the {@code n} smallest elements, or all of them if there are fewer.
+     * <p>
+     * When {@code n} is small the elements are removed one by one; otherwise
+     * they are picked walking the heap with a {@link PositionFrontier}, then the
+     * holes they leave are filled with the last elements and the heap is
+     * rebuilt bottom-up once.
+     *
+     * @param n number of elements to remove
+     * @return the elements removed, from the smallest
+     * @throws MinimumHeapException when {@code n} is negative
+     */
+    public List<T> pollN(int n) throws MinimumHeapException {
+        if (n < 0)
+            throw new MinimumHeapException("\npollN(n): n must be >= 0");
+
+        n = Math.min(n, this.size);
+        List<T> ris = new ArrayList<>(n);
+
+        if (n == this.size) {
+            drainTo(ris);
+            return ris;
+        }
+
+        // n removals cost about n * log(size) steps, a rebuild about size steps
+        if ((long) n * (32 - Integer.numberOfLeadingZeros(this.size)) < this.size) {
+            for (int i = 0; i < n; i++)
+                ris.add(remove());
+            return ris;
+        }
+
+        // the n smallest elements form a subtree that contains the root
+        int[] taken = new int[n];
+        PositionFrontier<T> frontier = new PositionFrontier<>(this, n);
+        frontier.start();
+        for (int i = 0; i < n; i++) {
+            taken[i] = frontier.next();
+            ris.add(elementAt(taken[i]));
+        }
+
+        removePositions(taken);
+
+        return ris;
+    }
+
+    /**
+     * Remove all the elements, adding them to {@code target} from the smallest;
+     * the elements are sorted once instead of being removed one by one
+     *
+     * @param target where to add the elements
+     * @return the number of elements added to {@code target}
+     * @throws MinimumHeapException when {@code target} is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(Collection<? super T> target) throws MinimumHeapException {
+        if (target == null)
+            throw new MinimumHeapException("\ndrainTo(target): target must be != null");
+
+        T[] sorted = (T[]) toArray();
+        Arrays.sort(sorted, this.comparator);
+
+        for (T element : sorted)
+            target.add(element);
+
+        // every handle is released, so they can be numbered again from 0
+        clear();
+
+        return sorted.length;
+    }
+
+    /**
+     * Iterate over the elements from the smallest, without changing the
+     * {@code IndexedMinimumHeap}.
+     * <p>
+     * The heap is visited with a {@link PositionFrontier}, which holds the
+     * positions whose parent has already been returned: the first {@code m}
+     * elements cost {@code O(m log m)} time, whatever the size of the heap.
+     *
+     * @return an {@code Iterator} that throws
+     *         {@code ConcurrentModificationException} when the
+     *         {@code IndexedMinimumHeap} has been changed after its creation
+     */
+    public Iterator<T> sortedIterator() {
+        return new SortedIterator();
+    }
+
+    /**
+     * @return a snapshot of the counters of the {@code IndexedMinimumHeap}, all
+     *         0 unless {@link HeapStatistics#ENABLED}
+     */
+    public HeapStatistics getStatistics() {
+        return new HeapStatistics(this.comparisons, this.swaps, this.siftUps, this.siftUpLevels, this.siftDowns,
+                this.siftDownLevels, this.maxSiftDepth);
+    }
+
+    /**
+     * Set all the counters of the {@code IndexedMinimumHeap} to 0
+     */
+    public void resetStatistics() {
+        this.comparisons = 0;
+        this.swaps = 0;
+        this.siftUps = 0;
+        this.siftUpLevels = 0;
+        this.siftDowns = 0;
+        this.siftDownLevels = 0;
+        this.maxSiftDepth = 0;
+    }
+
+    /**
+     * Remove all the elements; every {@code handle} issued so far becomes
+     * invalid
+     */
+    public void clear() {
+        Arrays.fill(this.elements, null);
+        this.size = 0;
+        this.handles = 0;
+        this.modifications++;
+    }
+
+    /**
+     * @param offset number of elements that will be added before
+     * @return the {@code handle} the element added after other {@code offset}
+     *         elements will receive
+     */
+    int nextHandle(int offset) {
+        int position = this.size + offset;
+
+        // the slots after the last element hold the handles already released
+        if (position < this.handles)
+            return this.heap[position];
+
+        return position;
+    }
+
+    /**
+     * @return the {@code Comparator} of the {@code IndexedMinimumHeap}
+     */
+    Comparator<? super T> comparator() {
+        return this.comparator;
+    }
+
+    /**
+     * @param handle of an element into the {@code IndexedMinimumHeap}
+     * @return the position of the element into the heap layout
+     */
+    int position(int handle) {
+        return this.positions[handle];
+    }
+
+    /**
+     * @param position into the heap layout
+     * @return the element at the given {@code position}
+     */
+    @SuppressWarnings("unchecked")
+    T elementAt(int position) {
+        return (T) this.elements[position];
+    }
+
+    /**
+     * @param position into the heap layout, greater than 0
+     * @return the position of the parent
+     */
+    int parent(int position) {
+        return (position - 1) / this.arity;
+    }
+
+    /**
+     * @param position into the heap layout
+     * @return the position of the first child, which may be beyond the last
+     *         element
+     */
+    int firstChild(int position) {
+        return (this.arity * position) + 1;
+    }
+
+    /**
+     * Append {@code count} elements of {@code batch} starting from
+     * {@code from}, then restore the heap property once: bottom-up when the
+     * batch is at least as large as the heap already is, sifting up each
+     * element otherwise
+     *
+     * @return the {@code handles} of the elements added
+     */
+    private int[] addBatch(Object[] batch, int from, int count) {
+        int first = this.size;
+        int[] added = new int[count];
+
+        ensureCapacity(this.size + count);
+        for (int i = 0; i < count; i++)
+            added[i] = append(batch[from + i]);
+
+        if (this.size < 2) {
+            // nothing to order
+        } else if (count >= first) {
+            for (int i = parent(this.size - 1); i >= 0; i--)
+                siftDown(i);
+        } else {
+            for (int i = first; i < this.size; i++)
+                siftUp(i);
+        }
+
+        return added;
+    }
+
+    /**
+     * Remove the elements at the given positions, filling the holes with the
+     * last elements, then rebuild the heap bottom-up
+     *
+     * @param taken distinct positions to remove
+     */
+    private void removePositions(int[] taken) {
+        int n = taken.length;
+        int newSize = this.size - n;
+        int[] released = new int[n];
+
+        Arrays.sort(taken);
+        for (int i = 0; i < n; i++)
+            released[i] = this.heap[taken[i]];
+
+        // the holes before newSize are as many as the elements kept after it
+        int t = n - 1;
+        int filler = this.size - 1;
+        for (int i = 0; i < n && taken[i] < newSize; i++) {
+            while (t >= 0 && taken[t] == filler) {
+                t--;
+                filler--;
+            }
+            move(filler, taken[i]);
+            filler--;
+        }
+
+        // the handles released are kept after the last element to be recycled
+        for (int i = 0; i < n; i++) {
+            int slot = newSize + i;
+            this.heap[slot] = released[i];
+            this.elements[slot] = null;
+            this.positions[released[i]] = newSize + i;
+        }
+        this.size = newSize;
+        this.modifications++;
+
+        for (int i = (this.size < 2) ? -1 : parent(this.size - 1); i >= 0; i--)
+            siftDown(i);
+    }
+
+    /**
+     * Put {@code element} after the last position of the heap layout, without
+     * restoring the heap property; the capacity must be already enough
+     *
+     * @param element to append
+     * @return the {@code handle} of the element appended
+     */
+    private int append(Object element) {
+        int slot = this.size;
+        int handle = nextHandle(0);
+        if (handle == this.handles) {
+            this.heap[slot] = handle;
+            this.handles++;
+        }
+
+        this.elements[slot] = element;
+        this.positions[handle] = this.size;
+        this.size++;
+        this.modifications++;
+
+        return handle;
+    }
+
+    /**
+     * Copy the element and the handle of slot {@code from} into slot {@code to}
+     */
+    private void move(int from, int to) {
+        int handle = this.heap[from];
+
+        if (HeapStatistics.ENABLED)
+            this.swaps++;
+
+        this.elements[to] = this.elements[from];
+        this.heap[to] = handle;
+        this.positions[handle] = to;
+    }
+
+    /**
+     * Move the element at the given {@code position} towards the root while it is
+     * less than its parent
+     *
+     * @param position where to start
+     * @return the final position of the element
+     */
+    @SuppressWarnings("unchecked")
+    private int siftUp(int position) {
+        T element = (T) this.elements[position];
+        int handle = this.heap[position];
+
+        int levels = 0;
+
+        // the parents greater than the element are moved down, then the element
+        // is written once into the hole left
+        while (position > 0) {
+            int parent = parent(position);
+
+            if (compare(element, elementAt(parent)) >= 0)
+                break;
+
+            move(parent, position);
+            position = parent;
+            levels++;
+        }
+
+        if (HeapStatistics.ENABLED) {
+            this.siftUps++;
+            this.siftUpLevels += levels;
+            this.maxSiftDepth = Math.max(this.maxSiftDepth, levels);
+        }
+
+        this.elements[position] = element;
+        this.heap[position] = handle;
+        this.positions[handle] = position;
+
+        return position;
+    }
+
+    /**
+     * Move the element at the given {@code position} towards the leaves while
+     * one of its children is less than it
+     *
+     * @param position where to start
+     */
+    private void siftDown(int position) {
+        int levels = siftDown(this.elements, this.heap, this.positions, position, this.size, this.arity,
+                HeapStatistics.ENABLED ? this.counter : this.comparator);
+
+        if (HeapStatistics.ENABLED) {
+            this.swaps += levels;
+            this.siftDowns++;
+            this.siftDownLevels += levels;
+            this.maxSiftDepth = Math.max(this.maxSiftDepth, levels);
+        }
+    }
+
+    /**
+     * Move the element at {@code position} of the {@code d-ary} heap made of the
+     * first {@code size} slots of {@code elements} towards the leaves while one
+     * of its children is less than it; on equal children the last one is
+     * preferred. The children less than the element are moved up one level,
+     * then the element is written once into the hole left.
+     * <p>
+     * When {@code heap} is not {@code null} it holds the handle of each slot,
+     * moved along with the elements, and {@code positions} is updated with the
+     * new position of every handle moved.
+     *
+     * @return the number of levels the element moved down
+     */
+    @SuppressWarnings("unchecked")
+    static <T> int siftDown(Object[] elements, int[] heap, int[] positions, int position, int size, int arity,
+            Comparator<? super T> comparator) {
+        T element = (T) elements[position];
+        int handle = (heap == null) ? 0 : heap[position];
+        int levels = 0;
+
+        while (true) {
+            int first = (arity * position) + 1;
+
+            if (first >= size)
+                break;
+
+            int last = Math.min(first + arity, size);
+            int min = first;
+            T minElement = (T) elements[first];
+            for (int child = first + 1; child < last; child++) {
+                T childElement = (T) elements[child];
+                if (comparator.compare(childElement, minElement) <= 0) {
+                    min = child;
+                    minElement = childElement;
+                }
+            }
+
+            if (comparator.compare(minElement, element) >= 0)
+                break;
+
+            elements[position] = minElement;
+            if (heap != null) {
+                heap[position] = heap[min];
+                positions[heap[position]] = position;
+            }
+            position = min;
+            levels++;
+        }
+
+        elements[position] = element;
+        if (heap != null) {
+            heap[position] = handle;
+            positions[handle] = position;
+        }
+
+        return levels;
+    }
+
+    private int compare(T a, T b) {
+        if (HeapStatistics.ENABLED)
+            this.comparisons++;
+
+        return this.comparator.compare(a, b);
+    }
+
+    /**
+     * @return the event of an operation that begins now, {@code null} if JFR is
+     *         not recording it
+     */
+    private HeapOperationEvent begin(String operation) {
+        HeapOperationEvent event = new HeapOperationEvent();
+
+        if (!event.isEnabled())
+            return null;
+
+        event.operation = operation;
+        event.startComparisons = this.comparisons;
+        event.startSwaps = this.swaps;
+        event.startLevels = this.siftUpLevels + this.siftDownLevels;
+        event.begin();
+
+        return event;
+    }
+
+    /**
+     * Record the work done since {@link #begin(String)} into {@code event}
+     */
+    private void end(HeapOperationEvent event) {
+        if (event == null || !event.shouldCommit())
+            return;
+
+        event.size = this.size;
+        event.comparisons = this.comparisons - event.startComparisons;
+        event.swaps = this.swaps - event.startSwaps;
+        event.levels = this.siftUpLevels + this.siftDownLevels - event.startLevels;
+        event.commit();
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= this.positions.length)
+            return;
+
+        int capacity = Math.max(Math.max(DEFAULT_CAPACITY, this.positions.length * 2), required);
+
+        this.elements = Arrays.copyOf(this.elements, capacity);
+        this.heap = Arrays.copyOf(this.heap, capacity);
+        this.positions = Arrays.copyOf(this.positions, capacity);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    /**
+     * @return the {@code IndexedMinimumHeap} as an array of {@code Object}
+     */
+    public Object[] toArray() {
+        return Arrays.copyOf(this.elements, this.size);
+    }
+
+    private class SortedIterator implements Iterator<T> {
+        private final PositionFrontier<T> frontier = new PositionFrontier<>(IndexedMinimumHeap.this, 16);
+        private final int expected = IndexedMinimumHeap.this.modifications;
+
+        private SortedIterator() {
+            this.frontier.start();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.frontier.size() > 0;
+        }
+
+        @Override
+        public T next() {
+            if (IndexedMinimumHeap.this.modifications != this.expected)
+                throw new ConcurrentModificationException();
+
+            if (this.frontier.size() == 0)
+                throw new NoSuchElementException();
+
+            return elementAt(this.frontier.next());
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package minimumheap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IndexedMinimumHeapTestsInteger {
+
+    class CompareInteger implements Comparator<Integer> {
+        @Override
+        public int compare(Integer o1, Integer o2) {
+            return o1.compareTo(o2);
+        }
+    }
+
+    private IndexedMinimumHeap<Integer> heapInteger;
+
+    @Before
+    public void createIndexedMinimumHeap() throws MinimumHeapException {
+        heapInteger = new IndexedMinimumHeap<>(new CompareInteger(), 0);
+    }
+
+    private int[] addAll(int... values) throws MinimumHeapException {
+        int[] handles = new int[values.length];
+        for (int i = 0; i < values.length; i++)
+            handles[i] = heapInteger.add(values[i]);
+        return handles;
+    }
+
+    @Test
+    public void testStaticSiftBuildsTheSameHeap() throws MinimumHeapException {
+        // ties decide where the equal elements end, so the keys repeat
+        Comparator<int[]> byKey = (a, b) -> Integer.compare(a[0], b[0]);
+        int[][] values = new int[200][];
+        for (int i = 0; i < values.length; i++)
+            values[i] = new int[] { (i * 37) % 23 };
+
+        IndexedMinimumHeap<int[]> heap = new IndexedMinimumHeap<>(byKey, 4, 0);
+        heap.addAll(Arrays.asList(values));
+
+        Object[] array = values.clone();
+        for (int i = (array.length - 2) / 4; i >= 0; i--)
+            IndexedMinimumHeap.siftDown(array, null, null, i, array.length, 4, byKey);
+
+        Object[] layout = heap.toArray();
+        for (int i = 0; i < array.length; i++)
+            assertSame(array[i], layout[i]);
+    }
+
+    @Test
+    public void testStaticSiftPrefersLastEqualChild() {
+        Comparator<int[]> byKey = (a, b) -> Integer.compare(a[0], b[0]);
+        int[] root = { 9 };
+        Object[] array = { root, new int[] { 1 }, new int[] { 1 }, new int[] { 1 } };
+        Object last = array[3];
+        int[] heap = { 10, 11, 12, 13 };
+        int[] positions = new int[14];
+
+        assertEquals(1, IndexedMinimumHeap.siftDown(array, heap, positions, 0, 4, 4, byKey));
+        assertSame(last, array[0]);
+        assertSame(root, array[3]);
+        assertEquals(13, heap[0]);
+        assertEquals(0, positions[13]);
+        assertEquals(3, positions[10]);
+    }
+
+    @Test
+    public void testSizeEmpty() {
+        assertEquals(0, heapInteger.size());
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testNullComparator() throws MinimumHeapException {
+        new IndexedMinimumHeap<Integer>(null);
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testNullExceptionThrown() throws MinimumHeapException {
+        heapInteger.add(null);
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testRemoveFromEmpty() throws MinimumHeapException {
+        heapInteger.remove();
+    }
+
+    @Test
+    public void testAddTenEl() throws MinimumHeapException {
+        addAll(5, 3, 7, 2, 1, 8, 6, 9, 10, 4);
+        Object[] expected = { 1, 2, 6, 5, 3, 8, 7, 9, 10, 4 };
+        assertArrayEquals(expected, heapInteger.toArray());
+    }
+
+    @Test
+    public void testHandlesFollowElements() throws MinimumHeapException {
+        int[] handles = addAll(5, 3, 7, 2, 1);
+        assertEquals(Integer.valueOf(5), heapInteger.get(handles[0]));
+        assertEquals(Integer.valueOf(1), heapInteger.get(handles[4]));
+    }
+
+    @Test
+    public void testAddTenElDecreaseNineToZero() throws MinimumHeapException {
+        int[] handles = addAll(5, 3, 7, 2, 1, 8, 6, 9, 10, 4);
+        heapInteger.decrease(handles[7], 0);
+        Object[] expected = { 0, 1, 6, 2, 3, 8, 7, 5, 10, 4 };
+        assertArrayEquals(expected, heapInteger.toArray());
+    }
+
+    @Test
+    public void testRemoveReleasesHandle() throws MinimumHeapException {
+        int[] handles = addAll(3, 1, 2);
+        assertEquals(Integer.valueOf(1), heapInteger.remove());
+        assertFalse(heapInteger.contains(handles[1]));
+        assertTrue(heapInteger.contains(handles[0]));
+        assertEquals(handles[1], heapInteger.add(4));
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testDecreaseRemovedHandle() throws MinimumHeapException {
+        int[] handles = addAll(3, 1, 2);
+        heapInteger.remove();
+        heapInteger.decrease(handles[1], 0);
+    }
+
+    @Test
+    public void testRemoveAllSorted() throws MinimumHeapException {
+        addAll(5, 3, 7, 2, 1, 8, 6, 9, 10, 4);
+        for (int i = 1; i <= 10; i++)
+            assertEquals(Integer.valueOf(i), heapInteger.remove());
+        assertEquals(0, heapInteger.size());
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testArityLessThanTwo() throws MinimumHeapException {
+        new IndexedMinimumHeap<Integer>(new CompareInteger(), 1, 16);
+    }
+
+    @Test
+    public void testFourAryAddTenEl() throws MinimumHeapException {
+        heapInteger = new IndexedMinimumHeap<>(new CompareInteger(), 4, 16);
+        addAll(5, 3, 7, 2, 1, 8, 6, 9, 10, 4);
+        Object[] expected = { 1, 5, 4, 3, 2, 8, 6, 9, 10, 7 };
+        assertArrayEquals(expected, heapInteger.toArray());
+    }
+
+    @Test
+    public void testFourAryFromEmptyRemoveAllSorted() throws MinimumHeapException {
+        heapInteger = new IndexedMinimumHeap<>(new CompareInteger(), 4, 0);
+        addAll(5, 3, 7, 2, 1, 8, 6, 9, 10, 4);
+        for (int i = 1; i <= 10; i++)
+            assertEquals(Integer.valueOf(i), heapInteger.remove());
+    }
+
+    @Test
+    public void testEightAryDecrease() throws MinimumHeapException {
+        heapInteger = new IndexedMinimumHeap<>(new CompareInteger(), 8, 16);
+        int[] handles = addAll(50, 30, 70, 20, 10, 80, 60, 90, 100, 40, 45, 55);
+        heapInteger.decrease(handles[8], 5);
+        heapInteger.decrease(handles[0], 15);
+        assertEquals(Integer.valueOf(5), heapInteger.remove());
+        assertEquals(Integer.valueOf(10), heapInteger.remove());
+        assertEquals(Integer.valueOf(15), heapInteger.remove());
+        assertEquals(Integer.valueOf(20), heapInteger.remove());
+        assertEquals(Integer.valueOf(30), heapInteger.get(handles[1]));
+    }
+
+    @Test
+    public void testPollNKeepsOtherHandles() throws MinimumHeapException {
+        int[] handles = addAll(50, 30, 70, 20, 10, 80, 60, 90, 100, 40, 45, 55);
+        assertEquals(Arrays.asList(10, 20, 30, 40, 45, 50), heapInteger.pollN(6));
+        assertEquals(6, heapInteger.size());
+        assertFalse(heapInteger.contains(handles[0]));
+        assertEquals(Integer.valueOf(100), heapInteger.get(handles[8]));
+        heapInteger.decrease(handles[8], 1);
+        assertEquals(Integer.valueOf(1), heapInteger.remove());
+        assertEquals(Integer.valueOf(55), heapInteger.remove());
+    }
+
+    @Test
+    public void testPollNThenAddRecyclesHandles() throws MinimumHeapException {
+        addAll(5, 3, 7, 2, 1, 8, 6, 9, 10, 4);
+        heapInteger.pollN(4);
+        int handle = heapInteger.add(0);
+        assertTrue(handle < 10);
+        assertEquals(Integer.valueOf(0), heapInteger.get(handle));
+        for (int i : new int[] { 0, 5, 6, 7, 8, 9, 10 })
+            assertEquals(Integer.valueOf(i), heapInteger.remove());
+    }
+
+    @Test
+    public void testPollNMoreThanSize() throws MinimumHeapException {
+        addAll(3, 1, 2);
+        assertEquals(Arrays.asList(1, 2, 3), heapInteger.pollN(5));
+        assertEquals(0, heapInteger.size());
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testPollNNegative() throws MinimumHeapException {
+        heapInteger.pollN(-1);
+    }
+
+    @Test
+    public void testDrainToSorted() throws MinimumHeapException {
+        addAll(5, 3, 7, 2, 1);
+        List<Integer> target = new ArrayList<>();
+        assertEquals(5, heapInteger.drainTo(target));
+        assertEquals(Arrays.asList(1, 2, 3, 5, 7), target);
+        assertEquals(0, heapInteger.size());
+    }
+
+    @Test
+    public void testMeldFourAry() throws MinimumHeapException {
+        IndexedMinimumHeap<Integer> other = new IndexedMinimumHeap<>(new CompareInteger(), 4, 16);
+        other.add(8);
+        other.add(2);
+        other.add(6);
+        addAll(5, 3, 7);
+        int[] handles = heapInteger.meld(other);
+        assertEquals(0, other.size());
+        assertEquals(6, heapInteger.size());
+        assertEquals(Integer.valueOf(2), heapInteger.get(handles[0]));
+        heapInteger.decrease(handles[1], 1);
+        for (int i : new int[] { 1, 2, 3, 5, 6, 7 })
+            assertEquals(Integer.valueOf(i), heapInteger.remove());
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testMeldItself() throws MinimumHeapException {
+        heapInteger.meld(heapInteger);
+    }
+
+    @Test
+    public void testReplaceKeepsRootHandle() throws MinimumHeapException {
+        int[] handles = addAll(5, 3, 7, 2);
+        assertEquals(Integer.valueOf(2), heapInteger.replace(6));
+        assertEquals(Integer.valueOf(6), heapInteger.get(handles[3]));
+        assertEquals(4, heapInteger.size());
+        for (int i : new int[] { 3, 5, 6, 7 })
+            assertEquals(Integer.valueOf(i), heapInteger.remove());
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testReplaceOnEmpty() throws MinimumHeapException {
+        heapInteger.replace(1);
+    }
+
+    @Test
+    public void testDeleteMovesLastUp() throws MinimumHeapException {
+        // the last element (4) replaces 31, then goes above its parent 30
+        int[] handles = addAll(1, 30, 2, 31, 32, 3, 4);
+        assertEquals(Integer.valueOf(31), heapInteger.delete(handles[3]));
+        assertFalse(heapInteger.contains(handles[3]));
+        Object[] expected = { 1, 4, 2, 30, 32, 3 };
+        assertArrayEquals(expected, heapInteger.toArray());
+        assertEquals(Integer.valueOf(4), heapInteger.get(handles[6]));
+        for (int i : new int[] { 1, 2, 3, 4, 30, 32 })
+            assertEquals(Integer.valueOf(i), heapInteger.remove());
+    }
+
+    @Test
+    public void testIncreaseKeepsHandle() throws MinimumHeapException {
+        int[] handles = addAll(5, 3, 7, 2);
+        heapInteger.increase(handles[3], 9);
+        assertEquals(Integer.valueOf(3), heapInteger.peek());
+        assertEquals(Integer.valueOf(9), heapInteger.get(handles[3]));
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testIncreaseToSmaller() throws MinimumHeapException {
+        int[] handles = addAll(5, 3, 7, 2);
+        heapInteger.increase(handles[0], 1);
+    }
+
+    @Test
+    public void testSortedIteratorLeavesHeapUnchanged() throws MinimumHeapException {
+        addAll(5, 3, 8, 1, 9, 2, 7);
+        Object[] before = heapInteger.toArray();
+        List<Integer> sorted = new ArrayList<>();
+        heapInteger.sortedIterator().forEachRemaining(sorted::add);
+        assertEquals(Arrays.asList(1, 2, 3, 5, 7, 8, 9), sorted);
+        assertArrayEquals(before, heapInteger.toArray());
+    }
+
+    @Test
+    public void testSortedIteratorFirstItems() throws MinimumHeapException {
+        for (int i = 1000; i > 0; i--)
+            heapInteger.add(i);
+        Iterator<Integer> iterator = heapInteger.sortedIterator();
+        for (int i = 1; i <= 10; i++)
+            assertEquals(Integer.valueOf(i), iterator.next());
+        assertTrue(iterator.hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testSortedIteratorEmpty() {
+        Iterator<Integer> iterator = heapInteger.sortedIterator();
+        assertFalse(iterator.hasNext());
+        iterator.next();
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testSortedIteratorAfterChange() throws MinimumHeapException {
+        addAll(5, 3);
+        Iterator<Integer> iterator = heapInteger.sortedIterator();
+        iterator.next();
+        heapInteger.add(4);
+        iterator.next();
+    }
+}
@@ -1,36 +1,60 @@
 package minimumheap;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
-import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.List;
 
 /**
  * Class used to manage a {@code Minimum Heap} of {@code Generic Type}
+ * <p>
+ * The heap is an {@link IndexedMinimumHeap}: each element is mapped to its
+ * {@code handle} once, then every sift works on primitive positions only.
  */
-public class MinimumHeap<T> {
+public class MinimumHeap<T> implements AddressablePriorityQueue<T> {
 
-    private ArrayList<T> array = null;
-    private Comparator<? super T> comparator = null;
-    private Hashtable<T, Integer> table = null;
+    private IndexedMinimumHeap<T> heap = null;
+    private ElementIndex<T> table = null;
 
     /**
+     * Init a binary {@code MinimumHeap}
+     * 
      * @param comparator used to compare two {@code Generic Type} elements
      * @throws MinimumHeapException when {@code comparator} is {@code null}
      */
     public MinimumHeap(Comparator<? super T> comparator) throws MinimumHeapException {
+        this(comparator, 2);
+    }
+
+    /**
+     * Init a {@code d-ary} {@code MinimumHeap}; wider heaps are shallower, so
+     * {@link #add(Object)} and {@link #decrease(Object, Object)} do fewer steps
+     * while {@link #remove()} compares more children on each step
+     * 
+     * @param comparator used to compare two {@code Generic Type} elements
+     * @param arity      number of children of each node
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code comparator} is {@code null}</li>
+     *                              <li>{@code arity} is less than 2</li>
+     *                              </ul>
+     */
+    public MinimumHeap(Comparator<? super T> comparator, int arity) throws MinimumHeapException {
         if (comparator == null)
             throw new MinimumHeapException("\nMinimumHeap(comparator): comparator must be != null");
 
-        this.array = new ArrayList<>();
-        this.comparator = comparator;
-        this.table = new Hashtable<>();
+        this.heap = new IndexedMinimumHeap<>(comparator, arity, IndexedMinimumHeap.DEFAULT_CAPACITY);
+        this.table = new ElementIndex<>();
     }
 
     /**
      * @return the size of the {@code MinimumHeap}
      */
+    @Override
     public int size() {
-        return this.array.size();
+        return this.heap.size();
     }
 
     /**
@@ -42,22 +66,21 @@ public class MinimumHeap<T> {
         if (element == null)
             throw new MinimumHeapException("\nparent(element): element must be != null");
 
-        if (!this.table.containsKey(element))
+        int handle = this.table.get(element);
+
+        if (handle == ElementIndex.NONE)
             return element;
 
-        Integer pos = this.table.get(element);
+        int pos = this.heap.position(handle);
 
         if (pos == 0)
             return element;
 
-        if (pos % 2 == 0)
-            return this.array.get((pos / 2) - 1);
-
-        return this.array.get(pos / 2);
+        return this.heap.elementAt(this.heap.parent(pos));
     }
 
     /**
-     * @param element whose left child you want to find
+     * @param element whose left (first) child you want to find
      * @return the left child element if exist, the element given otherwise
      * @throws MinimumHeapException when {@code element} is {@code null}
      */
@@ -65,19 +88,23 @@ public class MinimumHeap<T> {
         if (element == null)
             throw new MinimumHeapException("\nleft(element): element must be != null");
 
-        if (!this.table.containsKey(element))
+        int handle = this.table.get(element);
+
+        if (handle == ElementIndex.NONE)
             return element;
 
-        Integer pos = this.table.get(element);
+        int pos = this.heap.position(handle);
+
+        int child = this.heap.firstChild(pos);
 
-        if (((2 * pos) + 1) < this.array.size())
-            return this.array.get((2 * pos) + 1);
+        if (child < this.heap.size())
+            return this.heap.elementAt(child);
         else
             return element;
     }
 
     /**
-     * @param element whose right child you want to find
+     * @param element whose right (last) child you want to find
      * @return the right child element if exist, the element given otherwise
      * @throws MinimumHeapException when {@code element} is {@code null}
      */
@@ -85,38 +112,19 @@ public class MinimumHeap<T> {
         if (element == null)
             throw new MinimumHeapException("\nright(element): element must be != null");
 
-        if (!this.table.containsKey(element))
-            return element;
-
-        Integer pos = this.table.get(element);
+        int handle = this.table.get(element);
 
-        if (((2 * pos) + 2) < this.array.size())
-            return this.array.get((2 * pos) + 2);
-        else
+        if (handle == ElementIndex.NONE)
             return element;
-    }
 
-    /**
-     * @param o1 an element of the {@code MinimumHeap}
-     * @param o2 an element of the {@code MinimumHeap}
-     * @throws MinimumHeapException when {@code o1} or {@code o2} are {@code null}
-     */
-    private void swap(T o1, T o2) throws MinimumHeapException {
-        if (o1 == null)
-            throw new MinimumHeapException("\nswap(o1, o2): o1 must be != null");
-
-        if (o2 == null)
-            throw new MinimumHeapException("\nswap(o1, o2): o2 must be != null");
+        int pos = this.heap.position(handle);
 
-        Integer i_o1 = this.table.get(o1);
-        Integer i_o2 = this.table.get(o2);
-        T tmp = this.array.get(i_o1);
+        int child = this.heap.firstChild(pos) + this.heap.arity() - 1;
 
-        this.array.set(i_o1, o2);
-        this.table.put(o2, i_o1);
-
-        this.array.set(i_o2, tmp);
-        this.table.put(tmp, i_o2);
+        if (child < this.heap.size())
+            return this.heap.elementAt(child);
+        else
+            return element;
     }
 
     /**
@@ -130,67 +138,62 @@ public class MinimumHeap<T> {
      *                              {@code MinimumHeap}</li>
      *                              </ul>
      */
+    @Override
     public void add(T element) throws MinimumHeapException {
         if (element == null)
             throw new MinimumHeapException("\nadd(element): element must be != null");
 
-        if (this.table.putIfAbsent(element, this.table.size()) != null)
+        if (this.table.containsKey(element))
             throw new MinimumHeapException("\nadd(element): element is already in the MinimumHeap");
 
-        this.array.add(element);
-
-        while ((this.comparator).compare(element, parent(element)) < 0)
-            swap(element, parent(element));
-    }
-
-    /**
-     * @param o1 an element of the {@code MinimumHeap}
-     * @param o2 an element of the {@code MinimumHeap}
-     * @throws MinimumHeapException when {@code o1} or {@code o2} are {@code null}
-     */
-    private T min(T o1, T o2) throws MinimumHeapException {
-        if (o1 == null)
-            throw new MinimumHeapException("\nmin(o1, o2): o1 must be != null");
-
-        if (o2 == null)
-            throw new MinimumHeapException("\nmin(o1, o2): o2 must be != null");
-
-        return (((this.comparator).compare(o1, o2) < 0) ? o1 : o2);
+        this.table.put(element, this.heap.add(element));
     }
 
     /**
-     * Makes the {@code MinimumHeap} the tree with root element the {@code element}
+     * Add all the {@code elements} into the {@code MinimumHeap}, rebuilding the
+     * heap bottom-up in linear time
      * 
-     * @param element where to start {@code heapify}
-     * @throws MinimumHeapException when {@code element} is {@code null}
-     * @see #min(T, T)
-     * @see #swap(T, T)
+     * @param elements to add
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code elements} is {@code null}</li>
+     *                              <li>{@code elements} contains a
+     *                              {@code null} element</li>
+     *                              <li>{@code elements} contains an element
+     *                              already into the {@code MinimumHeap} or
+     *                              twice</li>
+     *                              </ul>
+     *                              in that case the {@code MinimumHeap} is left
+     *                              unchanged
+     * @see IndexedMinimumHeap#addAll(Collection)
      */
-    private void heapify(T element) throws MinimumHeapException {
-        if (element == null)
-            throw new MinimumHeapException("\nheapify(element): element must be != null");
-
-        T m = min(element, min(left(element), right(element)));
-
-        if ((this.comparator).compare(element, m) != 0) {
-            swap(m, element);
-
-            heapify(element);
+    @Override
+    public void addAll(Collection<? extends T> elements) throws MinimumHeapException {
+        if (elements == null)
+            throw new MinimumHeapException("\naddAll(elements): elements must be != null");
+
+        // the handles are known in advance, so the table is filled in one pass
+        int i = 0;
+        for (T element : elements) {
+            String error = null;
+            if (element == null)
+                error = "\naddAll(elements): elements must not contain null";
+            else if (this.table.putIfAbsent(element, this.heap.nextHandle(i)) != ElementIndex.NONE)
+                error = "\naddAll(elements): element " + element + " is already in the MinimumHeap";
+
+            if (error != null) {
+                // undo the mappings added so far
+                for (T added : elements) {
+                    if (i-- == 0)
+                        break;
+                    this.table.remove(added);
+                }
+                throw new MinimumHeapException(error);
+            }
+            i++;
         }
-    }
 
-    /**
-     * @return the root element in the {@code MinimumHeap}
-     */
-    private T root() {
-        return this.array.get(0);
-    }
-
-    /**
-     * @return the last element in the {@code MinimumHeap}
-     */
-    private T last() {
-        return this.array.get(this.array.size() - 1);
+        this.heap.addAll(elements);
     }
 
     /**
@@ -198,16 +201,13 @@ public class MinimumHeap<T> {
      * 
      * @throws MinimumHeapException on an empty {@code MinimumHeap}
      */
+    @Override
     public T remove() throws MinimumHeapException {
-        if (this.array.isEmpty())
+        if (this.heap.size() == 0)
             throw new MinimumHeapException("\nremove(): cannot remove the root element of an empty MinimumHeap");
 
-        swap(root(), last());
-        this.table.remove(last());
-        T removed = this.array.remove(this.array.size() - 1);
-
-        if (this.array.size() > 1)
-            heapify(root());
+        T removed = this.heap.remove();
+        this.table.remove(removed);
 
         return removed;
     }
@@ -225,6 +225,7 @@ public class MinimumHeap<T> {
      *                              {@code MinimumHeap}</li>
      *                              </ul>
      */
+    @Override
     public void decrease(T element, T newElement) throws MinimumHeapException {
         if (element == null)
             throw new MinimumHeapException("\ndecrease(element, newElement): element must be != null");
@@ -232,34 +233,259 @@ public class MinimumHeap<T> {
         if (newElement == null)
             throw new MinimumHeapException("\ndecrease(element, newElement): newElement must be != null");
 
-        if (!this.table.containsKey(element))
+        int handle = this.table.get(element);
+
+        if (handle == ElementIndex.NONE)
             throw new MinimumHeapException(
                     "\ndecrease(element, newElement): cannot decrease an element that is not in the MinimumHeap");
 
-        Integer pos = this.table.get(element);
-        this.table.remove(element);
-        this.table.put(newElement, pos);
-        this.array.set(pos, newElement);
+        // an element updated in place keeps its entry, so no rehashing is needed
+        if (element != newElement) {
+            this.table.remove(element);
+            this.table.put(newElement, handle);
+        }
+
+        this.heap.decrease(handle, newElement);
+    }
+
+    /**
+     * Change the given {@code element} with the given {@code newElement}, which
+     * must not be less than {@code element}
+     * 
+     * @param element    to change
+     * @param newElement to change with
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code element} is {@code null}</li>
+     *                              <li>{@code newElement} is {@code null}</li>
+     *                              <li>{@code element} is NOT into the
+     *                              {@code MinimumHeap}</li>
+     *                              <li>{@code newElement} is less than
+     *                              {@code element}</li>
+     *                              </ul>
+     */
+    public void increase(T element, T newElement) throws MinimumHeapException {
+        if (element == null)
+            throw new MinimumHeapException("\nincrease(element, newElement): element must be != null");
+
+        if (newElement == null)
+            throw new MinimumHeapException("\nincrease(element, newElement): newElement must be != null");
+
+        int handle = this.table.get(element);
+
+        if (handle == ElementIndex.NONE)
+            throw new MinimumHeapException(
+                    "\nincrease(element, newElement): cannot increase an element that is not in the MinimumHeap");
+
+        if (this.heap.comparator().compare(newElement, element) < 0)
+            throw new MinimumHeapException(
+                    "\nincrease(element, newElement): newElement must not be less than element");
+
+        if (element != newElement) {
+            this.table.remove(element);
+            this.table.put(newElement, handle);
+        }
+
+        this.heap.increase(handle, newElement);
+    }
+
+    /**
+     * Remove the given {@code element}, wherever it is into the heap
+     * 
+     * @param element to remove
+     * @throws MinimumHeapException when {@code element} is {@code null} or is
+     *                              NOT into the {@code MinimumHeap}
+     */
+    public void delete(T element) throws MinimumHeapException {
+        if (element == null)
+            throw new MinimumHeapException("\ndelete(element): element must be != null");
+
+        int handle = this.table.remove(element);
+
+        if (handle == ElementIndex.NONE)
+            throw new MinimumHeapException(
+                    "\ndelete(element): cannot delete an element that is not in the MinimumHeap");
+
+        this.heap.delete(handle);
+    }
+
+    /**
+     * @param element to search
+     * @return {@code TRUE} iff {@code element} is into the {@code MinimumHeap},
+     *         {@code FALSE} otherwise, also when it is {@code null}
+     */
+    public boolean contains(T element) {
+        return element != null && this.table.containsKey(element);
+    }
+
+    /**
+     * @return the root element, {@code null} if the {@code MinimumHeap} is
+     *         empty
+     */
+    public T peek() {
+        return this.heap.peek();
+    }
+
+    /**
+     * Iterate over the elements from the smallest, without changing the
+     * {@code MinimumHeap}; the first {@code m} elements cost
+     * {@code O(m log m)} time
+     *
+     * @return an {@code Iterator} that throws
+     *         {@code ConcurrentModificationException} when the
+     *         {@code MinimumHeap} has been changed after its creation
+     * @see IndexedMinimumHeap#sortedIterator()
+     */
+    public Iterator<T> sortedIterator() {
+        return this.heap.sortedIterator();
+    }
+
+    /**
+     * Move all the elements of {@code other} into the {@code MinimumHeap} with a
+     * single {@link #addAll(Collection)}, leaving {@code other} empty
+     * 
+     * @param other queue to meld with
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code other} is {@code null}</li>
+     *                              <li>{@code other} is this
+     *                              {@code MinimumHeap}</li>
+     *                              <li>{@code other} contains an element already
+     *                              into the {@code MinimumHeap}</li>
+     *                              </ul>
+     *                              in that case both queues are left unchanged
+     */
+    @Override
+    public void meld(AddressablePriorityQueue<T> other) throws MinimumHeapException {
+        if (other == null)
+            throw new MinimumHeapException("\nmeld(other): other must be != null");
+
+        if (other == this)
+            throw new MinimumHeapException("\nmeld(other): cannot meld a MinimumHeap with itself");
+
+        if (other instanceof MinimumHeap) {
+            meld((MinimumHeap<T>) other);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> elements = (List<T>) Arrays.asList(other.toArray());
 
-        // move the decremented element towards the root by checking if now is less than
-        // the parent, if so swap the element with his parent, than repeat until end
-        while ((this.comparator).compare(newElement, parent(newElement)) < 0)
-            swap(newElement, parent(newElement));
+        addAll(elements);
+        other.clear();
+    }
+
+    /**
+     * Move all the elements of {@code other} into the {@code MinimumHeap} as a
+     * single batch, leaving {@code other} empty; both heaps must use the same
+     * ordering
+     *
+     * @param other heap to meld with
+     * @throws MinimumHeapException when {@code other} is {@code null} or is this
+     *                              {@code MinimumHeap}, or shares an element
+     *                              with it; in that case both heaps are left
+     *                              unchanged
+     */
+    public void meld(MinimumHeap<T> other) throws MinimumHeapException {
+        if (other == null)
+            throw new MinimumHeapException("\nmeld(other): other must be != null");
+
+        if (other == this)
+            throw new MinimumHeapException("\nmeld(other): cannot meld a MinimumHeap with itself");
+
+        // the elements of other keep their layout order, so their handles are
+        // known in advance as in addAll
+        int count = other.heap.size();
+        for (int i = 0; i < count; i++) {
+            T element = other.heap.elementAt(i);
+
+            if (this.table.putIfAbsent(element, this.heap.nextHandle(i)) != ElementIndex.NONE) {
+                // undo the mappings added so far
+                for (int j = 0; j < i; j++)
+                    this.table.remove(other.heap.elementAt(j));
+                throw new MinimumHeapException("\nmeld(other): element " + element + " is already in the MinimumHeap");
+            }
+        }
 
-        // if the element cannot go towards the root anymore, check if it can go down
-        if ((this.comparator).compare(newElement, parent(newElement)) >= 0)
-            heapify(newElement);
+        this.heap.meld(other.heap);
+        other.table.clear();
+    }
+
+    /**
+     * Remove the {@code n} smallest elements, or all of them if there are fewer
+     *
+     * @param n number of elements to remove
+     * @return the elements removed, from the smallest
+     * @throws MinimumHeapException when {@code n} is negative
+     */
+    public List<T> pollN(int n) throws MinimumHeapException {
+        if (n < 0)
+            throw new MinimumHeapException("\npollN(n): n must be >= 0");
+
+        if (n >= this.heap.size()) {
+            List<T> ris = new ArrayList<>(this.heap.size());
+            drainTo(ris);
+            return ris;
+        }
+
+        List<T> ris = this.heap.pollN(n);
+        for (T removed : ris)
+            this.table.remove(removed);
+
+        return ris;
+    }
+
+    /**
+     * Remove all the elements, adding them to {@code target} from the smallest
+     *
+     * @param target where to add the elements
+     * @return the number of elements added to {@code target}
+     * @throws MinimumHeapException when {@code target} is {@code null}
+     */
+    public int drainTo(Collection<? super T> target) throws MinimumHeapException {
+        if (target == null)
+            throw new MinimumHeapException("\ndrainTo(target): target must be != null");
+
+        int ris = this.heap.drainTo(target);
+        this.table.clear();
+
+        return ris;
+    }
+
+    /**
+     * @return a snapshot of the counters of the {@code MinimumHeap}, all 0
+     *         unless {@link HeapStatistics#ENABLED}
+     */
+    public HeapStatistics getStatistics() {
+        return this.heap.getStatistics();
+    }
+
+    /**
+     * Set all the counters of the {@code MinimumHeap} to 0
+     */
+    public void resetStatistics() {
+        this.heap.resetStatistics();
+    }
+
+    /**
+     * Remove all the elements
+     */
+    @Override
+    public void clear() {
+        this.heap.clear();
+        this.table.clear();
     }
 
     @Override
     public String toString() {
-        return this.array.toString();
+        return this.heap.toString();
     }
 
     /**
      * @return the {@code MinimumHeap} as an array of {@code Object}
      */
+    @Override
     public Object[] toArray() {
-        return array.toArray();
+        return this.heap.toArray();
     }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package minimumheap;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 
 import static org.junit.Assert.*;
 import org.junit.Before;
@@ -242,4 +245,175 @@ public class MinimumHeapTestsInteger {
         Object[] actual = heapInteger.toArray();
         assertArrayEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAddAllTenElRemoveSorted() throws MinimumHeapException {
+        heapInteger.addAll(Arrays.asList(i5, i3, i7, i2, i1, i8, i6, i9, i10, i4));
+        assertEquals(10, heapInteger.size());
+        for (int i = 1; i <= 10; i++)
+            assertEquals(Integer.valueOf(i), heapInteger.remove());
+    }
+
+    @Test
+    public void testAddAllThenDecrease() throws MinimumHeapException {
+        heapInteger.add(i5);
+        heapInteger.addAll(Arrays.asList(i3, i7, i2));
+        heapInteger.decrease(7, 1);
+        assertEquals(Integer.valueOf(1), heapInteger.remove());
+        assertEquals(Integer.valueOf(2), heapInteger.remove());
+    }
+
+    @Test
+    public void testAddAllDuplicateLeavesHeapUnchanged() throws MinimumHeapException {
+        heapInteger.add(i2);
+        try {
+            heapInteger.addAll(Arrays.asList(i3, i1, i2));
+            fail();
+        } catch (MinimumHeapException e) {
+            Object[] expected = { 2 };
+            assertArrayEquals(expected, heapInteger.toArray());
+        }
+        heapInteger.add(i3);
+        heapInteger.add(i1);
+        assertEquals(3, heapInteger.size());
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testAddAllNullElement() throws MinimumHeapException {
+        heapInteger.addAll(Arrays.asList(i1, null));
+    }
+
+    @Test
+    public void testFourAryFindLeftAndRightOfOne() throws MinimumHeapException {
+        heapInteger = new MinimumHeap<>(new CompareInteger(), 4);
+        heapInteger.add(i5);
+        heapInteger.add(i3);
+        heapInteger.add(i7);
+        heapInteger.add(i2);
+        heapInteger.add(i1);
+        heapInteger.add(i8);
+        heapInteger.add(i6);
+        assertEquals(i5, heapInteger.left(i1));
+        assertEquals(i2, heapInteger.right(i1));
+        assertEquals(i5, heapInteger.parent(i6));
+    }
+
+    @Test
+    public void testMeldMinimumHeap() throws MinimumHeapException {
+        MinimumHeap<Integer> other = new MinimumHeap<>(new CompareInteger());
+        other.addAll(Arrays.asList(i4, i1, i6));
+        heapInteger.addAll(Arrays.asList(i5, i3, i2));
+        heapInteger.meld(other);
+        assertEquals(0, other.size());
+        heapInteger.decrease(6, 0);
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), heapInteger.pollN(6));
+        other.add(i6);
+        assertEquals(1, other.size());
+    }
+
+    @Test
+    public void testMeldDuplicateLeavesHeapsUnchanged() throws MinimumHeapException {
+        MinimumHeap<Integer> other = new MinimumHeap<>(new CompareInteger());
+        other.addAll(Arrays.asList(i4, i1, i2));
+        heapInteger.addAll(Arrays.asList(i5, i2));
+        try {
+            heapInteger.meld(other);
+            fail();
+        } catch (MinimumHeapException e) {
+            assertEquals(2, heapInteger.size());
+            assertEquals(3, other.size());
+        }
+        heapInteger.add(i4);
+        heapInteger.add(i1);
+        assertEquals(4, heapInteger.size());
+    }
+
+    @Test
+    public void testPollNThenDecrease() throws MinimumHeapException {
+        heapInteger.addAll(Arrays.asList(i5, i3, i7, i2, i1, i8, i6, i9, i10, i4));
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), heapInteger.pollN(5));
+        heapInteger.add(i1);
+        heapInteger.decrease(10, 0);
+        assertEquals(Integer.valueOf(0), heapInteger.remove());
+        assertEquals(Integer.valueOf(1), heapInteger.remove());
+        assertEquals(4, heapInteger.size());
+    }
+
+    @Test
+    public void testDrainToThenAdd() throws MinimumHeapException {
+        heapInteger.addAll(Arrays.asList(i3, i1, i2));
+        List<Integer> target = new ArrayList<>();
+        assertEquals(3, heapInteger.drainTo(target));
+        assertEquals(Arrays.asList(1, 2, 3), target);
+        heapInteger.add(i1);
+        assertEquals(1, heapInteger.size());
+    }
+
+    @Test
+    public void testDeleteInnerElement() throws MinimumHeapException {
+        heapInteger.addAll(Arrays.asList(i5, i3, i7, i2, i1, i8, i6, i9, i10, i4));
+        heapInteger.delete(i3);
+        assertFalse(heapInteger.contains(i3));
+        assertEquals(9, heapInteger.size());
+        for (int i : new int[] { 1, 2, 4, 5, 6, 7, 8, 9, 10 })
+            assertEquals(Integer.valueOf(i), heapInteger.remove());
+    }
+
+    @Test
+    public void testDeleteLastThenAdd() throws MinimumHeapException {
+        heapInteger.add(i1);
+        heapInteger.add(i2);
+        heapInteger.delete(i2);
+        heapInteger.add(i3);
+        Object[] expected = { 1, 3 };
+        assertArrayEquals(expected, heapInteger.toArray());
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testDeleteMissing() throws MinimumHeapException {
+        heapInteger.add(i1);
+        heapInteger.delete(i2);
+    }
+
+    @Test
+    public void testIncreaseRoot() throws MinimumHeapException {
+        heapInteger.addAll(Arrays.asList(i5, i3, i7, i2, i1));
+        heapInteger.increase(i1, 6);
+        assertEquals(i2, heapInteger.peek());
+        assertTrue(heapInteger.contains(6));
+        assertFalse(heapInteger.contains(i1));
+        for (int i : new int[] { 2, 3, 5, 6, 7 })
+            assertEquals(Integer.valueOf(i), heapInteger.remove());
+    }
+
+    @Test
+    public void testIncreaseToSmallerLeavesHeapUnchanged() throws MinimumHeapException {
+        heapInteger.addAll(Arrays.asList(i5, i3, i7));
+        try {
+            heapInteger.increase(i5, 1);
+            fail();
+        } catch (MinimumHeapException e) {
+            assertTrue(heapInteger.contains(i5));
+            assertFalse(heapInteger.contains(1));
+        }
+        for (int i : new int[] { 3, 5, 7 })
+            assertEquals(Integer.valueOf(i), heapInteger.remove());
+    }
+
+    @Test
+    public void testPeekAndContainsDoNotThrow() {
+        assertNull(heapInteger.peek());
+        assertFalse(heapInteger.contains(null));
+        assertFalse(heapInteger.contains(i1));
+    }
+
+    @Test
+    public void testSortedIterator() throws MinimumHeapException {
+        heapInteger.addAll(Arrays.asList(i7, i3, i9, i1, i5));
+        List<Integer> sorted = new ArrayList<>();
+        heapInteger.sortedIterator().forEachRemaining(sorted::add);
+        assertEquals(Arrays.asList(1, 3, 5, 7, 9), sorted);
+        assertEquals(5, heapInteger.size());
+        assertEquals(i1, heapInteger.remove());
+    }
+}
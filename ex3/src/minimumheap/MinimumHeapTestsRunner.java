@@ -6,7 +6,19 @@ import org.junit.runner.notification.Failure;
 
 public class MinimumHeapTestsRunner {
     public static void main(String[] args) {
-        Result result = JUnitCore.runClasses(MinimumHeapTestsInteger.class);
+        Result result = JUnitCore.runClasses(MinimumHeapTestsInteger.class,
+                IndexedMinimumHeapTestsInteger.class,
+                AddressablePriorityQueueTestsInteger.class,
+                DoubleKeyedMinimumHeapTests.class,
+                IdMinimumHeapTests.class,
+                ConcurrentMultiQueueTestsInteger.class,
+                MonotonePriorityQueueTestsInteger.class,
+                OffHeapMinimumHeapTests.class,
+                HeapStatisticsTests.class,
+                TopKSelectorTests.class,
+                ExternalSorterTests.class,
+                TimingWheelSchedulerTests.class,
+                HeapSortTests.class);
         for (Failure failure : result.getFailures()) {
             System.out.println(failure.toString());
         }
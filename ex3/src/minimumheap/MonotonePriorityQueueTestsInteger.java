@@ -0,0 +1,187 @@
+package minimumheap;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class MonotonePriorityQueueTestsInteger {
+
+    interface QueueFactory {
+        AddressablePriorityQueue<Integer> create() throws MinimumHeapException;
+    }
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> queues() {
+        QueueFactory radixHeap = () -> new RadixHeap<>(Integer::longValue);
+        QueueFactory bucketQueue = () -> new BucketQueue<>(Integer::longValue, 4);
+
+        return Arrays.asList(new Object[][] {
+                { "RadixHeap", radixHeap },
+                { "BucketQueue", bucketQueue } });
+    }
+
+    private QueueFactory factory;
+    private AddressablePriorityQueue<Integer> queue;
+
+    public MonotonePriorityQueueTestsInteger(String name, QueueFactory factory) {
+        this.factory = factory;
+    }
+
+    @Before
+    public void createQueue() throws MinimumHeapException {
+        queue = factory.create();
+    }
+
+    private void addAll(AddressablePriorityQueue<Integer> q, int... values) throws MinimumHeapException {
+        for (int v : values)
+            q.add(v);
+    }
+
+    @Test
+    public void testSizeEmpty() {
+        assertEquals(0, queue.size());
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testAddNull() throws MinimumHeapException {
+        queue.add(null);
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testAddTwice() throws MinimumHeapException {
+        addAll(queue, 1, 1);
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testAddNegativeKey() throws MinimumHeapException {
+        queue.add(-1);
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testRemoveFromEmpty() throws MinimumHeapException {
+        queue.remove();
+    }
+
+    @Test
+    public void testAddTenElRemoveSorted() throws MinimumHeapException {
+        addAll(queue, 5, 3, 7, 2, 1, 8, 6, 9, 10, 4);
+        for (int i = 1; i <= 10; i++)
+            assertEquals(Integer.valueOf(i), queue.remove());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testFarKeysRemoveSorted() throws MinimumHeapException {
+        addAll(queue, 1000, 3, 1 << 20, 40, Integer.MAX_VALUE, 41);
+        int[] expected = { 3, 40, 41, 1000, 1 << 20, Integer.MAX_VALUE };
+        for (int e : expected)
+            assertEquals(Integer.valueOf(e), queue.remove());
+    }
+
+    @Test
+    public void testDecreaseAfterRemove() throws MinimumHeapException {
+        addAll(queue, 5, 3, 7, 2, 1, 8, 6, 9, 10, 40);
+        queue.remove();
+        queue.decrease(40, 4);
+        queue.decrease(9, 1);
+        assertEquals(Integer.valueOf(1), queue.remove());
+        assertEquals(Integer.valueOf(2), queue.remove());
+        assertEquals(Integer.valueOf(3), queue.remove());
+        assertEquals(Integer.valueOf(4), queue.remove());
+        assertEquals(5, queue.size());
+    }
+
+    @Test
+    public void testAddAfterRemoveKeepsOrder() throws MinimumHeapException {
+        addAll(queue, 10, 20);
+        assertEquals(Integer.valueOf(10), queue.remove());
+        addAll(queue, 12, 11, 30);
+        for (int e : new int[] { 11, 12, 20, 30 })
+            assertEquals(Integer.valueOf(e), queue.remove());
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testDecreaseBelowLastRemoved() throws MinimumHeapException {
+        addAll(queue, 5, 3, 7);
+        queue.remove();
+        queue.decrease(7, 2);
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testDecreaseMissing() throws MinimumHeapException {
+        addAll(queue, 1, 2, 3);
+        queue.decrease(10, 0);
+    }
+
+    @Test
+    public void testMeldOtherType() throws MinimumHeapException {
+        AddressablePriorityQueue<Integer> other = new PairingHeap<>(Integer::compare);
+        addAll(queue, 3, 1);
+        addAll(other, 4, 2);
+        queue.meld(other);
+        assertEquals(0, other.size());
+        for (int i = 1; i <= 4; i++)
+            assertEquals(Integer.valueOf(i), queue.remove());
+    }
+
+    @Test
+    public void testMeldKeyBelowLastRemovedLeavesQueuesUnchanged() throws MinimumHeapException {
+        AddressablePriorityQueue<Integer> other = factory.create();
+        addAll(queue, 5, 6);
+        queue.remove();
+        addAll(other, 7, 1);
+        try {
+            queue.meld(other);
+            fail();
+        } catch (MinimumHeapException e) {
+            assertEquals(1, queue.size());
+            assertEquals(2, other.size());
+        }
+    }
+
+    @Test
+    public void testClearThenAddSmallerKeys() throws MinimumHeapException {
+        addAll(queue, 50, 60);
+        queue.remove();
+        queue.clear();
+        addAll(queue, 2, 1);
+        assertEquals(Integer.valueOf(1), queue.remove());
+        assertEquals(Integer.valueOf(2), queue.remove());
+    }
+
+    @Test(timeout = 5000)
+    public void testPathWithFarKeysIsLinear() throws MinimumHeapException {
+        // Dijkstra on a path of weight 3: every vertex waits with a far key
+        // until it is reached, then is decreased within the range of the queue
+        final int n = 200000;
+        for (int i = 1; i < n; i++)
+            queue.add(Integer.MAX_VALUE - i);
+        queue.add(0);
+
+        for (int i = 1; i < n; i++) {
+            int key = queue.remove();
+            assertEquals(3 * (i - 1), key);
+            queue.decrease(Integer.MAX_VALUE - i, key + 3);
+        }
+        assertEquals(Integer.valueOf(3 * (n - 1)), queue.remove());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testFarKeyReachedBySlidingWindow() throws MinimumHeapException {
+        addAll(queue, 1, 6);
+        assertEquals(Integer.valueOf(1), queue.remove());
+        addAll(queue, 4);
+        assertEquals(Integer.valueOf(4), queue.remove());
+        addAll(queue, 7);
+        for (int e : new int[] { 6, 7 })
+            assertEquals(Integer.valueOf(e), queue.remove());
+    }
+}
@@ -0,0 +1,304 @@
+package minimumheap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Class used to manage a {@code Minimum Heap} of {@code long} payloads ordered
+ * by a primitive {@code double} key, stored outside of the Java heap.
+ * <p>
+ * Every entry takes 16 bytes (the key, then the payload) into direct
+ * {@code ByteBuffer} chunks of the same size, allocated only when the heap
+ * grows, so the size is bounded by the memory of the machine instead of the
+ * Java heap and the garbage collector never scans the entries. The payload is
+ * usually the index of an element kept elsewhere, e.g. the id of a vertex.
+ * <p>
+ * {@link #close()} drops the chunks and every operation throws
+ * {@link MinimumHeapException} after it; their memory is released by the
+ * cleaner of the buffers once the collector finds them unreachable.
+ */
+public class OffHeapMinimumHeap implements AutoCloseable {
+
+    private static final int ENTRY_BYTES = 16;
+    private static final int PAYLOAD_OFFSET = 8;
+    private static final int DEFAULT_ARITY = 4;
+    private static final int DEFAULT_CHUNK_ENTRIES = 1 << 16; // 1 MB chunks
+
+    private ByteBuffer[] chunks = null;
+    private int chunkCount = 0; // number of chunks allocated
+    private final int chunkShift;
+    private final long chunkMask;
+    private final int arity;
+    private long size = 0;
+    private boolean closed = false;
+
+    /**
+     * Init a {@code 4-ary} {@code OffHeapMinimumHeap} with 1 MB chunks
+     */
+    public OffHeapMinimumHeap() {
+        this.arity = DEFAULT_ARITY;
+        this.chunkShift = Integer.numberOfTrailingZeros(DEFAULT_CHUNK_ENTRIES);
+        this.chunkMask = DEFAULT_CHUNK_ENTRIES - 1;
+        this.chunks = new ByteBuffer[1];
+    }
+
+    /**
+     * @param arity        number of children of each node
+     * @param chunkEntries number of entries of each chunk, a power of 2 of at
+     *                     most {@code 2^26} (1 GB chunks)
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code arity} is less than 2</li>
+     *                              <li>{@code chunkEntries} is not a power of 2
+     *                              or is too large</li>
+     *                              </ul>
+     */
+    public OffHeapMinimumHeap(int arity, int chunkEntries) throws MinimumHeapException {
+        if (arity < 2)
+            throw new MinimumHeapException("\nOffHeapMinimumHeap(arity, chunkEntries): arity must be >= 2");
+
+        if (chunkEntries < 1 || Integer.bitCount(chunkEntries) != 1 || chunkEntries > (1 << 26))
+            throw new MinimumHeapException(
+                    "\nOffHeapMinimumHeap(arity, chunkEntries): chunkEntries must be a power of 2 <= 2^26");
+
+        this.arity = arity;
+        this.chunkShift = Integer.numberOfTrailingZeros(chunkEntries);
+        this.chunkMask = chunkEntries - 1;
+        this.chunks = new ByteBuffer[1];
+    }
+
+    /**
+     * @return the size of the {@code OffHeapMinimumHeap}
+     */
+    public long size() {
+        return this.size;
+    }
+
+    /**
+     * @return the number of bytes allocated outside of the Java heap
+     */
+    public long allocatedBytes() {
+        return (long) this.chunkCount * ((this.chunkMask + 1) * ENTRY_BYTES);
+    }
+
+    /**
+     * @return the key of the root entry
+     * @throws MinimumHeapException on an empty or closed
+     *                              {@code OffHeapMinimumHeap}
+     */
+    public double minKey() throws MinimumHeapException {
+        checkOpen("\nminKey()");
+
+        if (this.size == 0)
+            throw new MinimumHeapException("\nminKey(): the OffHeapMinimumHeap is empty");
+
+        return key(0);
+    }
+
+    /**
+     * @return the payload of the root entry
+     * @throws MinimumHeapException on an empty or closed
+     *                              {@code OffHeapMinimumHeap}
+     */
+    public long minPayload() throws MinimumHeapException {
+        checkOpen("\nminPayload()");
+
+        if (this.size == 0)
+            throw new MinimumHeapException("\nminPayload(): the OffHeapMinimumHeap is empty");
+
+        return payload(0);
+    }
+
+    /**
+     * Add an entry; the same payload may be added more than once
+     *
+     * @param key     of the entry
+     * @param payload of the entry
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code key} is {@code NaN}</li>
+     *                              <li>the {@code OffHeapMinimumHeap} is
+     *                              closed</li>
+     *                              </ul>
+     */
+    public void add(double key, long payload) throws MinimumHeapException {
+        checkOpen("\nadd(key, payload)");
+
+        if (Double.isNaN(key))
+            throw new MinimumHeapException("\nadd(key, payload): key must be a number");
+
+        ensureCapacity(this.size + 1);
+
+        // the new entry goes up from the first free position
+        long position = this.size;
+        this.size++;
+        while (position > 0) {
+            long parent = (position - 1) / this.arity;
+
+            if (key >= key(parent))
+                break;
+
+            move(parent, position);
+            position = parent;
+        }
+
+        put(position, key, payload);
+    }
+
+    /**
+     * Remove the root entry, then rebuild the {@code OffHeapMinimumHeap}
+     *
+     * @return the payload of the entry removed
+     * @throws MinimumHeapException on an empty or closed
+     *                              {@code OffHeapMinimumHeap}
+     */
+    public long remove() throws MinimumHeapException {
+        checkOpen("\nremove()");
+
+        if (this.size == 0)
+            throw new MinimumHeapException(
+                    "\nremove(): cannot remove the root element of an empty OffHeapMinimumHeap");
+
+        long removed = payload(0);
+
+        this.size--;
+        if (this.size > 0)
+            siftDown(key(this.size), payload(this.size));
+
+        return removed;
+    }
+
+    /**
+     * Remove all the entries, keeping only the first chunk
+     *
+     * @throws MinimumHeapException on a closed {@code OffHeapMinimumHeap}
+     */
+    public void clear() throws MinimumHeapException {
+        checkOpen("\nclear()");
+
+        release(1);
+        this.size = 0;
+    }
+
+    /**
+     * Drop the memory of the {@code OffHeapMinimumHeap}, released by the
+     * collector; calling it again has no effect
+     */
+    @Override
+    public void close() {
+        if (this.closed)
+            return;
+
+        release(0);
+        this.chunks = null;
+        this.size = 0;
+        this.closed = true;
+    }
+
+    @Override
+    public String toString() {
+        if (this.closed)
+            return "[closed]";
+
+        StringBuilder ris = new StringBuilder("[");
+        for (long i = 0; i < this.size; i++) {
+            if (i > 0)
+                ris.append(", ");
+            ris.append(payload(i)).append('=').append(key(i));
+        }
+        return ris.append(']').toString();
+    }
+
+    private void checkOpen(String method) throws MinimumHeapException {
+        if (this.closed)
+            throw new MinimumHeapException(method + ": the OffHeapMinimumHeap is closed");
+    }
+
+    /**
+     * Put the given entry into the hole at the root, moving it towards the
+     * leaves while the key of one of its children is less than its key
+     */
+    private void siftDown(double key, long payload) {
+        long position = 0;
+
+        while (true) {
+            long first = (this.arity * position) + 1;
+
+            if (first >= this.size)
+                break;
+
+            // on equal children the last one is preferred
+            long last = Math.min(first + this.arity, this.size);
+            long min = first;
+            double minKey = key(first);
+            for (long child = first + 1; child < last; child++) {
+                double childKey = key(child);
+                if (childKey <= minKey) {
+                    min = child;
+                    minKey = childKey;
+                }
+            }
+
+            if (minKey >= key)
+                break;
+
+            move(min, position);
+            position = min;
+        }
+
+        put(position, key, payload);
+    }
+
+    private ByteBuffer chunk(long position) {
+        return this.chunks[(int) (position >>> this.chunkShift)];
+    }
+
+    private int index(long position) {
+        return (int) (position & this.chunkMask) * ENTRY_BYTES;
+    }
+
+    private double key(long position) {
+        return chunk(position).getDouble(index(position));
+    }
+
+    private long payload(long position) {
+        return chunk(position).getLong(index(position) + PAYLOAD_OFFSET);
+    }
+
+    private void put(long position, double key, long payload) {
+        ByteBuffer chunk = chunk(position);
+        int index = index(position);
+
+        chunk.putDouble(index, key);
+        chunk.putLong(index + PAYLOAD_OFFSET, payload);
+    }
+
+    private void move(long from, long to) {
+        put(to, key(from), payload(from));
+    }
+
+    private void ensureCapacity(long required) {
+        long needed = (required + this.chunkMask) >>> this.chunkShift;
+
+        while (this.chunkCount < needed) {
+            if (this.chunkCount == this.chunks.length)
+                this.chunks = Arrays.copyOf(this.chunks, this.chunks.length * 2);
+
+            this.chunks[this.chunkCount++] = ByteBuffer
+                    .allocateDirect((int) ((this.chunkMask + 1) * ENTRY_BYTES))
+                    .order(ByteOrder.nativeOrder());
+        }
+    }
+
+    /**
+     * Drop the chunks after the first {@code keep} ones, leaving them to the
+     * cleaner of the buffers
+     */
+    private void release(int keep) {
+        while (this.chunkCount > keep) {
+            this.chunkCount--;
+            this.chunks[this.chunkCount] = null;
+        }
+    }
+}
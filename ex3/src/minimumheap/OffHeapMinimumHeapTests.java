@@ -0,0 +1,96 @@
+package minimumheap;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OffHeapMinimumHeapTests {
+
+    private OffHeapMinimumHeap heap;
+
+    @Before
+    public void createOffHeapMinimumHeap() throws MinimumHeapException {
+        // small chunks, so that a few entries already span several of them
+        heap = new OffHeapMinimumHeap(4, 4);
+    }
+
+    @After
+    public void closeOffHeapMinimumHeap() {
+        heap.close();
+    }
+
+    @Test
+    public void testSizeEmpty() {
+        assertEquals(0, heap.size());
+        assertEquals(0, heap.allocatedBytes());
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testAddNaN() throws MinimumHeapException {
+        heap.add(Double.NaN, 1);
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testRemoveFromEmpty() throws MinimumHeapException {
+        heap.remove();
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testChunkEntriesNotPowerOfTwo() throws MinimumHeapException {
+        new OffHeapMinimumHeap(2, 6);
+    }
+
+    @Test
+    public void testRemoveOrderedByKey() throws MinimumHeapException {
+        heap.add(3.5, 3);
+        heap.add(-1, 1);
+        heap.add(Double.POSITIVE_INFINITY, 4);
+        heap.add(2, 2);
+        assertEquals(-1, heap.minKey(), 0);
+        assertEquals(1, heap.minPayload());
+        for (long i = 1; i <= 4; i++)
+            assertEquals(i, heap.remove());
+        assertEquals(0, heap.size());
+    }
+
+    @Test
+    public void testManyEntriesAcrossChunks() throws MinimumHeapException {
+        Random random = new Random(7);
+        for (int i = 0; i < 1000; i++) {
+            long value = random.nextInt(100000);
+            heap.add(value, value * 10);
+        }
+        assertEquals(1000, heap.size());
+        assertEquals(250 * 4 * 16, heap.allocatedBytes());
+
+        double previous = Double.NEGATIVE_INFINITY;
+        while (heap.size() > 0) {
+            double key = heap.minKey();
+            assertTrue(key >= previous);
+            assertEquals((long) key * 10, heap.remove());
+            previous = key;
+        }
+    }
+
+    @Test
+    public void testClearKeepsFirstChunk() throws MinimumHeapException {
+        for (int i = 10; i > 0; i--)
+            heap.add(i, i);
+        heap.clear();
+        assertEquals(0, heap.size());
+        assertEquals(4 * 16, heap.allocatedBytes());
+        heap.add(5, 5);
+        assertEquals(5, heap.remove());
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testAddAfterClose() throws MinimumHeapException {
+        heap.add(1, 1);
+        heap.close();
+        heap.close();
+        heap.add(2, 2);
+    }
+}
@@ -0,0 +1,299 @@
+package minimumheap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+
+/**
+ * Class used to manage a {@code Pairing Heap} of {@code Generic Type}.
+ * <p>
+ * {@link #add(Object)}, {@link #meld(AddressablePriorityQueue)} of another
+ * {@code PairingHeap} and {@link #decrease(Object, Object)} link two trees in
+ * constant time; {@link #remove()} pairs the children of the root in two
+ * passes, in {@code O(log n)} amortized time.
+ */
+public class PairingHeap<T> implements AddressablePriorityQueue<T> {
+
+    private static class Node<T> {
+        private T element = null;
+        private Node<T> child = null; // leftmost child
+        private Node<T> next = null; // right sibling
+        private Node<T> prev = null; // left sibling, or parent for the leftmost child
+
+        private Node(T element) {
+            this.element = element;
+        }
+    }
+
+    private Node<T> root = null;
+    private HashMap<T, Node<T>> nodes = null;
+    private Comparator<? super T> comparator = null;
+
+    /**
+     * @param comparator used to compare two {@code Generic Type} elements
+     * @throws MinimumHeapException when {@code comparator} is {@code null}
+     */
+    public PairingHeap(Comparator<? super T> comparator) throws MinimumHeapException {
+        if (comparator == null)
+            throw new MinimumHeapException("\nPairingHeap(comparator): comparator must be != null");
+
+        this.comparator = comparator;
+        this.nodes = new HashMap<>();
+    }
+
+    @Override
+    public int size() {
+        return this.nodes.size();
+    }
+
+    @Override
+    public void add(T element) throws MinimumHeapException {
+        if (element == null)
+            throw new MinimumHeapException("\nadd(element): element must be != null");
+
+        Node<T> node = new Node<>(element);
+
+        if (this.nodes.putIfAbsent(element, node) != null)
+            throw new MinimumHeapException("\nadd(element): element is already in the PairingHeap");
+
+        this.root = link(this.root, node);
+    }
+
+    @Override
+    public T remove() throws MinimumHeapException {
+        if (this.root == null)
+            throw new MinimumHeapException("\nremove(): cannot remove the root element of an empty PairingHeap");
+
+        Node<T> removed = this.root;
+        this.nodes.remove(removed.element);
+
+        this.root = pair(removed.child);
+        if (this.root != null)
+            this.root.prev = null;
+
+        return removed.element;
+    }
+
+    /**
+     * Change {@code element} with {@code newElement}; a greater
+     * {@code newElement} is taken out of the tree with its children, which are
+     * paired, and linked back to the root alone
+     */
+    @Override
+    public void decrease(T element, T newElement) throws MinimumHeapException {
+        if (element == null)
+            throw new MinimumHeapException("\ndecrease(element, newElement): element must be != null");
+
+        if (newElement == null)
+            throw new MinimumHeapException("\ndecrease(element, newElement): newElement must be != null");
+
+        Node<T> node = this.nodes.get(element);
+
+        if (node == null)
+            throw new MinimumHeapException(
+                    "\ndecrease(element, newElement): cannot decrease an element that is not in the PairingHeap");
+
+        // an element changed in place is greater iff one of its children is less
+        boolean increased = (element != newElement) ? this.comparator.compare(newElement, element) > 0
+                : hasLessChild(node);
+
+        if (element != newElement) {
+            this.nodes.remove(element);
+            this.nodes.put(newElement, node);
+        }
+        node.element = newElement;
+
+        if (increased) {
+            // the children may be less than the node, link them without it
+            Node<T> children = pair(node.child);
+            node.child = null;
+
+            if (node == this.root) {
+                this.root = children;
+            } else {
+                cut(node);
+                this.root = link(this.root, children);
+            }
+            this.root = link(this.root, node);
+            return;
+        }
+
+        if (node == this.root)
+            return;
+
+        // cut the subtree of the node and link it back to the root
+        cut(node);
+        this.root = link(this.root, node);
+    }
+
+    /**
+     * Move all the elements of {@code other} into the {@code PairingHeap}; when
+     * {@code other} is a {@code PairingHeap} the two roots are linked, otherwise
+     * its elements are added one by one
+     *
+     * @param other queue to meld with
+     * @throws MinimumHeapException when {@code other} is {@code null} or is this
+     *                              {@code PairingHeap}, or shares an element
+     *                              with it; in that case both queues are left
+     *                              unchanged
+     */
+    @Override
+    public void meld(AddressablePriorityQueue<T> other) throws MinimumHeapException {
+        if (other == null)
+            throw new MinimumHeapException("\nmeld(other): other must be != null");
+
+        if (other == this)
+            throw new MinimumHeapException("\nmeld(other): cannot meld a PairingHeap with itself");
+
+        if (!(other instanceof PairingHeap)) {
+            @SuppressWarnings("unchecked")
+            T[] elements = (T[]) other.toArray();
+
+            for (T element : elements) {
+                if (element == null || this.nodes.containsKey(element))
+                    throw new MinimumHeapException("\nmeld(other): element " + element
+                            + " is already in the PairingHeap");
+            }
+            for (T element : elements)
+                add(element);
+
+            other.clear();
+            return;
+        }
+
+        PairingHeap<T> heap = (PairingHeap<T>) other;
+
+        // merge the smaller table into the larger one
+        HashMap<T, Node<T>> larger = (this.nodes.size() >= heap.nodes.size()) ? this.nodes : heap.nodes;
+        HashMap<T, Node<T>> smaller = (larger == this.nodes) ? heap.nodes : this.nodes;
+        for (T element : smaller.keySet()) {
+            if (larger.containsKey(element))
+                throw new MinimumHeapException("\nmeld(other): element " + element + " is already in the PairingHeap");
+        }
+        larger.putAll(smaller);
+
+        this.nodes = larger;
+        this.root = link(this.root, heap.root);
+
+        heap.nodes = new HashMap<>();
+        heap.root = null;
+    }
+
+    @Override
+    public void clear() {
+        this.root = null;
+        this.nodes.clear();
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] ris = new Object[this.nodes.size()];
+        int i = 0;
+        for (Node<T> node : this.nodes.values())
+            ris[i++] = node.element;
+        return ris;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    /**
+     * Make the greater root the leftmost child of the other one
+     *
+     * @return the root of the linked tree
+     */
+    private Node<T> link(Node<T> a, Node<T> b) {
+        if (a == null)
+            return b;
+
+        if (b == null)
+            return a;
+
+        if (this.comparator.compare(b.element, a.element) < 0) {
+            Node<T> tmp = a;
+            a = b;
+            b = tmp;
+        }
+
+        b.next = a.child;
+        if (a.child != null)
+            a.child.prev = b;
+        b.prev = a;
+        a.child = b;
+        a.next = null;
+
+        return a;
+    }
+
+    /**
+     * @return {@code TRUE} iff a child of {@code node} is less than it
+     */
+    private boolean hasLessChild(Node<T> node) {
+        for (Node<T> child = node.child; child != null; child = child.next) {
+            if (this.comparator.compare(child.element, node.element) < 0)
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Detach the subtree of {@code node} from its parent and siblings
+     */
+    private void cut(Node<T> node) {
+        if (node.prev.child == node)
+            node.prev.child = node.next;
+        else
+            node.prev.next = node.next;
+
+        if (node.next != null)
+            node.next.prev = node.prev;
+
+        node.prev = null;
+        node.next = null;
+    }
+
+    /**
+     * Link the siblings starting from {@code first} in pairs from left to right,
+     * then link the resulting trees from right to left
+     *
+     * @return the root of the resulting tree
+     */
+    private Node<T> pair(Node<T> first) {
+        if (first == null)
+            return null;
+
+        // the trees of the first pass are stacked through their next field
+        Node<T> stack = null;
+        while (first != null) {
+            Node<T> a = first;
+            Node<T> b = a.next;
+            first = (b == null) ? null : b.next;
+
+            a.next = null;
+            a.prev = null;
+            if (b != null) {
+                b.next = null;
+                b.prev = null;
+            }
+
+            Node<T> tree = link(a, b);
+            tree.next = stack;
+            stack = tree;
+        }
+
+        Node<T> ris = stack;
+        stack = stack.next;
+        ris.next = null;
+        while (stack != null) {
+            Node<T> tree = stack;
+            stack = stack.next;
+            tree.next = null;
+            ris = link(tree, ris);
+        }
+
+        return ris;
+    }
+}
@@ -0,0 +1,101 @@
+package minimumheap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Small binary heap of positions of an {@link IndexedMinimumHeap}, ordered by
+ * the elements at those positions. Starting from the root and pushing the
+ * children of every position popped, the positions come out in the order of
+ * their elements, without changing the {@code IndexedMinimumHeap}.
+ */
+class PositionFrontier<T> {
+
+    private final IndexedMinimumHeap<T> source;
+    private final Comparator<? super T> comparator;
+    private int[] positions = null;
+    private int size = 0;
+
+    /**
+     * @param source   heap whose positions are visited
+     * @param capacity initial number of positions
+     */
+    PositionFrontier(IndexedMinimumHeap<T> source, int capacity) {
+        this.source = source;
+        this.comparator = source.comparator();
+        this.positions = new int[Math.max(capacity, 1)];
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Push the root of {@code source}, if any
+     */
+    void start() {
+        this.size = 0;
+        if (this.source.size() > 0)
+            push(0);
+    }
+
+    /**
+     * Pop the position of the smallest element, then push its children
+     *
+     * @return the position popped
+     */
+    int next() {
+        int ris = this.positions[0];
+
+        this.size--;
+        if (this.size > 0) {
+            this.positions[0] = this.positions[this.size];
+            siftDown(0);
+        }
+
+        int first = this.source.firstChild(ris);
+        int last = Math.min(first + this.source.arity(), this.source.size());
+        for (int child = first; child < last; child++)
+            push(child);
+
+        return ris;
+    }
+
+    private void push(int position) {
+        if (this.size == this.positions.length)
+            this.positions = Arrays.copyOf(this.positions, this.size * 2);
+
+        int i = this.size++;
+        T element = this.source.elementAt(position);
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (this.comparator.compare(element, this.source.elementAt(this.positions[parent])) >= 0)
+                break;
+            this.positions[i] = this.positions[parent];
+            i = parent;
+        }
+        this.positions[i] = position;
+    }
+
+    private void siftDown(int i) {
+        int position = this.positions[i];
+        T element = this.source.elementAt(position);
+
+        while (true) {
+            int child = (2 * i) + 1;
+            if (child >= this.size)
+                break;
+
+            if (child + 1 < this.size && this.comparator.compare(this.source.elementAt(this.positions[child + 1]),
+                    this.source.elementAt(this.positions[child])) < 0)
+                child++;
+
+            if (this.comparator.compare(this.source.elementAt(this.positions[child]), element) >= 0)
+                break;
+
+            this.positions[i] = this.positions[child];
+            i = child;
+        }
+        this.positions[i] = position;
+    }
+}
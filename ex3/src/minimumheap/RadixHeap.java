@@ -0,0 +1,268 @@
+package minimumheap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Class used to manage a {@code Radix Heap} of {@code Generic Type}, a
+ * monotone priority queue with non-negative {@code long} keys.
+ * <p>
+ * The key of an element is read once from the given {@code ToLongFunction}
+ * when it is added or decreased, and cached. An element is kept into the
+ * bucket given by the highest bit where its key differs from the last key
+ * removed; {@link #remove()} redistributes only the first non-empty bucket,
+ * whose elements always move to lower buckets, so every element is moved at
+ * most 64 times: {@link #add(Object)} and {@link #decrease(Object, Object)}
+ * run in constant time and {@link #remove()} in amortized constant time.
+ * <p>
+ * The queue is monotone: no key may be less than the last key removed, as it
+ * happens running Dijkstra with non-negative weights. Distances can be
+ * quantized into keys with any non-decreasing function.
+ */
+public class RadixHeap<T> implements AddressablePriorityQueue<T> {
+
+    private static final int BUCKETS = 64;
+
+    private static class Node<T> {
+        private T element = null;
+        private long key = 0;
+        private int bucket = 0;
+        private Node<T> prev = null;
+        private Node<T> next = null;
+
+        private Node(T element, long key) {
+            this.element = element;
+            this.key = key;
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Node<T>[] buckets = (Node<T>[]) new Node[BUCKETS];
+    private HashMap<T, Node<T>> nodes = null;
+    private ToLongFunction<? super T> key = null;
+    private long last = 0; // last key removed
+
+    /**
+     * @param key used to read the non-negative key of an element
+     * @throws MinimumHeapException when {@code key} is {@code null}
+     */
+    public RadixHeap(ToLongFunction<? super T> key) throws MinimumHeapException {
+        if (key == null)
+            throw new MinimumHeapException("\nRadixHeap(key): key must be != null");
+
+        this.key = key;
+        this.nodes = new HashMap<>();
+    }
+
+    @Override
+    public int size() {
+        return this.nodes.size();
+    }
+
+    /**
+     * @return the last key removed, which is a lower bound of every key into
+     *         the {@code RadixHeap}
+     */
+    public long lastKey() {
+        return this.last;
+    }
+
+    /**
+     * @param element to add
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code element} is {@code null} or is
+     *                              already into the {@code RadixHeap}</li>
+     *                              <li>the key of {@code element} is less than
+     *                              the last key removed</li>
+     *                              </ul>
+     */
+    @Override
+    public void add(T element) throws MinimumHeapException {
+        if (element == null)
+            throw new MinimumHeapException("\nadd(element): element must be != null");
+
+        long k = keyOf(element, "\nadd(element)");
+        Node<T> node = new Node<>(element, k);
+
+        if (this.nodes.putIfAbsent(element, node) != null)
+            throw new MinimumHeapException("\nadd(element): element is already in the RadixHeap");
+
+        insert(node);
+    }
+
+    @Override
+    public T remove() throws MinimumHeapException {
+        if (this.nodes.isEmpty())
+            throw new MinimumHeapException("\nremove(): cannot remove the root element of an empty RadixHeap");
+
+        if (this.buckets[0] == null) {
+            int i = 1;
+            while (this.buckets[i] == null)
+                i++;
+
+            Node<T> first = this.buckets[i];
+            this.buckets[i] = null;
+
+            long min = first.key;
+            for (Node<T> node = first.next; node != null; node = node.next)
+                min = Math.min(min, node.key);
+            this.last = min;
+
+            // every key of bucket i now differs from last in a lower bit
+            Node<T> node = first;
+            while (node != null) {
+                Node<T> next = node.next;
+                insert(node);
+                node = next;
+            }
+        }
+
+        Node<T> removed = this.buckets[0];
+        unlink(removed);
+        this.nodes.remove(removed.element);
+
+        return removed.element;
+    }
+
+    /**
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code element} or {@code newElement}
+     *                              are {@code null}</li>
+     *                              <li>{@code element} is NOT into the
+     *                              {@code RadixHeap}</li>
+     *                              <li>the key of {@code newElement} is less
+     *                              than the last key removed</li>
+     *                              </ul>
+     */
+    @Override
+    public void decrease(T element, T newElement) throws MinimumHeapException {
+        if (element == null)
+            throw new MinimumHeapException("\ndecrease(element, newElement): element must be != null");
+
+        if (newElement == null)
+            throw new MinimumHeapException("\ndecrease(element, newElement): newElement must be != null");
+
+        Node<T> node = this.nodes.get(element);
+
+        if (node == null)
+            throw new MinimumHeapException(
+                    "\ndecrease(element, newElement): cannot decrease an element that is not in the RadixHeap");
+
+        long k = keyOf(newElement, "\ndecrease(element, newElement)");
+
+        if (element != newElement) {
+            this.nodes.remove(element);
+            this.nodes.put(newElement, node);
+        }
+        node.element = newElement;
+
+        unlink(node);
+        node.key = k;
+        insert(node);
+    }
+
+    /**
+     * Move all the elements of {@code other} into the {@code RadixHeap}, adding
+     * them one by one
+     *
+     * @param other queue to meld with
+     * @throws MinimumHeapException when {@code other} is {@code null} or is this
+     *                              {@code RadixHeap}, shares an element with it
+     *                              or holds a key less than the last key
+     *                              removed; in that case both queues are left
+     *                              unchanged
+     */
+    @Override
+    public void meld(AddressablePriorityQueue<T> other) throws MinimumHeapException {
+        if (other == null)
+            throw new MinimumHeapException("\nmeld(other): other must be != null");
+
+        if (other == this)
+            throw new MinimumHeapException("\nmeld(other): cannot meld a RadixHeap with itself");
+
+        @SuppressWarnings("unchecked")
+        T[] elements = (T[]) other.toArray();
+
+        for (T element : elements) {
+            if (element == null || this.nodes.containsKey(element))
+                throw new MinimumHeapException("\nmeld(other): element " + element + " is already in the RadixHeap");
+            keyOf(element, "\nmeld(other)");
+        }
+        for (T element : elements)
+            add(element);
+
+        other.clear();
+    }
+
+    /**
+     * Remove all the elements; the next keys can start again from 0
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(this.buckets, null);
+        this.nodes.clear();
+        this.last = 0;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] ris = new Object[this.nodes.size()];
+        int i = 0;
+        for (Node<T> node : this.nodes.values())
+            ris[i++] = node.element;
+        return ris;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    /**
+     * @return the key of {@code element}
+     * @throws MinimumHeapException when the key is less than the last key
+     *                              removed
+     */
+    private long keyOf(T element, String method) throws MinimumHeapException {
+        long k = this.key.applyAsLong(element);
+
+        if (k < this.last)
+            throw new MinimumHeapException(method + ": the key " + k + " of " + element
+                    + " is less than the last key removed " + this.last);
+
+        return k;
+    }
+
+    /**
+     * Put {@code node} at the head of the bucket of its key
+     */
+    private void insert(Node<T> node) {
+        int i = BUCKETS - Long.numberOfLeadingZeros(node.key ^ this.last);
+
+        node.bucket = i;
+        node.prev = null;
+        node.next = this.buckets[i];
+        if (node.next != null)
+            node.next.prev = node;
+        this.buckets[i] = node;
+    }
+
+    /**
+     * Remove {@code node} from its bucket
+     */
+    private void unlink(Node<T> node) {
+        if (node.prev == null)
+            this.buckets[node.bucket] = node.next;
+        else
+            node.prev.next = node.next;
+
+        if (node.next != null)
+            node.next.prev = node.prev;
+
+        node.prev = null;
+        node.next = null;
+    }
+}
@@ -0,0 +1,66 @@
+package minimumheap;
+
+/**
+ * {@code Interface} of a relaxed minimum priority queue of
+ * {@code Generic Type}: {@link #remove()} takes out one of the smallest
+ * elements, not always the smallest, in exchange for less contention between
+ * threads.
+ * <p>
+ * It is NOT an {@link AddressablePriorityQueue}, whose {@code remove()} always
+ * takes out the minimum: an algorithm such as Dijkstra that settles each
+ * element when it is removed gives wrong results, or fails, on a relaxed queue.
+ * Elements are identified with {@code equals}, as into an
+ * {@link AddressablePriorityQueue}.
+ */
+public interface RelaxedPriorityQueue<T> {
+
+    /**
+     * @return the number of elements into the queue
+     */
+    int size();
+
+    /**
+     * @param element to add
+     * @throws MinimumHeapException when {@code element} is {@code null} or is
+     *                              already into the queue
+     */
+    void add(T element) throws MinimumHeapException;
+
+    /**
+     * Remove one of the smallest elements
+     *
+     * @return the element removed, {@code null} if the queue looks empty
+     */
+    T poll();
+
+    /**
+     * Remove one of the smallest elements
+     *
+     * @return the element removed
+     * @throws MinimumHeapException on an empty queue
+     */
+    T remove() throws MinimumHeapException;
+
+    /**
+     * Change the given {@code element} with the given {@code newElement}, which
+     * must not be greater than {@code element}
+     *
+     * @param element    to change
+     * @param newElement to change with
+     * @throws MinimumHeapException when {@code element} or {@code newElement}
+     *                              are {@code null}, or {@code element} is NOT
+     *                              into the queue
+     */
+    void decrease(T element, T newElement) throws MinimumHeapException;
+
+    /**
+     * Remove all the elements
+     */
+    void clear();
+
+    /**
+     * @return the elements into the queue as an array of {@code Object}, in no
+     *         particular order
+     */
+    Object[] toArray();
+}
@@ -0,0 +1,371 @@
+package minimumheap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Class used to schedule tasks of {@code Generic Type} at a deadline measured
+ * in ticks, on a hierarchical timing wheel with a heap for the far future.
+ * <p>
+ * The wheel has {@code levels} levels of 64 slots each: a slot of level
+ * {@code l} holds the timers whose deadline falls into a span of
+ * {@code 64^l} ticks, kept into a doubly linked list. Scheduling a timer puts
+ * it at the head of the list of its slot and cancelling it unlinks it, both in
+ * constant time; every {@code 64^l} ticks the timers of the next slot of level
+ * {@code l} move down to the lower levels, so a timer is moved at most
+ * {@code levels} times before it fires. Deadlines beyond the span of the wheel
+ * ({@code 64^levels} ticks) wait into an {@link IndexedMinimumHeap} ordered by
+ * deadline and move into the wheel when they get closer; cancelling them only
+ * marks them, and the heap is rebuilt without them when they are more than
+ * half of it.
+ * <p>
+ * Time moves only with {@link #advance(long, Consumer)}; the scheduler is not
+ * thread safe.
+ */
+public class TimingWheelScheduler<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int DEFAULT_LEVELS = 4;
+
+    private static final int PENDING = 0;
+    private static final int FIRED = 1;
+    private static final int CANCELLED = 2;
+
+    private static final int IN_HEAP = -1; // level of a timer into the heap
+
+    /**
+     * Task scheduled into a {@code TimingWheelScheduler}, used to cancel it
+     */
+    public static final class Timer<T> {
+        private final T task;
+        private final long deadline;
+        private final long sequence; // orders the timers with the same deadline into the heap
+        private int state = PENDING;
+        private int level = 0;
+        private int slot = 0;
+        private Timer<T> prev = null;
+        private Timer<T> next = null;
+
+        private Timer(T task, long deadline, long sequence) {
+            this.task = task;
+            this.deadline = deadline;
+            this.sequence = sequence;
+        }
+
+        /**
+         * @return the task scheduled
+         */
+        public T getTask() {
+            return this.task;
+        }
+
+        /**
+         * @return the tick when the task is due
+         */
+        public long getDeadline() {
+            return this.deadline;
+        }
+
+        /**
+         * @return {@code TRUE} iff the timer has neither fired nor been
+         *         cancelled, {@code FALSE} otherwise
+         */
+        public boolean isPending() {
+            return this.state == PENDING;
+        }
+
+        /**
+         * @return {@code TRUE} iff the timer has been cancelled, {@code FALSE}
+         *         otherwise
+         */
+        public boolean isCancelled() {
+            return this.state == CANCELLED;
+        }
+    }
+
+    private Timer<T>[][] wheel = null; // level -> slot -> first timer
+    private IndexedMinimumHeap<Timer<T>> overflow = null;
+    private int levels = 0;
+    private long span = 0; // ticks covered by the wheel
+    private long now = 0; // last tick processed
+    private long sequence = 0;
+    private int wheelSize = 0; // pending timers into the wheel
+    private int cancelledInHeap = 0;
+
+    /**
+     * Init a {@code TimingWheelScheduler} of 4 levels, which covers
+     * {@code 2^24} ticks
+     */
+    public TimingWheelScheduler() {
+        init(DEFAULT_LEVELS);
+    }
+
+    /**
+     * @param levels number of levels of the wheel, from 1 to 10
+     * @throws MinimumHeapException when {@code levels} is out of range
+     */
+    public TimingWheelScheduler(int levels) throws MinimumHeapException {
+        if (levels < 1 || levels > 10)
+            throw new MinimumHeapException("\nTimingWheelScheduler(levels): levels must be between 1 and 10");
+
+        init(levels);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void init(int levels) {
+        Comparator<Timer<T>> byDeadline = (a, b) -> (a.deadline != b.deadline) ? Long.compare(a.deadline, b.deadline)
+                : Long.compare(a.sequence, b.sequence);
+
+        try {
+            this.overflow = new IndexedMinimumHeap<>(byDeadline);
+        } catch (MinimumHeapException e) {
+            // cannot happen, the comparator is not null
+            throw new IllegalStateException(e);
+        }
+
+        this.levels = levels;
+        this.span = 1L << (SLOT_BITS * levels);
+        this.wheel = (Timer<T>[][]) new Timer[levels][SLOTS];
+    }
+
+    /**
+     * @return the last tick processed
+     */
+    public long now() {
+        return this.now;
+    }
+
+    /**
+     * @return the number of pending timers
+     */
+    public int size() {
+        return this.wheelSize + this.overflow.size() - this.cancelledInHeap;
+    }
+
+    /**
+     * Schedule {@code task} at the given {@code deadline}; a deadline not after
+     * {@link #now()} fires at the next tick
+     *
+     * @param task     to schedule
+     * @param deadline tick when the task is due
+     * @return the timer of the task
+     * @throws MinimumHeapException when {@code task} is {@code null}
+     */
+    public Timer<T> schedule(T task, long deadline) throws MinimumHeapException {
+        if (task == null)
+            throw new MinimumHeapException("\nschedule(task, deadline): task must be != null");
+
+        Timer<T> timer = new Timer<>(task, deadline, this.sequence++);
+
+        // the slot of the current tick has already fired
+        place(timer, this.now + 1);
+
+        return timer;
+    }
+
+    /**
+     * Cancel {@code timer} in constant time
+     *
+     * @param timer to cancel
+     * @return {@code TRUE} iff the timer was pending, {@code FALSE} if it has
+     *         already fired or been cancelled
+     * @throws MinimumHeapException when {@code timer} is {@code null}
+     */
+    public boolean cancel(Timer<T> timer) throws MinimumHeapException {
+        if (timer == null)
+            throw new MinimumHeapException("\ncancel(timer): timer must be != null");
+
+        if (timer.state != PENDING)
+            return false;
+
+        timer.state = CANCELLED;
+
+        if (timer.level != IN_HEAP) {
+            unlink(timer);
+            return true;
+        }
+
+        // the heap cannot remove an element in the middle, so it is left there
+        this.cancelledInHeap++;
+        if (this.cancelledInHeap * 2 > this.overflow.size())
+            purgeOverflow();
+
+        return true;
+    }
+
+    /**
+     * Move the time forward to {@code time}, firing every pending timer whose
+     * deadline is not after it; timers with the same deadline fire in no
+     * particular order
+     *
+     * @param time   tick to reach
+     * @param action called with the task of every timer fired
+     * @return the number of timers fired
+     * @throws MinimumHeapException when {@code action} is {@code null}
+     */
+    public int advance(long time, Consumer<? super T> action) throws MinimumHeapException {
+        if (action == null)
+            throw new MinimumHeapException("\nadvance(time, action): action must be != null");
+
+        int fired = 0;
+
+        while (this.now < time) {
+            if (this.wheelSize == 0) {
+                // nothing to fire until the first deadline of the heap gets into
+                // the span of the wheel, so the ticks before can be skipped
+                long next = time;
+                if (this.overflow.size() > 0)
+                    next = Math.min(time, this.overflow.elementAt(0).deadline - this.span + 1);
+                if (next > this.now) {
+                    this.now = next;
+                    pullOverflow();
+                    continue;
+                }
+            }
+
+            this.now++;
+
+            // every time a level goes around, the next slot of the level above
+            // is spread into the lower levels
+            if ((this.now & SLOT_MASK) == 0) {
+                pullOverflow();
+                for (int level = 1; level < this.levels; level++) {
+                    cascade(level, (int) (this.now >>> (SLOT_BITS * level)) & SLOT_MASK);
+                    if (((this.now >>> (SLOT_BITS * level)) & SLOT_MASK) != 0)
+                        break;
+                }
+            }
+
+            fired += fire((int) (this.now & SLOT_MASK), action);
+        }
+
+        return fired;
+    }
+
+    /**
+     * Put {@code timer} into the slot of its deadline, or into the heap when it
+     * is beyond the wheel
+     *
+     * @param earliest tick where a deadline already passed is moved
+     */
+    private void place(Timer<T> timer, long earliest) {
+        long deadline = Math.max(timer.deadline, earliest);
+        long delta = deadline - this.now;
+
+        if (delta >= this.span) {
+            timer.level = IN_HEAP;
+            try {
+                this.overflow.add(timer);
+            } catch (MinimumHeapException e) {
+                // cannot happen, the timer is not null
+                throw new IllegalStateException(e);
+            }
+            return;
+        }
+
+        int level = 0;
+        while (delta >= (1L << (SLOT_BITS * (level + 1))))
+            level++;
+
+        timer.level = level;
+        timer.slot = (int) (deadline >>> (SLOT_BITS * level)) & SLOT_MASK;
+        timer.prev = null;
+        timer.next = this.wheel[level][timer.slot];
+        if (timer.next != null)
+            timer.next.prev = timer;
+        this.wheel[level][timer.slot] = timer;
+        this.wheelSize++;
+    }
+
+    private void unlink(Timer<T> timer) {
+        if (timer.prev == null)
+            this.wheel[timer.level][timer.slot] = timer.next;
+        else
+            timer.prev.next = timer.next;
+
+        if (timer.next != null)
+            timer.next.prev = timer.prev;
+
+        timer.prev = null;
+        timer.next = null;
+        this.wheelSize--;
+    }
+
+    /**
+     * Place again the timers of the given slot, which move to lower levels
+     */
+    private void cascade(int level, int slot) {
+        Timer<T> timer = this.wheel[level][slot];
+        this.wheel[level][slot] = null;
+
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            this.wheelSize--;
+            place(timer, this.now);
+            timer = next;
+        }
+    }
+
+    /**
+     * Fire the timers of the given slot of level 0, all due now; the action may
+     * schedule or cancel other timers
+     */
+    private int fire(int slot, Consumer<? super T> action) {
+        int fired = 0;
+
+        Timer<T> timer;
+        while ((timer = this.wheel[0][slot]) != null) {
+            unlink(timer);
+            timer.state = FIRED;
+            fired++;
+            action.accept(timer.task);
+        }
+
+        return fired;
+    }
+
+    /**
+     * Move into the wheel the timers of the heap whose deadline is within its
+     * span
+     */
+    private void pullOverflow() {
+        try {
+            while (this.overflow.size() > 0 && this.overflow.elementAt(0).deadline - this.now < this.span) {
+                Timer<T> timer = this.overflow.remove();
+                if (timer.state == CANCELLED)
+                    this.cancelledInHeap--;
+                else
+                    place(timer, this.now);
+            }
+        } catch (MinimumHeapException e) {
+            // cannot happen, the heap is not empty
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Rebuild the heap without the cancelled timers
+     */
+    @SuppressWarnings("unchecked")
+    private void purgeOverflow() {
+        Object[] timers = this.overflow.toArray();
+        List<Timer<T>> pending = new ArrayList<>(timers.length - this.cancelledInHeap);
+        for (Object timer : timers) {
+            if (((Timer<T>) timer).state != CANCELLED)
+                pending.add((Timer<T>) timer);
+        }
+
+        this.overflow.clear();
+        this.cancelledInHeap = 0;
+        try {
+            this.overflow.addAll(pending);
+        } catch (MinimumHeapException e) {
+            // cannot happen, no timer is null
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package minimumheap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TimingWheelSchedulerTests {
+
+    private TimingWheelScheduler<String> scheduler;
+    private List<String> fired;
+
+    @Before
+    public void createTimingWheelScheduler() throws MinimumHeapException {
+        // 2 levels cover 4096 ticks, so the heap is easy to reach
+        scheduler = new TimingWheelScheduler<>(2);
+        fired = new ArrayList<>();
+    }
+
+    @Test
+    public void testSizeEmpty() {
+        assertEquals(0, scheduler.size());
+        assertEquals(0, scheduler.now());
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testScheduleNull() throws MinimumHeapException {
+        scheduler.schedule(null, 1);
+    }
+
+    @Test
+    public void testFireInDeadlineOrder() throws MinimumHeapException {
+        scheduler.schedule("c", 5000);
+        scheduler.schedule("a", 3);
+        scheduler.schedule("b", 100);
+        scheduler.schedule("d", 1000000);
+        assertEquals(4, scheduler.size());
+
+        assertEquals(1, scheduler.advance(99, fired::add));
+        assertEquals(Arrays.asList("a"), fired);
+        assertEquals(3, scheduler.advance(1000000, fired::add));
+        assertEquals(Arrays.asList("a", "b", "c", "d"), fired);
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    public void testFiresExactlyAtDeadline() throws MinimumHeapException {
+        scheduler.schedule("a", 4100);
+        scheduler.advance(4099, fired::add);
+        assertTrue(fired.isEmpty());
+        scheduler.advance(4100, fired::add);
+        assertEquals(Arrays.asList("a"), fired);
+    }
+
+    @Test
+    public void testPastDeadlineFiresAtNextTick() throws MinimumHeapException {
+        scheduler.advance(10, fired::add);
+        TimingWheelScheduler.Timer<String> timer = scheduler.schedule("late", 2);
+        scheduler.advance(11, fired::add);
+        assertEquals(Arrays.asList("late"), fired);
+        assertFalse(timer.isPending());
+        assertFalse(timer.isCancelled());
+    }
+
+    @Test
+    public void testCancelInWheelAndHeap() throws MinimumHeapException {
+        TimingWheelScheduler.Timer<String> near = scheduler.schedule("near", 10);
+        TimingWheelScheduler.Timer<String> far = scheduler.schedule("far", 10000);
+        scheduler.schedule("kept", 20000);
+        assertTrue(scheduler.cancel(near));
+        assertTrue(scheduler.cancel(far));
+        assertFalse(scheduler.cancel(far));
+        assertEquals(1, scheduler.size());
+
+        scheduler.advance(30000, fired::add);
+        assertEquals(Arrays.asList("kept"), fired);
+        assertTrue(far.isCancelled());
+    }
+
+    @Test
+    public void testActionSchedulesAndCancels() throws MinimumHeapException {
+        TimingWheelScheduler.Timer<String> second = scheduler.schedule("second", 5);
+        scheduler.schedule("first", 5);
+        scheduler.advance(5, task -> {
+            fired.add(task);
+            try {
+                scheduler.cancel(second);
+                scheduler.schedule("again", 6);
+            } catch (MinimumHeapException e) {
+                fail();
+            }
+        });
+        assertEquals(1, fired.size());
+        scheduler.advance(6, fired::add);
+        assertEquals(2, fired.size());
+        assertEquals("again", fired.get(1));
+    }
+}
@@ -0,0 +1,208 @@
+package minimumheap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * Class used to select the {@code k} smallest elements of {@code Generic Type}
+ * of a sequence, keeping only {@code k} elements in memory.
+ * <p>
+ * The elements selected so far are kept into an {@link IndexedMinimumHeap}
+ * ordered the other way round, so its root is the greatest of them: a new
+ * element is discarded with one comparison when it is not less than the root,
+ * otherwise it takes the place of the root with
+ * {@link IndexedMinimumHeap#replace(Object)}. Selecting from {@code n}
+ * elements costs {@code O(n log k)} time.
+ * <p>
+ * To select the {@code k} greatest elements use a reversed
+ * {@code Comparator}. A parallel {@code Stream} can be collected with
+ * {@link #collector(int, Comparator)}, which merges the selectors of the
+ * threads.
+ */
+public class TopKSelector<T> {
+
+    private IndexedMinimumHeap<T> heap = null; // greatest element selected at the root
+    private Comparator<? super T> comparator = null;
+    private int k = 0;
+    private long offered = 0;
+
+    /**
+     * @param k          number of elements to select
+     * @param comparator used to compare two {@code Generic Type} elements
+     * @throws MinimumHeapException when:
+     *                              <ul>
+     *                              <li>{@code k} is negative</li>
+     *                              <li>{@code comparator} is {@code null}</li>
+     *                              </ul>
+     */
+    public TopKSelector(int k, Comparator<? super T> comparator) throws MinimumHeapException {
+        if (k < 0)
+            throw new MinimumHeapException("\nTopKSelector(k, comparator): k must be >= 0");
+
+        if (comparator == null)
+            throw new MinimumHeapException("\nTopKSelector(k, comparator): comparator must be != null");
+
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new IndexedMinimumHeap<T>(comparator.reversed(), k);
+    }
+
+    /**
+     * @return the number of elements selected so far, at most {@code k}
+     */
+    public int size() {
+        return this.heap.size();
+    }
+
+    /**
+     * @return the number of elements offered so far
+     */
+    public long getOffered() {
+        return this.offered;
+    }
+
+    /**
+     * @param element to offer
+     * @return {@code TRUE} iff {@code element} is among the {@code k} smallest
+     *         elements offered so far, {@code FALSE} otherwise
+     * @throws MinimumHeapException when {@code element} is {@code null}
+     */
+    public boolean offer(T element) throws MinimumHeapException {
+        if (element == null)
+            throw new MinimumHeapException("\noffer(element): element must be != null");
+
+        this.offered++;
+
+        if (this.heap.size() < this.k) {
+            this.heap.add(element);
+            return true;
+        }
+
+        if (this.k == 0 || this.comparator.compare(element, this.heap.elementAt(0)) >= 0)
+            return false;
+
+        this.heap.replace(element);
+        return true;
+    }
+
+    /**
+     * Offer all the elements left into {@code elements}
+     *
+     * @param elements to offer
+     * @throws MinimumHeapException when {@code elements} is {@code null} or
+     *                              returns a {@code null} element
+     */
+    public void offerAll(Iterator<? extends T> elements) throws MinimumHeapException {
+        if (elements == null)
+            throw new MinimumHeapException("\nofferAll(elements): elements must be != null");
+
+        while (elements.hasNext())
+            offer(elements.next());
+    }
+
+    /**
+     * Offer all the elements of {@code elements}, in encounter order
+     *
+     * @param elements to offer
+     * @throws MinimumHeapException when {@code elements} is {@code null} or
+     *                              contains a {@code null} element
+     * @see #collector(int, Comparator)
+     */
+    public void offerAll(Stream<? extends T> elements) throws MinimumHeapException {
+        if (elements == null)
+            throw new MinimumHeapException("\nofferAll(elements): elements must be != null");
+
+        offerAll(elements.iterator());
+    }
+
+    /**
+     * Offer all the elements selected by {@code other}, which is left unchanged
+     *
+     * @param other selector to merge
+     * @throws MinimumHeapException when {@code other} is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public void merge(TopKSelector<? extends T> other) throws MinimumHeapException {
+        if (other == null)
+            throw new MinimumHeapException("\nmerge(other): other must be != null");
+
+        long offered = this.offered + other.offered;
+
+        for (Object element : other.heap.toArray())
+            offer((T) element);
+
+        this.offered = offered;
+    }
+
+    /**
+     * @return the elements selected so far, from the smallest
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> result() {
+        T[] ris = (T[]) this.heap.toArray();
+        Arrays.sort(ris, this.comparator);
+        return Arrays.asList(ris);
+    }
+
+    /**
+     * @param k          number of elements to select
+     * @param comparator used to compare two {@code Generic Type} elements
+     * @return a {@code Collector} of the {@code k} smallest elements of a
+     *         {@code Stream}, from the smallest; on a parallel {@code Stream}
+     *         every thread fills its own selector, then the selectors are
+     *         merged
+     * @throws MinimumHeapException when {@code k} is negative or
+     *                              {@code comparator} is {@code null}
+     */
+    public static <T> Collector<T, ?, List<T>> collector(int k, Comparator<? super T> comparator)
+            throws MinimumHeapException {
+        // fail now rather than into the supplier
+        new TopKSelector<T>(k, comparator);
+
+        return Collector.<T, TopKSelector<T>, List<T>>of(
+                () -> newSelector(k, comparator),
+                TopKSelector::accept,
+                TopKSelector::combine,
+                TopKSelector::result);
+    }
+
+    private static <T> TopKSelector<T> newSelector(int k, Comparator<? super T> comparator) {
+        try {
+            return new TopKSelector<>(k, comparator);
+        } catch (MinimumHeapException e) {
+            // cannot happen, checked by collector
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void accept(T element) {
+        if (element == null)
+            throw new NullPointerException("accept(element): element must not be null");
+
+        try {
+            offer(element);
+        } catch (MinimumHeapException e) {
+            // cannot happen, element is not null
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private TopKSelector<T> combine(TopKSelector<T> other) {
+        // keep the larger heap and offer the smaller one to it
+        TopKSelector<T> larger = (this.heap.size() >= other.heap.size()) ? this : other;
+        TopKSelector<T> smaller = (larger == this) ? other : this;
+
+        try {
+            larger.merge(smaller);
+        } catch (MinimumHeapException e) {
+            // cannot happen, smaller is not null
+            throw new IllegalStateException(e);
+        }
+
+        return larger;
+    }
+}
@@ -0,0 +1,96 @@
+package minimumheap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TopKSelectorTests {
+
+    private TopKSelector<Integer> selector;
+
+    @Before
+    public void createTopKSelector() throws MinimumHeapException {
+        selector = new TopKSelector<>(3, Integer::compare);
+    }
+
+    @Test
+    public void testSizeEmpty() {
+        assertEquals(0, selector.size());
+        assertEquals(Collections.emptyList(), selector.result());
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testNegativeK() throws MinimumHeapException {
+        new TopKSelector<Integer>(-1, Integer::compare);
+    }
+
+    @Test(expected = MinimumHeapException.class)
+    public void testOfferNull() throws MinimumHeapException {
+        selector.offer(null);
+    }
+
+    @Test
+    public void testSmallestThree() throws MinimumHeapException {
+        selector.offerAll(Arrays.asList(5, 3, 7, 2, 1, 8, 6, 9, 10, 4).iterator());
+        assertEquals(3, selector.size());
+        assertEquals(10, selector.getOffered());
+        assertEquals(Arrays.asList(1, 2, 3), selector.result());
+    }
+
+    @Test
+    public void testLargestThreeWithReversedComparator() throws MinimumHeapException {
+        Comparator<Integer> reversed = Comparator.reverseOrder();
+        TopKSelector<Integer> largest = new TopKSelector<>(3, reversed);
+        largest.offerAll(IntStream.rangeClosed(1, 10).boxed());
+        assertEquals(Arrays.asList(10, 9, 8), largest.result());
+    }
+
+    @Test
+    public void testOfferReturnsIfSelected() throws MinimumHeapException {
+        assertTrue(selector.offer(5));
+        assertTrue(selector.offer(6));
+        assertTrue(selector.offer(7));
+        assertFalse(selector.offer(8));
+        assertTrue(selector.offer(1));
+        assertEquals(Arrays.asList(1, 5, 6), selector.result());
+    }
+
+    @Test
+    public void testKZeroSelectsNothing() throws MinimumHeapException {
+        TopKSelector<Integer> none = new TopKSelector<>(0, Integer::compare);
+        assertFalse(none.offer(1));
+        assertEquals(0, none.size());
+    }
+
+    @Test
+    public void testMerge() throws MinimumHeapException {
+        TopKSelector<Integer> other = new TopKSelector<>(3, Integer::compare);
+        selector.offerAll(Arrays.asList(9, 4, 6, 8).iterator());
+        other.offerAll(Arrays.asList(5, 1, 7).iterator());
+        selector.merge(other);
+        assertEquals(Arrays.asList(1, 4, 5), selector.result());
+        assertEquals(7, selector.getOffered());
+        assertEquals(3, other.size());
+    }
+
+    @Test
+    public void testParallelCollector() throws MinimumHeapException {
+        List<Integer> values = new ArrayList<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 100000; i++)
+            values.add(random.nextInt());
+
+        List<Integer> expected = values.stream().sorted().limit(50).collect(Collectors.toList());
+        List<Integer> actual = values.parallelStream().collect(TopKSelector.collector(50, Integer::compare));
+        assertEquals(expected, actual);
+    }
+}
@@ -1,24 +1,109 @@
 package dijkstra;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.function.ToLongFunction;
 
+import graph.ArcVisitor;
+import graph.CsrGraph;
 import graph.Graph;
 import graph.Vertex;
 import graph.Edge;
 import graph.GraphException;
-import minimumheap.MinimumHeap;
+import graph.StaticGraph;
+import minimumheap.AddressablePriorityQueue;
+import minimumheap.DoubleKeyedMinimumHeap;
+import minimumheap.IdMinimumHeap;
 import minimumheap.MinimumHeapException;
 
 public class Dijkstra {
 
+    // relax calls decrease far more often than remove is called, so a wider and
+    // shallower heap does fewer steps overall
+    private static final int HEAP_ARITY = 4;
+
+    /**
+     * @return the {@code Comparator} that orders the vertices by their
+     *         {@code distance}, to build a queue for
+     *         {@link #dijkstra(Graph, Object, AddressablePriorityQueue)}
+     */
+    public static <T, S> Comparator<Vertex<T, S>> comparator() {
+        return new GenericComparator<>();
+    }
+
+    /**
+     * @param scale multiplied by the {@code distance} before rounding it, e.g.
+     *              {@code 1} for integer weights or {@code 1000} for weights
+     *              with three decimal digits
+     * @return a function that quantizes the {@code distance} of a vertex into a
+     *         non-negative {@code long} key, to build a monotone queue such as
+     *         {@link minimumheap.RadixHeap} or {@link minimumheap.BucketQueue}
+     *         for {@link #dijkstra(Graph, Object, AddressablePriorityQueue)};
+     *         an infinite distance becomes {@code Long.MAX_VALUE}
+     */
+    public static <T, S> ToLongFunction<Vertex<T, S>> distanceKey(double scale) {
+        // rounding never decreases, so the keys extracted stay monotone
+        return v -> Math.round(v.getDistance() * scale);
+    }
+
+    /**
+     * Run Dijkstra using a {@link DoubleKeyedMinimumHeap} keyed by the
+     * {@code distance} of the vertices, so the heap never calls
+     * {@link Vertex#getDistance()}
+     * 
+     * @param graph    to search
+     * @param srcLabel label of the source vertex
+     * @return the {@code Set} of the vertices visited
+     */
     public static <T, S> Set<Vertex<T, S>> dijkstra(Graph<T, S> graph, T srcLabel)
             throws MinimumHeapException, GraphException, Exception {
-        GenericComparator<T, S> comparator = new GenericComparator<>();
+        Collection<Vertex<T, S>> vertices = graph.vertices(); // a view, nothing is copied
+        DoubleKeyedMinimumHeap<Vertex<T, S>> Q = new DoubleKeyedMinimumHeap<>(HEAP_ARITY, vertices.size());
+        Set<Vertex<T, S>> visited = new HashSet<>(); // new Set containing all the vertices already visited
+
+        Vertex<T, S> src = graph.getVertex(srcLabel); // retrieve the Vertex
+
+        init(vertices, src);
+        double[] keys = new double[vertices.size()];
+        int i = 0;
+        for (Vertex<T, S> v : vertices) {
+            keys[i++] = v.getDistance(); // each vertex is keyed by its distance
+        }
+        Q.addAll(vertices, keys); // the heap is built in linear time
+
+        visited.add(src); // add the source to the set of visited
+
+        while (Q.size() != 0) {
+            Vertex<T, S> u = Q.remove(); // extract the Vertex with min distance --> u
+
+            visited.add(u); // add the Vertex (u) extracted into the set of visited
+
+            // foreach vertex v which is adjacent of u, without copying them into a Set
+            graph.forEachNeighbor(u.getLabel(), (v, weight) -> relax(u, v, weight, Q));
+        }
+
+        return visited;
+    }
+
+    /**
+     * Run Dijkstra using the given priority queue
+     * 
+     * @param graph    to search
+     * @param srcLabel label of the source vertex
+     * @param Q        an empty queue ordered by {@link #comparator()}, or keyed
+     *                 by {@link #distanceKey(double)}
+     * @return the {@code Set} of the vertices visited
+     * @throws MinimumHeapException when {@code Q} is not empty
+     */
+    public static <T, S> Set<Vertex<T, S>> dijkstra(Graph<T, S> graph, T srcLabel,
+            AddressablePriorityQueue<Vertex<T, S>> Q) throws MinimumHeapException, GraphException, Exception {
+        if (Q.size() != 0)
+            throw new MinimumHeapException("\ndijkstra(graph, srcLabel, Q): Q must be empty");
 
-        MinimumHeap<Vertex<T, S>> Q = new MinimumHeap<>(comparator);
         Set<Vertex<T, S>> visited = new HashSet<>(); // new Set containing all the vertices already visited
 
         Vertex<T, S> src = graph.getVertex(srcLabel); // retrieve the Vertex
@@ -32,17 +117,100 @@ public class Dijkstra {
 
             visited.add(u); // add the Vertex (u) extracted into the set of visited
 
-            for (Vertex<T, S> v : graph.getAdjacentVertices(u.getLabel())) { // foreach vertex v which is adjacent of u
-                relax(u, v, Q);
-            }
+            // foreach vertex v which is adjacent of u, without copying them into a Set
+            graph.forEachNeighbor(u.getLabel(), (v, weight) -> relax(u, v, weight, Q));
         }
 
         return visited;
     }
 
-    private static <T, S> void relax(Vertex<T, S> u, Vertex<T, S> v, MinimumHeap<Vertex<T, S>> Q)
-            throws MinimumHeapException {
-        Double alt = u.getDistance() + u.getEdgeWeight(v.getLabel());
+    /**
+     * Run Dijkstra on a {@link StaticGraph}, such as a {@link CsrGraph}
+     * snapshot; the vertices are numbered, so distances and parents are kept
+     * into arrays and only the vertices reached enter an {@link IdMinimumHeap},
+     * which uses their ids as handles; the weights must not be negative
+     * 
+     * @param graph to search
+     * @param src   id of the source vertex
+     * @param pi    filled with the id of the {@code parent} of every vertex,
+     *              {@code -1} for the source and the vertices not reached; may be
+     *              {@code null}
+     * @return the {@code distance} of every vertex from the source, by id
+     * @throws MinimumHeapException when {@code pi} is shorter than the number of
+     *                              vertices
+     * @see StaticGraph#getId(Object)
+     */
+    public static <T> double[] dijkstra(StaticGraph<T> graph, int src, int[] pi) throws MinimumHeapException {
+        int n = graph.getNumberVertices();
+
+        if (pi != null && pi.length < n)
+            throw new MinimumHeapException("\ndijkstra(graph, src, pi): pi must hold a parent for every vertex");
+
+        ArcRelaxer relaxer = new ArcRelaxer(n, pi);
+        relaxer.distance[src] = 0;
+        relaxer.Q.add(src, 0);
+
+        while (relaxer.Q.size() != 0) {
+            relaxer.u = relaxer.Q.remove(); // extract the vertex with min distance --> u
+            graph.forEachArc(relaxer.u, relaxer); // foreach edge (u, v)
+        }
+
+        return relaxer.distance;
+    }
+
+    /**
+     * State of Dijkstra on a {@link StaticGraph}, relaxing the edges going out
+     * of {@code u}
+     */
+    private static final class ArcRelaxer implements ArcVisitor<MinimumHeapException> {
+        private final double[] distance;
+        private final int[] pi;
+        private final IdMinimumHeap Q;
+        private int u = -1;
+
+        ArcRelaxer(int n, int[] pi) throws MinimumHeapException {
+            this.distance = new double[n];
+            Arrays.fill(this.distance, Double.POSITIVE_INFINITY);
+            this.pi = pi;
+            if (pi != null)
+                Arrays.fill(pi, 0, n, -1);
+            this.Q = new IdMinimumHeap(HEAP_ARITY, n);
+        }
+
+        @Override
+        public void visit(int v, double weight) throws MinimumHeapException {
+            double alt = this.distance[this.u] + weight;
+
+            // a vertex already extracted cannot get closer, so v is either
+            // never reached or still into Q
+            if (alt < this.distance[v]) {
+                if (this.distance[v] == Double.POSITIVE_INFINITY)
+                    this.Q.add(v, alt);
+                else
+                    this.Q.decrease(v, alt);
+
+                this.distance[v] = alt;
+                if (this.pi != null)
+                    this.pi[v] = this.u;
+            }
+        }
+    }
+
+    private static <T, S> void relax(Vertex<T, S> u, Vertex<T, S> v, double weight,
+            DoubleKeyedMinimumHeap<Vertex<T, S>> Q) throws MinimumHeapException {
+        double alt = u.getDistance() + weight;
+
+        if (v.getDistance() > alt && u.getDistance() != Double.POSITIVE_INFINITY) {
+            v.setDistance(alt);
+            v.setPi(u);
+
+            Q.decrease(v, alt); // update the key of v, the heap is not asked to compare vertices
+        }
+    }
+
+    private static <T, S> void relax(Vertex<T, S> u, Vertex<T, S> v, double weight,
+            AddressablePriorityQueue<Vertex<T, S>> Q) throws MinimumHeapException {
+        double alt = u.getDistance() + weight;
 
         if (v.getDistance() > alt && u.getDistance() != Double.POSITIVE_INFINITY) {
             Vertex<T, S> tmp = v; // save the vertex v into tmp
@@ -54,14 +222,19 @@ public class Dijkstra {
         }
     }
 
-    private static <T, S> void init(Graph<T, S> graph, Vertex<T, S> src, MinimumHeap<Vertex<T, S>> Q)
+    private static <T, S> void init(Graph<T, S> graph, Vertex<T, S> src, AddressablePriorityQueue<Vertex<T, S>> Q)
             throws MinimumHeapException {
-        for (Vertex<T, S> v : graph.getVertices()) { // foreach vertex v in the graph
-            if (!v.equals(src)) {
-                v.setDistance(Double.POSITIVE_INFINITY);
-                v.setPi(null);
-            }
-            Q.add(v); // add the vertex to the MinimumHeap
+        Collection<Vertex<T, S>> vertices = graph.vertices(); // a view, nothing is copied
+
+        init(vertices, src);
+
+        Q.addAll(vertices); // build the MinimumHeap with all the vertices at once
+    }
+
+    private static <T, S> void init(Collection<Vertex<T, S>> vertices, Vertex<T, S> src) {
+        for (Vertex<T, S> v : vertices) { // foreach vertex v in the graph
+            v.setDistance(Double.POSITIVE_INFINITY);
+            v.setPi(null);
         }
         src.setDistance(0); // set the distance of the source (from the source) to 0
     }
@@ -0,0 +1,18 @@
+package graph;
+
+/**
+ * Callback used to walk the edges going out of a numbered vertex without
+ * boxing, see {@link StaticGraph#forEachArc(int, ArcVisitor)}
+ *
+ * @param <X> checked exception the callback may throw
+ */
+@FunctionalInterface
+public interface ArcVisitor<X extends Exception> {
+
+    /**
+     * @param target id of the vertex the edge goes to
+     * @param weight of the edge
+     * @throws X to stop the walk
+     */
+    void visit(int target, double weight) throws X;
+}
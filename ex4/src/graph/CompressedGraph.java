@@ -0,0 +1,356 @@
+package graph;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-only compressed copy of a {@link StaticGraph}, for graphs whose edges
+ * do not fit into memory as plain arrays.
+ * <p>
+ * The edges going out of each vertex are encoded one vertex after the other
+ * into byte arrays of up to {@code 1GB} each, a vertex never being split
+ * between two of them, and {@code offsets} gives the array and the byte where
+ * each vertex starts, so any vertex can still be visited on its own and the
+ * edges may take more than {@code 2GB}. A vertex holds its out-degree
+ * followed by its edges by increasing target; every number is a
+ * variable-length integer of 7 bits per byte:
+ * <ul>
+ * <li>the first target as its distance from the vertex itself, zig-zag
+ * encoded since it may be negative; the next ones as their gap from the
+ * previous target, minus one;</li>
+ * <li>the {@code weight}, either as the 8 bytes of the {@code double} or,
+ * when the graph is quantized, as the zig-zag encoded multiple of
+ * {@code quantum} nearest to it.</li>
+ * </ul>
+ * On a graph whose ids follow its locality most targets take one or two
+ * bytes instead of four, and a quantized weight one to three bytes instead of
+ * eight; the price is decoding the edges at every visit. A quantized
+ * {@code weight} is off by at most {@code quantum / 2}, so the distances found
+ * on it are approximated accordingly.
+ * <p>
+ * The labels stay on the Java heap as objects, found back by an open
+ * addressing table of {@code int} ids; the edges of a single vertex cannot
+ * take more than {@code 2GB} once encoded.
+ *
+ * @param <T> type of the vertex labels
+ */
+public final class CompressedGraph<T> implements StaticGraph<T> {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+
+    static final int DEFAULT_CHUNK_BYTES = 1 << 30;
+
+    private final GraphType type;
+    private final Object[] labels; // id -> label
+    private final int[] slots; // hash of the label -> id + 1, 0 if empty
+    private final long[] offsets; // id -> index of the chunk << 32 | first byte of the vertex
+    private final byte[][] chunks;
+    private final int arcs;
+    private final double quantum; // 0 when the weights are exact
+
+    private CompressedGraph(GraphType type, Object[] labels, int[] slots, long[] offsets, byte[][] chunks, int arcs,
+            double quantum) {
+        this.type = type;
+        this.labels = labels;
+        this.slots = slots;
+        this.offsets = offsets;
+        this.chunks = chunks;
+        this.arcs = arcs;
+        this.quantum = quantum;
+    }
+
+    /**
+     * Compress {@code graph} keeping its weights exact
+     *
+     * @param graph to compress
+     * @return the compressed copy of {@code graph}
+     * @throws NullPointerException iff {@code graph} is {@code null}
+     * @throws GraphException       if the edges of a vertex take more than
+     *                              {@code 2GB} once encoded
+     */
+    public static <T> CompressedGraph<T> compress(StaticGraph<T> graph) throws NullPointerException, GraphException {
+        if (graph == null)
+            throw new NullPointerException("compress(graph): graph must not be null");
+
+        return encode(graph, 0, DEFAULT_CHUNK_BYTES);
+    }
+
+    /**
+     * Compress {@code graph} rounding each {@code weight} to the nearest
+     * multiple of {@code quantum}, e.g. {@code 1} for weights in meters that
+     * are needed to the meter
+     *
+     * @param graph   to compress
+     * @param quantum step of the weights kept, greater than {@code 0}
+     * @return the compressed copy of {@code graph}
+     * @throws NullPointerException iff {@code graph} is {@code null}
+     * @throws GraphException       if {@code quantum} is not a positive number,
+     *                              a {@code weight} is too large for it, or the
+     *                              edges of a vertex take more than {@code 2GB}
+     *                              once encoded
+     */
+    public static <T> CompressedGraph<T> compress(StaticGraph<T> graph, double quantum)
+            throws NullPointerException, GraphException {
+        if (graph == null)
+            throw new NullPointerException("compress(graph, quantum): graph must not be null");
+
+        if (!(quantum > 0) || Double.isInfinite(quantum))
+            throw new GraphException("compress(graph, quantum): quantum must be a positive number, not " + quantum);
+
+        return encode(graph, quantum, DEFAULT_CHUNK_BYTES);
+    }
+
+    /**
+     * @param quantum    step of the weights kept, {@code 0} to keep them exact
+     * @param chunkBytes size of the byte arrays the vertices are packed into
+     */
+    static <T> CompressedGraph<T> encode(StaticGraph<T> graph, double quantum, int chunkBytes)
+            throws GraphException {
+        int n = graph.getNumberVertices();
+        Object[] labels = new Object[n];
+        int[] slots = new int[tableSize(n)];
+        long[] offsets = new long[n];
+        List<byte[]> chunks = new ArrayList<>();
+        byte[] chunk = new byte[0];
+        int used = 0; // bytes of chunk taken
+        Encoder encoder = new Encoder(quantum);
+
+        for (int u = 0; u < n; u++) {
+            T label = graph.getLabel(u);
+            labels[u] = label;
+            int i = hash(label) & (slots.length - 1);
+            while (slots[i] != 0)
+                i = (i + 1) & (slots.length - 1);
+            slots[i] = u + 1;
+
+            encoder.size = 0;
+            encoder.vertex = u;
+            encoder.previous = -1;
+            encoder.putVarint(graph.getOutDegree(u));
+            graph.forEachArc(u, encoder);
+            encoder.arcs += graph.getOutDegree(u);
+
+            // the vertex goes whole into the current chunk, or starts the next one
+            if (used + encoder.size > Math.max(chunk.length, chunkBytes) || used + encoder.size < 0) {
+                if (used > 0)
+                    chunks.add(Arrays.copyOf(chunk, used));
+                chunk = new byte[Math.max(encoder.size, Math.min(1024, chunkBytes))];
+                used = 0;
+            } else if (used + encoder.size > chunk.length) {
+                chunk = Arrays.copyOf(chunk, (int) Math.min(Math.max(2L * chunk.length, used + encoder.size),
+                        Math.max(chunkBytes, used + encoder.size)));
+            }
+
+            offsets[u] = ((long) chunks.size() << 32) | used;
+            System.arraycopy(encoder.data, 0, chunk, used, encoder.size);
+            used += encoder.size;
+        }
+        if (used > 0)
+            chunks.add(Arrays.copyOf(chunk, used));
+
+        return new CompressedGraph<>(graph.getType(), labels, slots, offsets, chunks.toArray(new byte[0][]),
+                encoder.arcs, quantum);
+    }
+
+    /**
+     * @return a power of two at least twice {@code n}, so the probes stay short
+     */
+    private static int tableSize(int n) {
+        int size = 16;
+        while (size < 2L * n)
+            size <<= 1;
+        return size;
+    }
+
+    private static int hash(Object label) {
+        int h = label.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Encodes the edges of a vertex into a growing byte array
+     */
+    private static final class Encoder implements ArcVisitor<GraphException> {
+        private final double quantum;
+        private byte[] data = new byte[1024];
+        private int size = 0;
+        private int arcs = 0;
+        private int vertex = 0; // whose edges are being encoded
+        private int previous = -1; // last target of the vertex, -1 before the first
+
+        Encoder(double quantum) {
+            this.quantum = quantum;
+        }
+
+        @Override
+        public void visit(int target, double weight) throws GraphException {
+            if (this.previous < 0)
+                putVarint(zigzag((long) target - this.vertex));
+            else
+                putVarint(target - this.previous - 1);
+            this.previous = target;
+
+            if (this.quantum == 0) {
+                ensure(8);
+                LONGS.set(this.data, this.size, Double.doubleToRawLongBits(weight));
+                this.size += 8;
+            } else {
+                double multiple = Math.rint(weight / this.quantum);
+                if (!(Math.abs(multiple) < 0x1p62))
+                    throw new GraphException("compress(graph, quantum): weight " + weight
+                            + " cannot be quantized by " + this.quantum);
+                putVarint(zigzag((long) multiple));
+            }
+        }
+
+        void putVarint(long value) throws GraphException {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                this.data[this.size++] = (byte) (value | 0x80);
+                value >>>= 7;
+            }
+            this.data[this.size++] = (byte) value;
+        }
+
+        private void ensure(int bytes) throws GraphException {
+            if (this.size + bytes <= this.data.length)
+                return;
+
+            long capacity = Math.max(this.size + (long) bytes, 2L * this.data.length);
+            if (this.size + (long) bytes > Integer.MAX_VALUE - 8)
+                throw new GraphException(
+                        "compress(graph): the edges of vertex " + this.vertex + " take more than 2GB once encoded");
+
+            this.data = Arrays.copyOf(this.data, (int) Math.min(capacity, Integer.MAX_VALUE - 8));
+        }
+
+        private static long zigzag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    /**
+     * @return {@code TRUE} iff the weights are rounded to a multiple of
+     *         {@link #getQuantum()}, {@code FALSE} if they are exact
+     */
+    public boolean isQuantized() {
+        return this.quantum != 0;
+    }
+
+    /**
+     * @return the step of the weights, {@code 0} if they are exact
+     */
+    public double getQuantum() {
+        return this.quantum;
+    }
+
+    /**
+     * @return the bytes taken by the edges, offsets included
+     */
+    public long getEncodedSize() {
+        long size = 8L * this.offsets.length;
+        for (byte[] chunk : this.chunks)
+            size += chunk.length;
+
+        return size;
+    }
+
+    @Override
+    public GraphType getType() {
+        return this.type;
+    }
+
+    @Override
+    public int getNumberVertices() {
+        return this.labels.length;
+    }
+
+    @Override
+    public int getNumberEdges() {
+        return isDirected() ? this.arcs : this.arcs / 2;
+    }
+
+    @Override
+    public int getId(T vertexLabel) throws NullPointerException {
+        if (vertexLabel == null)
+            throw new NullPointerException("getId(vertexLabel): vertexLabel must not be null");
+
+        int mask = this.slots.length - 1;
+        for (int i = hash(vertexLabel) & mask, slot; (slot = this.slots[i]) != 0; i = (i + 1) & mask) {
+            if (this.labels[slot - 1].equals(vertexLabel))
+                return slot - 1;
+        }
+
+        return -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T getLabel(int id) throws IndexOutOfBoundsException {
+        if (id < 0 || id >= this.labels.length)
+            throw new IndexOutOfBoundsException("getLabel(id): there is no vertex " + id);
+
+        return (T) this.labels[id];
+    }
+
+    @Override
+    public int getOutDegree(int id) {
+        return (int) new Decoder(this.chunks, this.offsets[id]).getVarint();
+    }
+
+    @Override
+    public <X extends Exception> void forEachArc(int id, ArcVisitor<X> visitor) throws X {
+        Decoder decoder = new Decoder(this.chunks, this.offsets[id]);
+        int degree = (int) decoder.getVarint();
+
+        int target = -1;
+        for (int e = 0; e < degree; e++) {
+            long value = decoder.getVarint();
+            target = (target < 0) ? id + (int) unzigzag(value) : target + (int) value + 1;
+
+            double weight = (this.quantum == 0) ? decoder.getDouble() : unzigzag(decoder.getVarint()) * this.quantum;
+
+            visitor.visit(target, weight);
+        }
+    }
+
+    /**
+     * Reads the edges of a vertex back, moving past each value it returns
+     */
+    private static final class Decoder {
+        private final byte[] data;
+        private int position;
+
+        Decoder(byte[][] chunks, long offset) {
+            this.data = chunks[(int) (offset >>> 32)];
+            this.position = (int) offset;
+        }
+
+        long getVarint() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = this.data[this.position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        double getDouble() {
+            double value = Double.longBitsToDouble((long) LONGS.get(this.data, this.position));
+            this.position += 8;
+            return value;
+        }
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,139 @@
+package graph;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static graph.StaticGraphAssert.assertSameGraph;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompressedGraphTests {
+    private CsrGraph<Integer> csr = null;
+
+    @Before
+    public void createGraph() throws GraphException {
+        Graph<Integer, String> graph = new Graph<>(GraphType.DIRECTED);
+        for (int i = 0; i < 300; i++)
+            graph.addVertex(i);
+
+        Random random = new Random(42);
+        for (int i = 0; i < 3000; i++) {
+            int from = random.nextInt(300);
+            // mostly near targets, as on a road map, and a few far ones
+            int to = (i % 10 == 0) ? random.nextInt(300) : Math.floorMod(from + random.nextInt(21) - 10, 300);
+            graph.addEdge(from, to, "e", random.nextInt(100000) / 8.0);
+        }
+
+        csr = graph.freeze();
+    }
+
+    @Test
+    public void testExactWeights() throws GraphException {
+        CompressedGraph<Integer> compressed = CompressedGraph.compress(csr);
+        assertFalse(compressed.isQuantized());
+        assertSameGraph(csr, compressed);
+
+        // the ids are kept
+        for (int u = 0; u < csr.getNumberVertices(); u++)
+            assertEquals(u, compressed.getId(csr.getLabel(u)));
+    }
+
+    @Test
+    public void testQuantizedWeights() throws GraphException {
+        CompressedGraph<Integer> compressed = CompressedGraph.compress(csr, 0.5);
+        assertTrue(compressed.isQuantized());
+        assertEquals(0.5, compressed.getQuantum(), 0);
+
+        for (int u = 0; u < csr.getNumberVertices(); u++) {
+            int[] targets = new int[csr.getOutDegree(u)];
+            double[] weights = new double[targets.length];
+            int[] i = { 0 };
+            compressed.forEachArc(u, (v, weight) -> {
+                targets[i[0]] = v;
+                weights[i[0]++] = weight;
+            });
+
+            assertEquals(targets.length, i[0]);
+            for (int e = csr.firstEdge(u), k = 0; e < csr.lastEdge(u); e++, k++) {
+                assertEquals(csr.getTarget(e), targets[k]);
+                assertEquals(csr.getWeight(e), weights[k], 0.25);
+            }
+        }
+    }
+
+    @Test
+    public void testSmaller() throws GraphException {
+        long plain = 4L * (csr.getNumberVertices() + 1) + 12L * csr.getNumberEdges();
+        CompressedGraph<Integer> exact = CompressedGraph.compress(csr);
+        CompressedGraph<Integer> quantized = CompressedGraph.compress(csr, 1);
+        assertTrue(exact.getEncodedSize() < plain);
+        assertTrue(quantized.getEncodedSize() < plain / 2);
+    }
+
+    @Test
+    public void testSmallChunks() throws GraphException {
+        // 64 bytes chunks, so that the vertices span many of them
+        CompressedGraph<Integer> compressed = CompressedGraph.encode(csr, 0, 64);
+        assertSameGraph(csr, compressed);
+        assertEquals(CompressedGraph.compress(csr).getEncodedSize(), compressed.getEncodedSize());
+    }
+
+    @Test
+    public void testBfs() throws GraphException {
+        CompressedGraph<Integer> compressed = CompressedGraph.compress(csr, 1);
+        for (int source : new int[] { 0, 17, 299 })
+            assertArrayEquals(csr.bfs(source), compressed.bfs(source));
+    }
+
+    @Test
+    public void testUndirectedAndNegative() throws GraphException {
+        Graph<String, String> graph = new Graph<>(GraphType.UNDIRECTED);
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("c");
+        graph.addEdge("c", "a", "ca", -3.75);
+        graph.addEdge("b", "b", "bb", 2);
+
+        CsrGraph<String> frozen = graph.freeze();
+        CompressedGraph<String> compressed = CompressedGraph.compress(frozen, 0.25);
+        assertFalse(compressed.isDirected());
+        assertEquals(frozen.getNumberEdges(), compressed.getNumberEdges());
+        assertEquals(-1, compressed.getId("z"));
+
+        int c = compressed.getId("c");
+        double[] weight = { 0 };
+        compressed.forEachArc(c, (v, w) -> weight[0] = w);
+        assertEquals(-3.75, weight[0], 0);
+    }
+
+    @Test
+    public void testEmpty() throws GraphException {
+        CompressedGraph<String> compressed = CompressedGraph.compress(new Graph<String, String>().freeze());
+        assertEquals(0, compressed.getNumberVertices());
+        assertEquals(0, compressed.getNumberEdges());
+    }
+
+    @Test(expected = GraphException.class)
+    public void testBadQuantum() throws GraphException {
+        CompressedGraph.compress(csr, 0);
+    }
+
+    @Test(expected = GraphException.class)
+    public void testWeightTooLargeForQuantum() throws GraphException {
+        Graph<String, String> graph = new Graph<>();
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addEdge("a", "b", "ab", 1e300);
+        CompressedGraph.compress(graph.freeze(), 1e-10);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testLabelOutOfBounds() throws GraphException {
+        CompressedGraph.compress(csr).getLabel(csr.getNumberVertices());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullGraph() throws GraphException {
+        CompressedGraph.compress(null);
+    }
+}
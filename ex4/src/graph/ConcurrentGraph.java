@@ -0,0 +1,502 @@
+package graph;
+
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Thread safe {@code Graph} meant for many readers and frequent weight
+ * updates, e.g. a road network whose weights follow the live traffic.
+ * <p>
+ * The vertices and the edges of every vertex are kept into
+ * {@code ConcurrentHashMap}s and the weights into {@code volatile} fields, so
+ * reads take no lock. Every change locks a stripe chosen by the hash of the
+ * label of the vertex the edge goes out of (both ends for an
+ * {@code UNDIRECTED} edge, always in stripe order), so changes to vertices of
+ * different stripes run in parallel and a change such as
+ * {@link #updateWeight(Object, Object, DoubleUnaryOperator)} is atomic.
+ * {@link #snapshot()} holds every stripe at once, so it sees the
+ * {@code ConcurrentGraph} as it was between two changes;
+ * {@link #removeVertex(Object)} does the same, as it touches the edges of
+ * other vertices.
+ * <p>
+ * Single reads see the last change completed;
+ * {@link #forEachNeighbor(Object, NeighborVisitor)} is weakly consistent.
+ */
+public class ConcurrentGraph<T, S> {
+    private static final int DEFAULT_STRIPES = 64;
+
+    /**
+     * Edge shared by both ends of an {@code UNDIRECTED} edge
+     */
+    private static final class Arc<S> {
+        private final S label;
+        private volatile double weight;
+
+        private Arc(S label, double weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Adjacency<T, S> {
+        private final ConcurrentHashMap<T, Arc<S>> out = new ConcurrentHashMap<>();
+        private final Set<T> in = ConcurrentHashMap.newKeySet();
+    }
+
+    private final ConcurrentHashMap<T, Adjacency<T, S>> vertices = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock[] stripes;
+    private final GraphType type;
+    private final AtomicInteger edges = new AtomicInteger();
+
+    /**
+     * Init a {@code Directed} {@code ConcurrentGraph} with 64 stripes
+     */
+    public ConcurrentGraph() {
+        this(GraphType.DIRECTED);
+    }
+
+    /**
+     * Init a {@code ConcurrentGraph} of given {@code type} with 64 stripes
+     *
+     * @param type of the new {@code ConcurrentGraph}
+     * @see GraphType
+     */
+    public ConcurrentGraph(GraphType type) {
+        this.type = type;
+        this.stripes = newStripes(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param type    of the new {@code ConcurrentGraph}
+     * @param stripes number of locks, a power of 2; a few times the number of
+     *                writing threads keeps them apart
+     * @throws GraphException iff {@code stripes} is not a power of 2
+     */
+    public ConcurrentGraph(GraphType type, int stripes) throws GraphException {
+        if (stripes < 1 || Integer.bitCount(stripes) != 1)
+            throw new GraphException("ConcurrentGraph(type, stripes): stripes must be a power of 2");
+
+        this.type = type;
+        this.stripes = newStripes(stripes);
+    }
+
+    private static ReentrantReadWriteLock[] newStripes(int n) {
+        ReentrantReadWriteLock[] ris = new ReentrantReadWriteLock[n];
+        for (int i = 0; i < n; i++)
+            ris[i] = new ReentrantReadWriteLock();
+        return ris;
+    }
+
+    /**
+     * @return the {@code type} of the {@code ConcurrentGraph}
+     */
+    public GraphType getType() {
+        return this.type;
+    }
+
+    /**
+     * @return {@code TRUE} iff the {@code ConcurrentGraph} is {@code Directed},
+     *         {@code FALSE} otherwise
+     */
+    public boolean isDirected() {
+        return this.type == GraphType.DIRECTED;
+    }
+
+    /**
+     * @return the number of vertices
+     */
+    public int getNumberVertices() {
+        return this.vertices.size();
+    }
+
+    /**
+     * @return the number of edges
+     */
+    public int getNumberEdges() {
+        return this.edges.get();
+    }
+
+    /**
+     * @param vertexLabel
+     * @return {@code TRUE} iff added successfully, {@code FALSE} if already exists
+     *         a vertex with the same {@code vertexLabel}
+     * @throws NullPointerException iff {@code vertexLabel} is {@code null}
+     */
+    public boolean addVertex(T vertexLabel) throws NullPointerException {
+        if (vertexLabel == null)
+            throw new NullPointerException("addVertex(vertexLabel): vertexLabel must not be null");
+
+        ReentrantReadWriteLock.WriteLock lock = stripe(vertexLabel).writeLock();
+        lock.lock();
+        try {
+            return this.vertices.putIfAbsent(vertexLabel, new Adjacency<>()) == null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param vertexLabel
+     * @return {@code TRUE} iff {@code vertexLabel} is contained in the
+     *         {@code ConcurrentGraph}, {@code FALSE} otherwise
+     * @throws NullPointerException iff {@code vertexLabel} is {@code null}
+     */
+    public boolean containsVertex(T vertexLabel) throws NullPointerException {
+        if (vertexLabel == null)
+            throw new NullPointerException("containsVertex(vertexLabel): vertexLabel must not be null");
+
+        return this.vertices.containsKey(vertexLabel);
+    }
+
+    /**
+     * Remove the vertex with every edge going out of it or coming to it; all the
+     * stripes are locked meanwhile
+     *
+     * @param vertexLabel to remove
+     * @return {@code TRUE} iff the vertex was in the {@code ConcurrentGraph},
+     *         {@code FALSE} otherwise
+     * @throws NullPointerException iff {@code vertexLabel} is {@code null}
+     */
+    public boolean removeVertex(T vertexLabel) throws NullPointerException {
+        if (vertexLabel == null)
+            throw new NullPointerException("removeVertex(vertexLabel): vertexLabel must not be null");
+
+        lockAll(false);
+        try {
+            Adjacency<T, S> removed = this.vertices.remove(vertexLabel);
+
+            if (removed == null)
+                return false;
+
+            // an UNDIRECTED edge is into both maps, so the predecessors are also
+            // the adjacents and the edges are counted once
+            int lost = removed.out.size();
+            for (T pred : removed.in) {
+                if (!pred.equals(vertexLabel)) {
+                    this.vertices.get(pred).out.remove(vertexLabel);
+                    if (isDirected())
+                        lost++;
+                }
+            }
+            for (T adj : removed.out.keySet()) {
+                if (!adj.equals(vertexLabel))
+                    this.vertices.get(adj).in.remove(vertexLabel);
+            }
+            this.edges.addAndGet(-lost);
+
+            return true;
+        } finally {
+            unlockAll(false);
+        }
+    }
+
+    /**
+     * Add an edge with its {@code weight} in a single step, both ways for an
+     * {@code UNDIRECTED} {@code ConcurrentGraph}
+     *
+     * @param vertexFrom
+     * @param vertexTo
+     * @param edgeLabel
+     * @param weight
+     * @return {@code TRUE} iff added successfully, {@code FALSE} if the edge
+     *         already exists
+     * @throws NullPointerException iff {@code vertexFrom} OR {@code vertexTo} OR
+     *                              {@code edgeLabel} are {@code null}
+     * @throws GraphException       if {@code vertexFrom} OR {@code vertexTo}
+     *                              are not in the {@code ConcurrentGraph}
+     */
+    public boolean addEdge(T vertexFrom, T vertexTo, S edgeLabel, double weight)
+            throws NullPointerException, GraphException {
+        if (vertexFrom == null)
+            throw new NullPointerException(
+                    "addEdge(vertexFrom, vertexTo, edgeLabel, weight): vertexFrom must not be null");
+
+        if (vertexTo == null)
+            throw new NullPointerException(
+                    "addEdge(vertexFrom, vertexTo, edgeLabel, weight): vertexTo must not be null");
+
+        if (edgeLabel == null)
+            throw new NullPointerException(
+                    "addEdge(vertexFrom, vertexTo, edgeLabel, weight): edgeLabel must not be null");
+
+        lockEnds(vertexFrom, vertexTo);
+        try {
+            Adjacency<T, S> from = this.vertices.get(vertexFrom);
+            Adjacency<T, S> to = this.vertices.get(vertexTo);
+
+            if (from == null)
+                throw new GraphException("There is no vertexFrom:" + vertexFrom + " in the Graph");
+
+            if (to == null)
+                throw new GraphException("There is no vertexTo:" + vertexTo + " in the Graph");
+
+            Arc<S> arc = new Arc<>(edgeLabel, weight);
+
+            if (from.out.putIfAbsent(vertexTo, arc) != null)
+                return false;
+            to.in.add(vertexFrom);
+
+            if (!isDirected()) {
+                to.out.put(vertexFrom, arc);
+                from.in.add(vertexTo);
+            }
+
+            this.edges.incrementAndGet();
+
+            return true;
+        } finally {
+            unlockEnds(vertexFrom, vertexTo);
+        }
+    }
+
+    /**
+     * @param vertexFrom
+     * @param vertexTo
+     * @return {@code TRUE} iff the edge was in the {@code ConcurrentGraph},
+     *         {@code FALSE} otherwise
+     * @throws NullPointerException iff {@code vertexFrom} OR {@code vertexTo} are
+     *                              {@code null}
+     */
+    public boolean removeEdge(T vertexFrom, T vertexTo) throws NullPointerException {
+        if (vertexFrom == null)
+            throw new NullPointerException("removeEdge(vertexFrom, vertexTo): vertexFrom must not be null");
+
+        if (vertexTo == null)
+            throw new NullPointerException("removeEdge(vertexFrom, vertexTo): vertexTo must not be null");
+
+        lockEnds(vertexFrom, vertexTo);
+        try {
+            Adjacency<T, S> from = this.vertices.get(vertexFrom);
+            Adjacency<T, S> to = this.vertices.get(vertexTo);
+
+            if (from == null || to == null || from.out.remove(vertexTo) == null)
+                return false;
+            to.in.remove(vertexFrom);
+
+            if (!isDirected()) {
+                to.out.remove(vertexFrom);
+                from.in.remove(vertexTo);
+            }
+
+            this.edges.decrementAndGet();
+
+            return true;
+        } finally {
+            unlockEnds(vertexFrom, vertexTo);
+        }
+    }
+
+    /**
+     * @param vertexFrom
+     * @param vertexTo
+     * @return {@code TRUE} iff there is an edge from {@code vertexFrom} to
+     *         {@code vertexTo}, {@code FALSE} otherwise
+     * @throws NullPointerException iff {@code vertexFrom} OR {@code vertexTo} are
+     *                              {@code null}
+     */
+    public boolean containsEdge(T vertexFrom, T vertexTo) throws NullPointerException {
+        return arc("containsEdge", vertexFrom, vertexTo) != null;
+    }
+
+    /**
+     * @param vertexFrom
+     * @param vertexTo
+     * @return the label of the edge from {@code vertexFrom} to {@code vertexTo},
+     *         {@code null} if there is no such edge
+     * @throws NullPointerException iff {@code vertexFrom} OR {@code vertexTo} are
+     *                              {@code null}
+     */
+    public S getEdgeLabel(T vertexFrom, T vertexTo) throws NullPointerException {
+        Arc<S> arc = arc("getEdgeLabel", vertexFrom, vertexTo);
+
+        return (arc == null) ? null : arc.label;
+    }
+
+    /**
+     * @param vertexFrom
+     * @param vertexTo
+     * @return the {@code weight} of the edge from {@code vertexFrom} to
+     *         {@code vertexTo}
+     * @throws NullPointerException iff {@code vertexFrom} OR {@code vertexTo} are
+     *                              {@code null}
+     * @throws GraphException       if there is no such edge
+     */
+    public double getWeight(T vertexFrom, T vertexTo) throws NullPointerException, GraphException {
+        Arc<S> arc = arc("getWeight", vertexFrom, vertexTo);
+
+        if (arc == null)
+            throw new GraphException(
+                    "There is no edge between vertexFrom:" + vertexFrom + " and vertexTo:" + vertexTo + " in the Graph");
+
+        return arc.weight;
+    }
+
+    /**
+     * @param vertexFrom
+     * @param vertexTo
+     * @param weight     new {@code weight} of the edge
+     * @throws NullPointerException iff {@code vertexFrom} OR {@code vertexTo} are
+     *                              {@code null}
+     * @throws GraphException       if there is no such edge
+     */
+    public void setWeight(T vertexFrom, T vertexTo, double weight) throws NullPointerException, GraphException {
+        updateWeight(vertexFrom, vertexTo, w -> weight);
+    }
+
+    /**
+     * Change the {@code weight} of an edge atomically, e.g. to add a delay
+     *
+     * @param vertexFrom
+     * @param vertexTo
+     * @param update     called once with the current {@code weight}, under the
+     *                   lock of the stripe
+     * @return the new {@code weight}
+     * @throws NullPointerException iff {@code vertexFrom} OR {@code vertexTo} OR
+     *                              {@code update} are {@code null}
+     * @throws GraphException       if there is no such edge
+     */
+    public double updateWeight(T vertexFrom, T vertexTo, DoubleUnaryOperator update)
+            throws NullPointerException, GraphException {
+        if (vertexFrom == null)
+            throw new NullPointerException("updateWeight(vertexFrom, vertexTo, update): vertexFrom must not be null");
+
+        if (vertexTo == null)
+            throw new NullPointerException("updateWeight(vertexFrom, vertexTo, update): vertexTo must not be null");
+
+        if (update == null)
+            throw new NullPointerException("updateWeight(vertexFrom, vertexTo, update): update must not be null");
+
+        lockEnds(vertexFrom, vertexTo);
+        try {
+            Arc<S> arc = arc("updateWeight", vertexFrom, vertexTo);
+
+            if (arc == null)
+                throw new GraphException("There is no edge between vertexFrom:" + vertexFrom + " and vertexTo:"
+                        + vertexTo + " in the Graph");
+
+            double ris = update.applyAsDouble(arc.weight);
+            arc.weight = ris;
+
+            return ris;
+        } finally {
+            unlockEnds(vertexFrom, vertexTo);
+        }
+    }
+
+    /**
+     * Call {@code visitor} with the label of every adjacent of the vertex and the
+     * {@code weight} of the edge going to it, without locking; changes made
+     * meanwhile may or may not be seen
+     *
+     * @param vertexLabel vertex whose adjacents you want to visit
+     * @param visitor     called for every adjacent
+     * @throws NullPointerException iff {@code vertexLabel} OR {@code visitor}
+     *                              are {@code null}
+     * @throws GraphException       if {@code vertexLabel} is not in the
+     *                              {@code ConcurrentGraph}
+     * @throws X                    thrown by {@code visitor}, which ends the walk
+     */
+    public <X extends Exception> void forEachNeighbor(T vertexLabel, NeighborVisitor<? super T, X> visitor)
+            throws NullPointerException, GraphException, X {
+        if (vertexLabel == null)
+            throw new NullPointerException("forEachNeighbor(vertexLabel, visitor): vertexLabel must not be null");
+
+        if (visitor == null)
+            throw new NullPointerException("forEachNeighbor(vertexLabel, visitor): visitor must not be null");
+
+        Adjacency<T, S> vertex = this.vertices.get(vertexLabel);
+
+        if (vertex == null)
+            throw new GraphException("There is no vertex:" + vertexLabel + " in the Graph");
+
+        for (Entry<T, Arc<S>> e : vertex.out.entrySet())
+            visitor.visit(e.getKey(), e.getValue().weight);
+    }
+
+    /**
+     * Take a consistent snapshot of the {@code ConcurrentGraph}: every stripe is
+     * locked for reading meanwhile, so no change is half seen, while the reads
+     * go on
+     *
+     * @return a new {@link CsrGraph} with the vertices and edges of the
+     *         {@code ConcurrentGraph}
+     */
+    public CsrGraph<T> snapshot() {
+        lockAll(true);
+        try {
+            return CsrGraph.of(this.type, this.vertices, vertex -> vertex.out, arc -> arc.weight);
+        } finally {
+            unlockAll(true);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    private Arc<S> arc(String method, T vertexFrom, T vertexTo) throws NullPointerException {
+        if (vertexFrom == null)
+            throw new NullPointerException(method + "(vertexFrom, vertexTo): vertexFrom must not be null");
+
+        if (vertexTo == null)
+            throw new NullPointerException(method + "(vertexFrom, vertexTo): vertexTo must not be null");
+
+        Adjacency<T, S> from = this.vertices.get(vertexFrom);
+
+        return (from == null) ? null : from.out.get(vertexTo);
+    }
+
+    private int stripeIndex(T vertexLabel) {
+        int h = vertexLabel.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (this.stripes.length - 1);
+    }
+
+    private ReentrantReadWriteLock stripe(T vertexLabel) {
+        return this.stripes[stripeIndex(vertexLabel)];
+    }
+
+    /**
+     * Lock the stripe of {@code vertexFrom}, also the one of {@code vertexTo}
+     * for an {@code UNDIRECTED} {@code ConcurrentGraph}, the lower index first
+     */
+    private void lockEnds(T vertexFrom, T vertexTo) {
+        int a = stripeIndex(vertexFrom);
+        int b = isDirected() ? a : stripeIndex(vertexTo);
+
+        this.stripes[Math.min(a, b)].writeLock().lock();
+        if (a != b)
+            this.stripes[Math.max(a, b)].writeLock().lock();
+    }
+
+    private void unlockEnds(T vertexFrom, T vertexTo) {
+        int a = stripeIndex(vertexFrom);
+        int b = isDirected() ? a : stripeIndex(vertexTo);
+
+        if (a != b)
+            this.stripes[Math.max(a, b)].writeLock().unlock();
+        this.stripes[Math.min(a, b)].writeLock().unlock();
+    }
+
+    private void lockAll(boolean read) {
+        for (ReentrantReadWriteLock stripe : this.stripes) {
+            if (read)
+                stripe.readLock().lock();
+            else
+                stripe.writeLock().lock();
+        }
+    }
+
+    private void unlockAll(boolean read) {
+        for (int i = this.stripes.length - 1; i >= 0; i--) {
+            if (read)
+                this.stripes[i].readLock().unlock();
+            else
+                this.stripes[i].writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package graph;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConcurrentGraphTests {
+    private ConcurrentGraph<Integer, String> graph = null;
+
+    @Before
+    public void createGraph() {
+        graph = new ConcurrentGraph<>(GraphType.DIRECTED);
+        for (int i = 0; i < 4; i++)
+            graph.addVertex(i);
+    }
+
+    @Test
+    public void testAddEdge() throws GraphException {
+        assertTrue(graph.addEdge(0, 1, "a", 2.5));
+        assertFalse(graph.addEdge(0, 1, "b", 1));
+        assertTrue(graph.containsEdge(0, 1));
+        assertFalse(graph.containsEdge(1, 0));
+        assertEquals("a", graph.getEdgeLabel(0, 1));
+        assertEquals(2.5, graph.getWeight(0, 1), 0);
+        assertEquals(1, graph.getNumberEdges());
+    }
+
+    @Test(expected = GraphException.class)
+    public void testAddEdge_MissingVertex() throws GraphException {
+        graph.addEdge(0, 9, "a", 1);
+    }
+
+    @Test(expected = GraphException.class)
+    public void testGetWeight_MissingEdge() throws GraphException {
+        graph.getWeight(0, 1);
+    }
+
+    @Test(expected = GraphException.class)
+    public void testBadStripes() throws GraphException {
+        new ConcurrentGraph<Integer, String>(GraphType.DIRECTED, 3);
+    }
+
+    @Test
+    public void testUpdateWeight() throws GraphException {
+        graph.addEdge(0, 1, "a", 2);
+        assertEquals(5, graph.updateWeight(0, 1, w -> w + 3), 0);
+        graph.setWeight(0, 1, 7);
+        assertEquals(7, graph.getWeight(0, 1), 0);
+    }
+
+    @Test
+    public void testUndirectedSharesWeight() throws GraphException {
+        ConcurrentGraph<Integer, String> undirected = new ConcurrentGraph<>(GraphType.UNDIRECTED);
+        undirected.addVertex(0);
+        undirected.addVertex(1);
+        undirected.addEdge(0, 1, "a", 1);
+        undirected.setWeight(1, 0, 4);
+        assertEquals(4, undirected.getWeight(0, 1), 0);
+        assertEquals(1, undirected.getNumberEdges());
+        assertTrue(undirected.removeEdge(1, 0));
+        assertFalse(undirected.containsEdge(0, 1));
+        assertEquals(0, undirected.getNumberEdges());
+    }
+
+    @Test
+    public void testRemoveVertex() throws GraphException {
+        graph.addEdge(0, 1, "a", 1);
+        graph.addEdge(1, 2, "b", 1);
+        graph.addEdge(2, 1, "c", 1);
+        graph.addEdge(1, 1, "d", 1);
+        assertTrue(graph.removeVertex(1));
+        assertFalse(graph.removeVertex(1));
+        assertFalse(graph.containsEdge(0, 1));
+        assertFalse(graph.containsEdge(2, 1));
+        assertEquals(0, graph.getNumberEdges());
+    }
+
+    @Test
+    public void testForEachNeighbor() throws GraphException {
+        graph.addEdge(0, 1, "a", 1);
+        graph.addEdge(0, 2, "b", 2);
+        Set<Integer> seen = new HashSet<>();
+        graph.forEachNeighbor(0, (v, weight) -> {
+            seen.add(v);
+            assertEquals(v, weight, 0);
+        });
+        assertEquals(2, seen.size());
+    }
+
+    @Test
+    public void testSnapshot() throws GraphException {
+        graph.addEdge(0, 1, "a", 3);
+        CsrGraph<Integer> csr = graph.snapshot();
+        graph.setWeight(0, 1, 9);
+        assertEquals(4, csr.getNumberVertices());
+        assertEquals(3, csr.getWeight(csr.findEdge(csr.getId(0), csr.getId(1))), 0);
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws Exception {
+        ConcurrentGraph<Integer, String> undirected = new ConcurrentGraph<>(GraphType.UNDIRECTED, 4);
+        int n = 32;
+        for (int i = 0; i < n; i++)
+            undirected.addVertex(i);
+        for (int i = 1; i < n; i++)
+            undirected.addEdge(0, i, "e", 0);
+
+        int threads = 8;
+        int rounds = 2000;
+        CountDownLatch done = new CountDownLatch(threads);
+        Throwable[] failure = new Throwable[1];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            new Thread(() -> {
+                try {
+                    for (int r = 0; r < rounds; r++) {
+                        // both directions change the same edge
+                        int v = 1 + (r % (n - 1));
+                        if (id % 2 == 0)
+                            undirected.updateWeight(0, v, w -> w + 1);
+                        else
+                            undirected.updateWeight(v, 0, w -> w + 1);
+
+                        CsrGraph<Integer> csr = undirected.snapshot();
+                        assertEquals(2 * (n - 1), csr.lastEdge(csr.getNumberVertices() - 1));
+                    }
+                } catch (Throwable e) {
+                    failure[0] = e;
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        done.await();
+
+        assertNull(failure[0]);
+        double sum = 0;
+        for (int i = 1; i < n; i++)
+            sum += undirected.getWeight(i, 0);
+        assertEquals(threads * rounds, sum, 0);
+    }
+}
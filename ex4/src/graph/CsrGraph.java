@@ -0,0 +1,278 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Immutable snapshot of a {@link Graph} in {@code Compressed Sparse Row}
+ * form, built by {@link Graph#freeze()} or {@link ConcurrentGraph#snapshot()}.
+ * <p>
+ * Every vertex is given a dense {@code id} from {@code 0} to
+ * {@code getNumberVertices() - 1}; the edges going out of vertex {@code u}
+ * are the indices from {@code firstEdge(u)} (included) to
+ * {@code lastEdge(u)} (excluded) of two arrays holding their target
+ * {@code id} and their {@code weight}, sorted by target. A traversal reads the
+ * arrays in order, without any hash lookup. The labels can be translated to
+ * ids and back with {@link #getId(Object)} and {@link #getLabel(int)}.
+ * <p>
+ * Later changes to the {@code Graph} are not seen by the snapshot.
+ */
+public final class CsrGraph<T> implements StaticGraph<T> {
+    private final GraphType type;
+    private final Object[] labels; // id -> label
+    private final HashMap<T, Integer> ids; // label -> id
+    private final int[] offsets; // id -> first edge, one more for the end
+    private final int[] targets; // edge -> id of the target
+    private final double[] weights; // edge -> weight
+
+    CsrGraph(GraphType type, Object[] labels, HashMap<T, Integer> ids, int[] offsets, int[] targets,
+            double[] weights) {
+        this.type = type;
+        this.labels = labels;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Number the vertices of a graph in the order of {@code vertices}, then
+     * copy the edges of each one, sorted by target
+     *
+     * @param type      of the graph
+     * @param vertices  label -> vertex
+     * @param adjacents the edges of a vertex, by label of their target
+     * @param weight    the {@code weight} of an edge
+     * @return a new {@code CsrGraph} with the vertices and edges given
+     */
+    static <T, V, E> CsrGraph<T> of(GraphType type, Map<T, V> vertices,
+            Function<? super V, ? extends Map<T, E>> adjacents, ToDoubleFunction<? super E> weight) {
+        int n = vertices.size();
+        Object[] labels = new Object[n];
+        List<Map<T, E>> rows = new ArrayList<>(n);
+        HashMap<T, Integer> ids = new HashMap<>(Math.max(16, (int) (n / 0.75f) + 1));
+        int[] offsets = new int[n + 1];
+
+        int id = 0;
+        for (Entry<T, V> e : vertices.entrySet()) {
+            Map<T, E> row = adjacents.apply(e.getValue());
+            labels[id] = e.getKey();
+            rows.add(row);
+            ids.put(e.getKey(), id);
+            offsets[id + 1] = offsets[id] + row.size();
+            id++;
+        }
+
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+
+        for (int u = 0; u < n; u++) {
+            int i = offsets[u];
+            for (Entry<T, E> e : rows.get(u).entrySet()) {
+                targets[i] = ids.get(e.getKey());
+                weights[i] = weight.applyAsDouble(e.getValue());
+                i++;
+            }
+            sortRow(targets, weights, offsets[u], offsets[u + 1]);
+        }
+
+        return new CsrGraph<>(type, labels, ids, offsets, targets, weights);
+    }
+
+    /**
+     * Sort the edges from {@code first} (included) to {@code last} (excluded)
+     * by target, moving their weights with them
+     */
+    static void sortRow(int[] targets, double[] weights, int first, int last) {
+        int degree = last - first;
+
+        // each edge is keyed by its target in the high bits and its place in the
+        // row in the low bits, so one primitive sort orders the row
+        long[] row = new long[degree];
+        double[] rowWeights = Arrays.copyOfRange(weights, first, last);
+        for (int i = 0; i < degree; i++)
+            row[i] = ((long) targets[first + i] << 32) | i;
+        Arrays.sort(row);
+
+        for (int i = 0; i < degree; i++) {
+            targets[first + i] = (int) (row[i] >>> 32);
+            weights[first + i] = rowWeights[(int) row[i]];
+        }
+    }
+
+    /**
+     * @return the {@code type} of the {@code Graph} frozen
+     */
+    @Override
+    public GraphType getType() {
+        return this.type;
+    }
+
+    /**
+     * @return {@code TRUE} iff the {@code Graph} frozen is {@code Directed},
+     *         {@code FALSE} otherwise
+     */
+    @Override
+    public boolean isDirected() {
+        return this.type == GraphType.DIRECTED;
+    }
+
+    /**
+     * @return the number of vertices
+     */
+    @Override
+    public int getNumberVertices() {
+        return this.labels.length;
+    }
+
+    /**
+     * @return the number of edges, counted as {@link Graph#getNumberEdges()}
+     *         does
+     */
+    @Override
+    public int getNumberEdges() {
+        return isDirected() ? this.targets.length : this.targets.length / 2;
+    }
+
+    /**
+     * @param vertexLabel
+     * @return the {@code id} of the vertex with the given label, {@code -1} if
+     *         there is no such vertex
+     * @throws NullPointerException iff {@code vertexLabel} is {@code null}
+     */
+    @Override
+    public int getId(T vertexLabel) throws NullPointerException {
+        if (vertexLabel == null)
+            throw new NullPointerException("getId(vertexLabel): vertexLabel must not be null");
+
+        Integer id = this.ids.get(vertexLabel);
+
+        return (id == null) ? -1 : id;
+    }
+
+    /**
+     * @param id of the vertex
+     * @return the label of the vertex with the given {@code id}
+     * @throws IndexOutOfBoundsException iff {@code id} is not a vertex
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public T getLabel(int id) throws IndexOutOfBoundsException {
+        return (T) this.labels[id];
+    }
+
+    /**
+     * @param id of the vertex
+     * @return the number of edges going out of the vertex
+     */
+    @Override
+    public int getOutDegree(int id) {
+        return this.offsets[id + 1] - this.offsets[id];
+    }
+
+    @Override
+    public <X extends Exception> void forEachArc(int id, ArcVisitor<X> visitor) throws X {
+        for (int e = this.offsets[id]; e < this.offsets[id + 1]; e++)
+            visitor.visit(this.targets[e], this.weights[e]);
+    }
+
+    /**
+     * @param id of the vertex
+     * @return the index of the first edge going out of the vertex
+     */
+    public int firstEdge(int id) {
+        return this.offsets[id];
+    }
+
+    /**
+     * @param id of the vertex
+     * @return the index after the last edge going out of the vertex
+     */
+    public int lastEdge(int id) {
+        return this.offsets[id + 1];
+    }
+
+    /**
+     * @param edge index of the edge
+     * @return the {@code id} of the vertex the edge goes to
+     */
+    public int getTarget(int edge) {
+        return this.targets[edge];
+    }
+
+    /**
+     * @param edge index of the edge
+     * @return the {@code weight} of the edge
+     */
+    public double getWeight(int edge) {
+        return this.weights[edge];
+    }
+
+    /**
+     * @param from id of the first vertex
+     * @param to   id of the second vertex
+     * @return the index of the edge from {@code from} to {@code to}, {@code -1}
+     *         if there is no such edge
+     */
+    public int findEdge(int from, int to) {
+        int ris = Arrays.binarySearch(this.targets, this.offsets[from], this.offsets[from + 1], to);
+
+        return (ris < 0) ? -1 : ris;
+    }
+
+    /**
+     * Visit the vertices in {@code Breadth First} order from {@code source}
+     *
+     * @param source id of the first vertex
+     * @return the number of edges on the shortest path from {@code source} to
+     *         every vertex, by id; {@code -1} for the vertices not reached
+     */
+    @Override
+    public int[] bfs(int source) {
+        int[] hops = new int[this.labels.length];
+        Arrays.fill(hops, -1);
+
+        // the ids in the queue are also the visiting order
+        int[] queue = new int[this.labels.length];
+        int head = 0;
+        int tail = 0;
+
+        hops[source] = 0;
+        queue[tail++] = source;
+
+        while (head < tail) {
+            int u = queue[head++];
+
+            for (int e = this.offsets[u]; e < this.offsets[u + 1]; e++) {
+                int v = this.targets[e];
+                if (hops[v] < 0) {
+                    hops[v] = hops[u] + 1;
+                    queue[tail++] = v;
+                }
+            }
+        }
+
+        return hops;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder("{\n");
+        for (int u = 0; u < this.labels.length; u++) {
+            s.append("  ").append(this.labels[u]).append(": {");
+            for (int e = this.offsets[u]; e < this.offsets[u + 1]; e++) {
+                if (e > this.offsets[u])
+                    s.append(", ");
+                s.append(this.labels[this.targets[e]]).append('=').append(this.weights[e]);
+            }
+            s.append("}\n");
+        }
+        return s.append('}').toString();
+    }
+}
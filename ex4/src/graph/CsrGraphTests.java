@@ -0,0 +1,95 @@
+package graph;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CsrGraphTests {
+    private Graph<String, String> graph = null;
+
+    @Before
+    public void createGraph() throws GraphException {
+        graph = new Graph<>(GraphType.DIRECTED);
+        for (String v : new String[] { "a", "b", "c", "d", "e" })
+            graph.addVertex(v);
+
+        addEdge("a", "b", 1);
+        addEdge("a", "c", 4);
+        addEdge("b", "c", 2);
+        addEdge("c", "d", 1);
+    }
+
+    private void addEdge(String from, String to, double weight) throws GraphException {
+        graph.addEdge(from, to, from + "-" + to);
+        graph.getEdge(from, to).setWeight(weight);
+    }
+
+    @Test
+    public void testFreezeCounts() {
+        CsrGraph<String> csr = graph.freeze();
+        assertEquals(5, csr.getNumberVertices());
+        assertEquals(4, csr.getNumberEdges());
+        assertTrue(csr.isDirected());
+    }
+
+    @Test
+    public void testIdsAndLabels() {
+        CsrGraph<String> csr = graph.freeze();
+        for (String v : graph.getVerticesLabel())
+            assertEquals(v, csr.getLabel(csr.getId(v)));
+        assertEquals(-1, csr.getId("z"));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testGetIdNull() {
+        graph.freeze().getId(null);
+    }
+
+    @Test
+    public void testEdges() {
+        CsrGraph<String> csr = graph.freeze();
+        int a = csr.getId("a");
+        assertEquals(2, csr.getOutDegree(a));
+        assertEquals(0, csr.getOutDegree(csr.getId("e")));
+
+        int e = csr.findEdge(a, csr.getId("c"));
+        assertEquals(4, csr.getWeight(e), 0);
+        assertEquals(csr.getId("c"), csr.getTarget(e));
+        assertEquals(-1, csr.findEdge(csr.getId("c"), a));
+
+        // the edges of a row are sorted by target
+        for (int u = 0; u < csr.getNumberVertices(); u++)
+            for (int i = csr.firstEdge(u) + 1; i < csr.lastEdge(u); i++)
+                assertTrue(csr.getTarget(i - 1) < csr.getTarget(i));
+    }
+
+    @Test
+    public void testBfs() {
+        CsrGraph<String> csr = graph.freeze();
+        int[] hops = csr.bfs(csr.getId("a"));
+        assertEquals(0, hops[csr.getId("a")]);
+        assertEquals(1, hops[csr.getId("b")]);
+        assertEquals(1, hops[csr.getId("c")]);
+        assertEquals(2, hops[csr.getId("d")]);
+        assertEquals(-1, hops[csr.getId("e")]);
+    }
+
+    @Test
+    public void testUndirected() throws GraphException {
+        Graph<Integer, Character> undirected = new Graph<>(GraphType.UNDIRECTED);
+        undirected.addVertex(1);
+        undirected.addVertex(2);
+        undirected.addEdge(1, 2, 'A');
+        CsrGraph<Integer> csr = undirected.freeze();
+        assertEquals(1, csr.getNumberEdges());
+        assertEquals(1, csr.getOutDegree(csr.getId(2)));
+    }
+
+    @Test
+    public void testSnapshotIsNotChanged() throws GraphException {
+        CsrGraph<String> csr = graph.freeze();
+        addEdge("d", "e", 3);
+        assertEquals(4, csr.getNumberEdges());
+        assertEquals(0, csr.getOutDegree(csr.getId("d")));
+    }
+}
@@ -1,20 +1,25 @@
 package graph;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashSet;
-import java.util.Hashtable;
 import java.util.Set;
 import java.util.Map.Entry;
 
 public class Graph<T, S> {
-    private Hashtable<T, Vertex<T, S>> vertices = null;
+    private OpenHashMap<T, Vertex<T, S>> vertices = null;
     private GraphType type = GraphType.DIRECTED;
+    private int arcs = 0; // sum of the out-degrees, kept up to date by the vertices
+    private int[] degreeCounts = new int[8]; // out-degree -> number of vertices
+    private int maxDegree = 0;
 
     /**
      * Init a {@code Directed} {@code Graph}
      */
     public Graph() {
-        this.vertices = new Hashtable<>();
+        this.vertices = new OpenHashMap<>();
     }
 
     /**
@@ -24,7 +29,7 @@ public class Graph<T, S> {
      * @see GraphType
      */
     public Graph(GraphType type) {
-        this.vertices = new Hashtable<>();
+        this.vertices = new OpenHashMap<>();
         this.type = type;
     }
 
@@ -54,13 +59,57 @@ public class Graph<T, S> {
      * @return the number of edges
      */
     public int getNumberEdges() {
-        int sum = 0;
+        return (isDirected() ? arcs : arcs / 2);
+    }
 
-        for (T a : vertices.keySet()) {
-            sum += vertices.get(a).getOutDegree();
-        }
+    /**
+     * @return the greatest out-degree of a vertex, {@code 0} for an empty
+     *         {@code Graph}
+     */
+    public int getMaxDegree() {
+        return maxDegree;
+    }
+
+    /**
+     * @return the average out-degree of the vertices, {@code 0} for an empty
+     *         {@code Graph}
+     */
+    public double getAverageDegree() {
+        return vertices.size() == 0 ? 0 : (double) arcs / vertices.size();
+    }
 
-        return (isDirected() ? sum : sum / 2);
+    /**
+     * @return a new array where the element {@code d} is the number of vertices
+     *         with out-degree {@code d}, up to {@link #getMaxDegree()}
+     */
+    public int[] getDegreeHistogram() {
+        return Arrays.copyOf(degreeCounts, maxDegree + 1);
+    }
+
+    /**
+     * Called by a {@code Vertex} of the {@code Graph} when its out-degree
+     * changes, to keep the counters up to date
+     */
+    void outDegreeChanged(int oldDegree, int newDegree) {
+        arcs += newDegree - oldDegree;
+        uncountDegree(oldDegree);
+        countDegree(newDegree);
+    }
+
+    private void countDegree(int degree) {
+        if (degree >= degreeCounts.length)
+            degreeCounts = Arrays.copyOf(degreeCounts, Math.max(degree + 1, degreeCounts.length * 2));
+
+        degreeCounts[degree]++;
+        maxDegree = Math.max(maxDegree, degree);
+    }
+
+    private void uncountDegree(int degree) {
+        degreeCounts[degree]--;
+
+        // the greatest degree left is found going down from the previous one
+        while (maxDegree > 0 && degreeCounts[maxDegree] == 0)
+            maxDegree--;
     }
 
     /**
@@ -79,7 +128,13 @@ public class Graph<T, S> {
 
         Vertex<T, S> newVertex = new Vertex<>(vertexLabel);
 
-        return (vertices.putIfAbsent(vertexLabel, newVertex) == null);
+        if (vertices.putIfAbsent(vertexLabel, newVertex) != null)
+            return false;
+
+        newVertex.setOwner(this);
+        countDegree(0);
+
+        return true;
     }
 
     /**
@@ -184,6 +239,9 @@ public class Graph<T, S> {
     }
 
     /**
+     * Remove the vertex and every edge coming to it, in time proportional to
+     * its degree; the {@code Vertex} returned keeps its outgoing edges
+     * 
      * @param vertexLabel to remove
      * @return the {@code Vertex} removed with the given label
      * @throws NullPointerException iff {@code vertexLabel} is {@code null}
@@ -192,22 +250,96 @@ public class Graph<T, S> {
         if (vertexLabel == null)
             throw new NullPointerException("removeVertex(vertexLabel): vertexLabel must not be null");
 
-        Vertex<T, S> ris = vertices.remove(vertexLabel);
+        Vertex<T, S> ris = vertices.get(vertexLabel);
 
         if (ris != null) {
-            Set<T> verticesLabel = getVerticesLabel();
-
-            for (T vLabel : verticesLabel) {
-                Vertex<T, S> curr = this.vertices.get(vLabel);
-                if (curr.hasAdjacent(vertexLabel)) {
-                    curr.removeEdge(vertexLabel);
+            // the predecessors lose their edge to the vertex
+            OpenHashMap<T, Edge<S>> incomings = ris.incomings();
+            OpenHashMap.Table<T, Edge<S>> slots = incomings.table();
+            for (int i = 0; i < slots.capacity(); i++) {
+                T predLabel = slots.keyAt(i);
+                if (predLabel != null && !predLabel.equals(vertexLabel)) {
+                    Vertex<T, S> pred = vertices.get(predLabel);
+                    pred.adjacents().remove(vertexLabel);
+                    outDegreeChanged(pred.getOutDegree() + 1, pred.getOutDegree());
                 }
             }
+            incomings.clear();
+
+            // the adjacents lose the vertex from their predecessors
+            OpenHashMap.Table<T, Edge<S>> adjacents = ris.adjacents().table();
+            for (int i = 0; i < adjacents.capacity(); i++) {
+                T adjLabel = adjacents.keyAt(i);
+                Vertex<T, S> adjacent = (adjLabel == null) ? null : vertices.get(adjLabel);
+                if (adjacent != null && adjacent != ris)
+                    adjacent.incomings().remove(vertexLabel);
+            }
+
+            // the outgoing edges stay with the vertex, out of the Graph
+            arcs -= ris.getOutDegree();
+            uncountDegree(ris.getOutDegree());
+
+            vertices.remove(vertexLabel);
+            ris.setOwner(null);
         }
 
         return ris;
     }
 
+    /**
+     * @param vertexLabel
+     * @return the number of edges coming to the vertex with the given label
+     * @throws NullPointerException iff {@code vertexLabel} is {@code null}
+     * @throws GraphException       if {@code vertexLabel} is not in the
+     *                              {@code Graph}
+     */
+    public int getInDegree(T vertexLabel) throws NullPointerException, GraphException {
+        if (vertexLabel == null)
+            throw new NullPointerException("getInDegree(vertexLabel): vertexLabel must not be null");
+
+        Vertex<T, S> vertex = vertices.get(vertexLabel);
+
+        if (vertex == null)
+            throw new GraphException("There is no vertex:" + vertexLabel + " in the Graph");
+
+        return vertex.getInDegree();
+    }
+
+    /**
+     * Call {@code visitor} with every {@code Vertex} that has an edge to the
+     * vertex with the given label and the {@code weight} of that edge, to walk
+     * the {@code Graph} backwards; the {@code Graph} must not change during the
+     * walk
+     * 
+     * @param vertexLabel vertex whose predecessors you want to visit
+     * @param visitor     called for every predecessor
+     * @throws NullPointerException iff {@code vertexLabel} OR {@code visitor}
+     *                              are {@code null}
+     * @throws GraphException       if {@code vertexLabel} is not in the
+     *                              {@code Graph}
+     * @throws X                    thrown by {@code visitor}, which ends the walk
+     */
+    public <X extends Exception> void forEachPredecessor(T vertexLabel,
+            NeighborVisitor<? super Vertex<T, S>, X> visitor) throws NullPointerException, GraphException, X {
+        if (vertexLabel == null)
+            throw new NullPointerException("forEachPredecessor(vertexLabel, visitor): vertexLabel must not be null");
+
+        if (visitor == null)
+            throw new NullPointerException("forEachPredecessor(vertexLabel, visitor): visitor must not be null");
+
+        Vertex<T, S> vertex = vertices.get(vertexLabel);
+
+        if (vertex == null)
+            throw new GraphException("There is no vertex:" + vertexLabel + " in the Graph");
+
+        OpenHashMap.Table<T, Edge<S>> incomings = vertex.incomings().table();
+        for (int i = 0; i < incomings.capacity(); i++) {
+            Edge<S> edge = incomings.valueAt(i);
+            if (edge != null)
+                visitor.visit(vertices.get(incomings.keyAt(i)), edge.getWeight());
+        }
+    }
+
     /**
      * @param vertexLabel vertex whose adjacents label you want to know
      * @return a {@link Set} of adjacents label of the given {@code vertexLabel}
@@ -247,6 +379,58 @@ public class Graph<T, S> {
         return adjVertices;
     }
 
+    /**
+     * Call {@code visitor} with every {@code Vertex} adjacent of the vertex with
+     * the given label and the {@code weight} of the edge going to it, without
+     * building any collection; the {@code Graph} must not change during the walk
+     * 
+     * @param vertexLabel vertex whose adjacents you want to visit
+     * @param visitor     called for every adjacent
+     * @throws NullPointerException iff {@code vertexLabel} OR {@code visitor}
+     *                              are {@code null}
+     * @throws GraphException       if {@code vertexLabel} is not in the
+     *                              {@code Graph}
+     * @throws X                    thrown by {@code visitor}, which ends the walk
+     */
+    public <X extends Exception> void forEachNeighbor(T vertexLabel, NeighborVisitor<? super Vertex<T, S>, X> visitor)
+            throws NullPointerException, GraphException, X {
+        if (vertexLabel == null)
+            throw new NullPointerException("forEachNeighbor(vertexLabel, visitor): vertexLabel must not be null");
+
+        if (visitor == null)
+            throw new NullPointerException("forEachNeighbor(vertexLabel, visitor): visitor must not be null");
+
+        Vertex<T, S> vertex = vertices.get(vertexLabel);
+
+        if (vertex == null)
+            throw new GraphException("There is no vertex:" + vertexLabel + " in the Graph");
+
+        OpenHashMap.Table<T, Edge<S>> adjacents = vertex.adjacents().table();
+        for (int i = 0; i < adjacents.capacity(); i++) {
+            Edge<S> edge = adjacents.valueAt(i);
+            if (edge != null)
+                visitor.visit(vertices.get(adjacents.keyAt(i)), edge.getWeight());
+        }
+    }
+
+    /**
+     * @return a read-only view of the vertices, which follows the changes of the
+     *         {@code Graph}
+     * @see #getVertices()
+     */
+    public Collection<Vertex<T, S>> vertices() {
+        return Collections.unmodifiableCollection(this.vertices.values());
+    }
+
+    /**
+     * @return a read-only view of the vertices label, which follows the changes
+     *         of the {@code Graph}
+     * @see #getVerticesLabel()
+     */
+    public Set<T> verticesLabel() {
+        return Collections.unmodifiableSet(this.vertices.keySet());
+    }
+
     /**
      * Check if the two vertices are adjacents
      * 
@@ -348,6 +532,48 @@ public class Graph<T, S> {
         }
     }
 
+    /**
+     * Add an edge and set its {@code weight} with one lookup per vertex; if the
+     * edge already exists only its {@code weight} is changed
+     * 
+     * @param vertexFrom
+     * @param vertexTo
+     * @param edgeLabel
+     * @param weight
+     * @throws NullPointerException iff {@code vertexFrom} OR {@code vertexTo} OR
+     *                              {@code edgeLabel} are {@code null}
+     * @throws GraphException       if {@code vertexFrom} OR {@code vertexTo}
+     *                              are not in the {@code Graph}
+     */
+    public void addEdge(T vertexFrom, T vertexTo, S edgeLabel, double weight)
+            throws NullPointerException, GraphException {
+        if (vertexFrom == null)
+            throw new NullPointerException(
+                    "addEdge(vertexFrom, vertexTo, edgeLabel, weight): vertexFrom must not be null");
+
+        if (vertexTo == null)
+            throw new NullPointerException(
+                    "addEdge(vertexFrom, vertexTo, edgeLabel, weight): vertexTo must not be null");
+
+        if (edgeLabel == null)
+            throw new NullPointerException(
+                    "addEdge(vertexFrom, vertexTo, edgeLabel, weight): edgeLabel must not be null");
+
+        Vertex<T, S> firstVertex = vertices.get(vertexFrom);
+        Vertex<T, S> secondVertex = vertices.get(vertexTo);
+
+        if (firstVertex == null)
+            throw new GraphException("There is no vertexFrom:" + vertexFrom + " in the Graph");
+
+        if (secondVertex == null)
+            throw new GraphException("There is no vertexTo" + vertexTo + " in the Graph");
+
+        firstVertex.link(secondVertex, edgeLabel).setWeight(weight);
+
+        if (!isDirected())
+            secondVertex.link(firstVertex, edgeLabel).setWeight(weight);
+    }
+
     /**
      * @param vertexA
      * @param vertexB
@@ -395,6 +621,19 @@ public class Graph<T, S> {
         return edgeRemoved;
     }
 
+    /**
+     * Take an immutable snapshot of the {@code Graph} in {@code Compressed
+     * Sparse Row} form, where the vertices are numbered from {@code 0} and the
+     * edges of each vertex are kept next to each other
+     * 
+     * @return a new {@link CsrGraph} with the vertices and edges of the
+     *         {@code Graph}
+     * @see CsrGraph
+     */
+    public CsrGraph<T> freeze() {
+        return CsrGraph.of(this.type, this.vertices, Vertex::adjacents, Edge::getWeight);
+    }
+
     @Override
     public String toString() {
         String s = "{\n";
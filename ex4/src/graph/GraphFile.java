@@ -0,0 +1,324 @@
+package graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary file format of a {@link StaticGraph} with {@code String} labels,
+ * read back by mapping the file into memory, so that the queries start
+ * without parsing anything or building any object per vertex or edge.
+ * <p>
+ * All the numbers are little-endian. The file starts with a header of
+ * {@value #HEADER} bytes:
+ * <pre>
+ *  0 int    magic number, "GRPH"
+ *  4 int    version of the format, {@value #VERSION}
+ *  8 int    0 for a Directed graph, 1 for an Undirected one
+ * 12 int    n, number of vertices
+ * 16 long   m, number of arcs (an Undirected edge is two arcs)
+ * 24 long   position of the label dictionary
+ * 32 long   position of the CSR section
+ * 40 long   position of the weights section
+ * 48 long   size of the file
+ * 56 int    number of slots of the label table, a power of 2
+ * </pre>
+ * followed by three sections, the last two aligned to 8 bytes:
+ * <ul>
+ * <li>label dictionary: the slots of an open addressing table (linear
+ * probing) holding {@code id + 1} of the labels, {@code 0} if empty; the
+ * {@code n + 1} positions of each label into the bytes; the {@code UTF-8}
+ * bytes of the labels, by id</li>
+ * <li>CSR: the {@code n + 1} offsets of the first arc of each vertex, then the
+ * {@code m} targets, sorted by target within each vertex</li>
+ * <li>weights: the {@code m} weights, as {@code double}</li>
+ * </ul>
+ * A section must fit into one mapping, that is {@code 2GB}.
+ *
+ * @see MappedGraph
+ */
+public final class GraphFile {
+
+    static final int MAGIC = 0x48505247; // "GRPH" as a little-endian int
+    static final int VERSION = 1;
+    static final int HEADER = 64;
+
+    private GraphFile() {
+    }
+
+    /**
+     * Write {@code graph} into {@code file}, replacing its content
+     *
+     * @param graph to write
+     * @param file  where to write it
+     * @throws NullPointerException iff {@code graph} OR {@code file} are
+     *                              {@code null}
+     * @throws IOException          if the file cannot be written, or a section
+     *                              would be too large
+     */
+    public static void write(StaticGraph<String> graph, Path file) throws NullPointerException, IOException {
+        if (graph == null)
+            throw new NullPointerException("write(graph, file): graph must not be null");
+
+        if (file == null)
+            throw new NullPointerException("write(graph, file): file must not be null");
+
+        int n = graph.getNumberVertices();
+
+        byte[][] labels = new byte[n][];
+        long labelBytes = 0;
+        long arcs = 0;
+        for (int id = 0; id < n; id++) {
+            labels[id] = graph.getLabel(id).getBytes(StandardCharsets.UTF_8);
+            labelBytes += labels[id].length;
+            arcs += graph.getOutDegree(id);
+        }
+
+        int capacity = 2;
+        while (capacity < 2L * n)
+            capacity <<= 1;
+        int[] slots = new int[capacity];
+        for (int id = 0; id < n; id++) {
+            int i = hash(labels[id], 0, labels[id].length) & (capacity - 1);
+            while (slots[i] != 0)
+                i = (i + 1) & (capacity - 1);
+            slots[i] = id + 1;
+        }
+
+        long labelsAt = HEADER;
+        long csrAt = align(labelsAt + 4L * capacity + 4L * (n + 1) + labelBytes);
+        long weightsAt = align(csrAt + 4L * (n + 1) + 4L * arcs);
+        long size = weightsAt + 8L * arcs;
+
+        if (csrAt - labelsAt > Integer.MAX_VALUE || weightsAt - csrAt > Integer.MAX_VALUE
+                || size - weightsAt > Integer.MAX_VALUE)
+            throw new IOException("write(graph, file): the graph is too large for the format");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Output out = new Output(channel, 0);
+
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(graph.isDirected() ? 0 : 1);
+            out.putInt(n);
+            out.putLong(arcs);
+            out.putLong(labelsAt);
+            out.putLong(csrAt);
+            out.putLong(weightsAt);
+            out.putLong(size);
+            out.putInt(capacity);
+            out.padTo(labelsAt);
+
+            for (int slot : slots)
+                out.putInt(slot);
+            int position = 0;
+            out.putInt(position);
+            for (byte[] label : labels) {
+                position += label.length;
+                out.putInt(position);
+            }
+            for (byte[] label : labels)
+                out.put(label);
+            out.padTo(csrAt);
+
+            int offset = 0;
+            out.putInt(offset);
+            for (int id = 0; id < n; id++) {
+                offset += graph.getOutDegree(id);
+                out.putInt(offset);
+            }
+
+            // the targets go on after the offsets while the weights are written
+            // into their own section, in the same walk
+            Output weights = new Output(channel, weightsAt);
+            ArcVisitor<IOException> arcWriter = (target, weight) -> {
+                out.putInt(target);
+                weights.putDouble(weight);
+            };
+            for (int id = 0; id < n; id++)
+                graph.forEachArc(id, arcWriter);
+            out.padTo(weightsAt);
+
+            out.flush();
+            weights.flush();
+        }
+    }
+
+    /**
+     * Convert a {@code CSV} edge list, as read by {@link GraphLoader}, into a
+     * graph file; no {@link Graph} is built on the way
+     *
+     * @param csv       {@code CSV} edge list
+     * @param file      where to write the graph
+     * @param type      of the graph
+     * @param symmetric iff every line also adds the edge {@code to,from} with the
+     *                  same {@code weight}
+     * @throws NullPointerException iff {@code csv} OR {@code file} OR
+     *                              {@code type} are {@code null}
+     * @throws IOException          if a file cannot be read or written
+     * @throws GraphException       if a line of {@code csv} is malformed
+     */
+    public static void convert(Path csv, Path file, GraphType type, boolean symmetric)
+            throws NullPointerException, IOException, GraphException {
+        if (csv == null)
+            throw new NullPointerException("convert(csv, file, type, symmetric): csv must not be null");
+
+        if (type == null)
+            throw new NullPointerException("convert(csv, file, type, symmetric): type must not be null");
+
+        write(GraphLoader.freeze(csv, type, symmetric), file);
+    }
+
+    /**
+     * Map a graph file into memory; the file may be closed or deleted
+     * afterwards, the mapping stays valid
+     *
+     * @param file written by {@link #write(StaticGraph, Path)}
+     * @return the graph, reading straight from the mapping
+     * @throws NullPointerException iff {@code file} is {@code null}
+     * @throws IOException          if the file cannot be read, or it is not a
+     *                              graph file of a known version
+     */
+    public static MappedGraph map(Path file) throws NullPointerException, IOException {
+        if (file == null)
+            throw new NullPointerException("map(file): file must not be null");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER)
+                throw new IOException("map(file): " + file + " is not a graph file");
+
+            ByteBuffer header = map(channel, 0, HEADER);
+            if (header.getInt(0) != MAGIC)
+                throw new IOException("map(file): " + file + " is not a graph file");
+
+            if (header.getInt(4) != VERSION)
+                throw new IOException("map(file): " + file + " has version " + header.getInt(4)
+                        + ", only version " + VERSION + " is supported");
+
+            int directed = header.getInt(8);
+            int n = header.getInt(12);
+            long arcs = header.getLong(16);
+            long labelsAt = header.getLong(24);
+            long csrAt = header.getLong(32);
+            long weightsAt = header.getLong(40);
+            long size = header.getLong(48);
+            int capacity = header.getInt(56);
+
+            if (size != fileSize || (directed != 0 && directed != 1) || n < 0 || arcs < 0 || arcs > Integer.MAX_VALUE
+                    || labelsAt != HEADER || csrAt < labelsAt || weightsAt < csrAt || weightsAt + 8 * arcs != size
+                    || capacity < 2 || Integer.bitCount(capacity) != 1)
+                throw new IOException("map(file): " + file + " is corrupted");
+
+            ByteBuffer dictionary = map(channel, labelsAt, csrAt - labelsAt);
+            ByteBuffer csr = map(channel, csrAt, weightsAt - csrAt);
+            ByteBuffer weights = map(channel, weightsAt, size - weightsAt);
+
+            int labelOffsetsAt = 4 * capacity;
+            int labelBytesAt = labelOffsetsAt + 4 * (n + 1);
+
+            return new MappedGraph(directed == 0 ? GraphType.DIRECTED : GraphType.UNDIRECTED, n, (int) arcs,
+                    slice(dictionary, 0, labelOffsetsAt).asIntBuffer(),
+                    slice(dictionary, labelOffsetsAt, labelBytesAt - labelOffsetsAt).asIntBuffer(),
+                    slice(dictionary, labelBytesAt, dictionary.capacity() - labelBytesAt),
+                    slice(csr, 0, 4 * (n + 1)).asIntBuffer(),
+                    slice(csr, 4 * (n + 1), (int) (4 * arcs)).asIntBuffer(),
+                    weights.asDoubleBuffer());
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("map(file): " + file + " is corrupted");
+        }
+    }
+
+    /**
+     * @return the hash of a label, from its {@code UTF-8} bytes
+     */
+    static int hash(byte[] bytes, int from, int to) {
+        int h = 1;
+        for (int i = from; i < to; i++)
+            h = 31 * h + bytes[i];
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long length) throws IOException {
+        if (length > Integer.MAX_VALUE)
+            throw new IOException("map(file): a section of " + length + " bytes is too large to be mapped");
+
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int index, int length) {
+        return buffer.slice(index, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Buffered writer of little-endian numbers from a given position of the
+     * file
+     */
+    private static final class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        private long position; // of the first byte into the buffer
+
+        Output(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        void putInt(int value) throws IOException {
+            if (this.buffer.remaining() < 4)
+                flush();
+            this.buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            if (this.buffer.remaining() < 8)
+                flush();
+            this.buffer.putLong(value);
+        }
+
+        void putDouble(double value) throws IOException {
+            if (this.buffer.remaining() < 8)
+                flush();
+            this.buffer.putDouble(value);
+        }
+
+        void put(byte[] bytes) throws IOException {
+            int from = 0;
+            while (from < bytes.length) {
+                if (!this.buffer.hasRemaining())
+                    flush();
+                int length = Math.min(bytes.length - from, this.buffer.remaining());
+                this.buffer.put(bytes, from, length);
+                from += length;
+            }
+        }
+
+        /**
+         * Write zeros up to {@code position}
+         */
+        void padTo(long position) throws IOException {
+            while (this.position + this.buffer.position() < position) {
+                if (!this.buffer.hasRemaining())
+                    flush();
+                this.buffer.put((byte) 0);
+            }
+        }
+
+        void flush() throws IOException {
+            this.buffer.flip();
+            while (this.buffer.hasRemaining())
+                this.position += this.channel.write(this.buffer, this.position);
+            this.buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package graph;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static graph.StaticGraphAssert.assertSameGraph;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GraphFileTests {
+    private Graph<String, String> graph = null;
+    private Path file = null;
+    private Path csv = null;
+
+    @Before
+    public void createGraph() throws GraphException, IOException {
+        graph = new Graph<>(GraphType.DIRECTED);
+        for (String v : new String[] { "a", "b", "c", "d", "citt\u00e0", "e" })
+            graph.addVertex(v);
+
+        graph.addEdge("a", "b", "a-b", 1);
+        graph.addEdge("a", "c", "a-c", 4.5);
+        graph.addEdge("b", "c", "b-c", 2);
+        graph.addEdge("c", "d", "c-d", 1);
+        graph.addEdge("d", "citt\u00e0", "d-citt\u00e0", 0.25);
+        graph.addEdge("citt\u00e0", "a", "citt\u00e0-a", 7);
+
+        file = Files.createTempFile("graph", ".bin");
+        csv = Files.createTempFile("graph", ".csv");
+    }
+
+    @After
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(csv);
+    }
+
+    @Test
+    public void testWriteAndMap() throws IOException {
+        CsrGraph<String> csr = graph.freeze();
+        GraphFile.write(csr, file);
+
+        MappedGraph mapped = GraphFile.map(file);
+        assertSameGraph(csr, mapped);
+        assertTrue(mapped.isDirected());
+        assertEquals(-1, mapped.getId("z"));
+        assertEquals(-1, mapped.getId(""));
+    }
+
+    @Test
+    public void testEdgesByIndex() throws IOException {
+        CsrGraph<String> csr = graph.freeze();
+        GraphFile.write(csr, file);
+        MappedGraph mapped = GraphFile.map(file);
+
+        int a = mapped.getId("a");
+        int c = mapped.getId("c");
+        int edge = mapped.findEdge(a, c);
+        assertEquals(c, mapped.getTarget(edge));
+        assertEquals(4.5, mapped.getWeight(edge), 0);
+        assertEquals(-1, mapped.findEdge(c, a));
+        assertEquals(2, mapped.lastEdge(a) - mapped.firstEdge(a));
+    }
+
+    @Test
+    public void testBfs() throws IOException {
+        CsrGraph<String> csr = graph.freeze();
+        GraphFile.write(csr, file);
+        MappedGraph mapped = GraphFile.map(file);
+
+        int[] hops = mapped.bfs(mapped.getId("a"));
+        assertEquals(0, hops[mapped.getId("a")]);
+        assertEquals(1, hops[mapped.getId("c")]);
+        assertEquals(3, hops[mapped.getId("citt\u00e0")]);
+        assertEquals(-1, hops[mapped.getId("e")]);
+    }
+
+    @Test
+    public void testUndirected() throws IOException, GraphException {
+        Graph<String, String> labelled = new Graph<>(GraphType.UNDIRECTED);
+        for (int i = 0; i < 50; i++)
+            labelled.addVertex("v" + i);
+        for (int i = 0; i < 50; i++) {
+            labelled.addEdge("v" + i, "v" + (i * 7 % 50), "e", i);
+            labelled.addEdge("v" + i, "v" + ((i + 1) % 50), "e", -i);
+        }
+
+        CsrGraph<String> csr = labelled.freeze();
+        GraphFile.write(csr, file);
+        MappedGraph mapped = GraphFile.map(file);
+        assertFalse(mapped.isDirected());
+        assertSameGraph(csr, mapped);
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        GraphFile.write(new Graph<String, String>().freeze(), file);
+        MappedGraph mapped = GraphFile.map(file);
+        assertEquals(0, mapped.getNumberVertices());
+        assertEquals(-1, mapped.getId("a"));
+    }
+
+    @Test
+    public void testConvert() throws IOException, GraphException {
+        Files.write(csv, "a,b,1\nb,c,2\na,b,3\nc,c,4\r\n".getBytes(StandardCharsets.UTF_8));
+
+        Graph<String, String> loaded = new Graph<>();
+        GraphLoader.load(csv, loaded, true, (from, to) -> from + to);
+
+        GraphFile.convert(csv, file, GraphType.DIRECTED, true);
+        MappedGraph mapped = GraphFile.map(file);
+        assertSameGraph(loaded.freeze(), mapped);
+        assertEquals(3, mapped.getWeight(mapped.findEdge(mapped.getId("b"), mapped.getId("a"))), 0);
+    }
+
+    @Test
+    public void testConvertUndirected() throws IOException, GraphException {
+        Files.write(csv, "a,b,1\nb,c,2\nb,a,5\n".getBytes(StandardCharsets.UTF_8));
+
+        Graph<String, String> loaded = new Graph<>(GraphType.UNDIRECTED);
+        GraphLoader.load(csv, loaded, false, (from, to) -> from + to);
+
+        GraphFile.convert(csv, file, GraphType.UNDIRECTED, false);
+        assertSameGraph(loaded.freeze(), GraphFile.map(file));
+    }
+
+    @Test(expected = IOException.class)
+    public void testMapNotAGraph() throws IOException {
+        Files.write(file, new byte[100]);
+        GraphFile.map(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void testMapTruncated() throws IOException {
+        GraphFile.write(graph.freeze(), file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 8));
+        GraphFile.map(file);
+    }
+
+    @Test(expected = GraphException.class)
+    public void testConvertMalformed() throws IOException, GraphException {
+        Files.write(csv, "a,b\n".getBytes(StandardCharsets.UTF_8));
+        GraphFile.convert(csv, file, GraphType.DIRECTED, true);
+    }
+}
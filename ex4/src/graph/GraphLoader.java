@@ -0,0 +1,514 @@
+package graph;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+/**
+ * Bulk loader of a {@link Graph} from a {@code CSV} edge list, one edge per
+ * line as {@code from,to,weight} in {@code UTF-8}.
+ * <p>
+ * The file is read once: it is split into chunks at line boundaries and the
+ * chunks are parsed in parallel, each into arrays of local vertex ids and
+ * weights with its own labels deduplicated on their bytes, so that a
+ * {@code String} is made only once per label and chunk. The {@code Graph} is
+ * then built in a single sequential phase: every distinct label of a chunk is
+ * looked up once, and every edge is added with its weight by reference to its
+ * two vertices, without any lookup by label.
+ * <p>
+ * The edges are added in file order, so when an edge appears more than once
+ * the last {@code weight} wins. Empty lines are skipped and fields after the
+ * third one are ignored.
+ */
+public final class GraphLoader {
+
+    private static final long MIN_CHUNK = 1L << 20; // smaller files are parsed by one task
+    private static final long MAX_CHUNK = 1L << 28; // so that large files are split even on few cores
+    private static final int BLOCK = 1 << 20; // bytes read at a time by a task
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15 };
+
+    private GraphLoader() {
+    }
+
+    /**
+     * Add to {@code graph} the vertices and the edges of the {@code CSV} file
+     *
+     * @param file      {@code CSV} edge list
+     * @param graph     where to add vertices and edges, usually empty
+     * @param symmetric iff every line also adds the edge {@code to,from} with the
+     *                  same {@code weight}
+     * @param edgeLabel gives the label of the edge from its two vertices
+     * @return the number of edges read from the file
+     * @throws NullPointerException iff {@code file} OR {@code graph} OR
+     *                              {@code edgeLabel} are {@code null}, or
+     *                              {@code edgeLabel} gives {@code null}
+     * @throws IOException          if the file cannot be read
+     * @throws GraphException       if a line has less than three fields or its
+     *                              {@code weight} is not a number
+     */
+    public static <S> int load(Path file, Graph<String, S> graph, boolean symmetric,
+            BiFunction<String, String, S> edgeLabel) throws NullPointerException, IOException, GraphException {
+        if (file == null)
+            throw new NullPointerException("load(file, graph, symmetric, edgeLabel): file must not be null");
+
+        if (graph == null)
+            throw new NullPointerException("load(file, graph, symmetric, edgeLabel): graph must not be null");
+
+        if (edgeLabel == null)
+            throw new NullPointerException("load(file, graph, symmetric, edgeLabel): edgeLabel must not be null");
+
+        List<Chunk> chunks = parse(file);
+
+        int edges = 0;
+        for (Chunk chunk : chunks)
+            edges += build(chunk, graph, symmetric, edgeLabel);
+
+        return edges;
+    }
+
+    /**
+     * Read the {@code CSV} file straight into a {@link CsrGraph}, without
+     * building a {@link Graph}; the edges are the ones
+     * {@link #load(Path, Graph, boolean, BiFunction)} would add, with the same
+     * weights
+     *
+     * @param file      {@code CSV} edge list
+     * @param type      of the graph
+     * @param symmetric iff every line also adds the edge {@code to,from} with the
+     *                  same {@code weight}
+     * @throws IOException    if the file cannot be read
+     * @throws GraphException if a line has less than three fields or its
+     *                        {@code weight} is not a number
+     */
+    static CsrGraph<String> freeze(Path file, GraphType type, boolean symmetric) throws IOException, GraphException {
+        List<Chunk> chunks = parse(file);
+        boolean reverse = symmetric || type == GraphType.UNDIRECTED;
+
+        // the labels of the chunks are merged into global ids
+        HashMap<String, Integer> ids = new HashMap<>();
+        ArrayList<String> labels = new ArrayList<>();
+        int[][] global = new int[chunks.size()][];
+        for (int c = 0; c < chunks.size(); c++) {
+            Chunk chunk = chunks.get(c);
+            global[c] = new int[chunk.labels.size()];
+            for (int id = 0; id < global[c].length; id++) {
+                String label = chunk.labels.get(id);
+                Integer g = ids.putIfAbsent(label, labels.size());
+                if (g == null) {
+                    g = labels.size();
+                    labels.add(label);
+                }
+                global[c][id] = g;
+            }
+        }
+
+        int n = labels.size();
+        int[] offsets = new int[n + 1];
+        for (int c = 0; c < chunks.size(); c++) {
+            Chunk chunk = chunks.get(c);
+            for (int i = 0; i < chunk.edges; i++) {
+                offsets[global[c][chunk.from[i]] + 1]++;
+                if (reverse)
+                    offsets[global[c][chunk.to[i]] + 1]++;
+            }
+        }
+        for (int u = 0; u < n; u++)
+            offsets[u + 1] += offsets[u];
+
+        // every row is filled in file order, so the sort keeps the last weight
+        // of a repeated edge after the others
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int c = 0; c < chunks.size(); c++) {
+            Chunk chunk = chunks.get(c);
+            for (int i = 0; i < chunk.edges; i++) {
+                int from = global[c][chunk.from[i]];
+                int to = global[c][chunk.to[i]];
+
+                targets[next[from]] = to;
+                weights[next[from]++] = chunk.weights[i];
+                if (reverse) {
+                    targets[next[to]] = from;
+                    weights[next[to]++] = chunk.weights[i];
+                }
+            }
+        }
+
+        int arcs = 0;
+        int first = 0;
+        for (int u = 0; u < n; u++) {
+            int last = offsets[u + 1];
+            CsrGraph.sortRow(targets, weights, first, last);
+
+            for (int e = first; e < last; e++) {
+                if (e + 1 < last && targets[e + 1] == targets[e])
+                    continue;
+                targets[arcs] = targets[e];
+                weights[arcs++] = weights[e];
+            }
+
+            first = last;
+            offsets[u + 1] = arcs;
+        }
+
+        return new CsrGraph<>(type, labels.toArray(), ids, offsets, Arrays.copyOf(targets, arcs),
+                Arrays.copyOf(weights, arcs));
+    }
+
+    /**
+     * Add the vertices and the edges of a parsed chunk
+     *
+     * @return the number of edges of the chunk
+     */
+    private static <S> int build(Chunk chunk, Graph<String, S> graph, boolean symmetric,
+            BiFunction<String, String, S> edgeLabel) {
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Vertex<String, S>[] vertices = new Vertex[chunk.labels.size()];
+
+        for (int id = 0; id < vertices.length; id++) {
+            String label = chunk.labels.get(id);
+            graph.addVertex(label);
+            vertices[id] = graph.getVertex(label);
+        }
+
+        boolean directed = graph.isDirected();
+
+        for (int i = 0; i < chunk.edges; i++) {
+            Vertex<String, S> from = vertices[chunk.from[i]];
+            Vertex<String, S> to = vertices[chunk.to[i]];
+            double weight = chunk.weights[i];
+
+            S label = edgeLabel.apply(from.getLabel(), to.getLabel());
+            from.link(to, label).setWeight(weight);
+            if (!directed)
+                to.link(from, label).setWeight(weight);
+
+            if (symmetric && directed)
+                to.link(from, edgeLabel.apply(to.getLabel(), from.getLabel())).setWeight(weight);
+        }
+
+        return chunk.edges;
+    }
+
+    /**
+     * Split the file into chunks and parse them in parallel
+     *
+     * @return the parsed chunks, in file order
+     * @throws GraphException at the first malformed line
+     */
+    private static List<Chunk> parse(Path file) throws IOException, GraphException {
+        List<Chunk> chunks = null;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            int tasks = (int) Math.min(4L * Runtime.getRuntime().availableProcessors(), size / MIN_CHUNK);
+            tasks = (int) Math.max(tasks, (size + MAX_CHUNK - 1) / MAX_CHUNK);
+            tasks = Math.max(tasks, 1);
+
+            // every boundary is moved to the start of the next line
+            long[] bounds = new long[tasks + 1];
+            for (int i = 1; i < tasks; i++)
+                bounds[i] = nextLine(channel, Math.max(bounds[i - 1], size / tasks * i), size);
+            bounds[tasks] = size;
+
+            chunks = new ArrayList<>(tasks);
+            for (int i = 0; i < tasks; i++)
+                chunks.add(new Chunk(channel, bounds[i], bounds[i + 1]));
+
+            if (tasks == 1) {
+                chunks.get(0).call();
+            } else {
+                for (Future<Chunk> future : ForkJoinPool.commonPool().invokeAll(chunks)) {
+                    try {
+                        future.get();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("load: interrupted while parsing " + file);
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof IOException)
+                            throw (IOException) e.getCause();
+                        throw new IllegalStateException(e.getCause());
+                    }
+                }
+            }
+        }
+
+        int lines = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk.badLine >= 0)
+                throw new GraphException(
+                        "Malformed line " + (lines + chunk.badLine + 1) + " of " + file + ": " + chunk.badText);
+            lines += chunk.lines;
+        }
+
+        return chunks;
+    }
+
+    /**
+     * @return the position after the first {@code '\n'} from {@code position},
+     *         {@code size} if there is none
+     */
+    private static long nextLine(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0)
+                break;
+
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n')
+                    return position + i + 1;
+            }
+            position += read;
+        }
+
+        return size;
+    }
+
+    /**
+     * Lines of the file from {@code start} (included) to {@code end} (excluded),
+     * parsed into arrays of local vertex ids and weights
+     */
+    private static final class Chunk implements Callable<Chunk> {
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+
+        private final List<String> labels = new ArrayList<>(); // local id -> label
+        private int[] from = new int[16];
+        private int[] to = new int[16];
+        private double[] weights = new double[16];
+        private int edges = 0;
+        private int lines = 0;
+
+        private int badLine = -1; // first malformed line of the chunk, counted from 0
+        private String badText = null;
+
+        // labels deduplicated on their bytes, so a String is made once per label
+        private byte[] pool = new byte[1024]; // bytes of the labels, one after the other
+        private int poolSize = 0;
+        private int[] offsets = new int[16]; // local id -> first byte into the pool, one more for the end
+        private int[] hashes = new int[16]; // local id -> hash of the bytes
+        private int[] slots = new int[16]; // open addressing table of local id + 1, 0 if empty
+        private int count = 0;
+
+        Chunk(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public Chunk call() throws IOException {
+            byte[] block = new byte[(int) Math.min(BLOCK, this.end - this.start)];
+            int filled = 0;
+            long position = this.start;
+
+            while (true) {
+                ByteBuffer target = ByteBuffer.wrap(block, filled,
+                        (int) Math.min(block.length - filled, this.end - position));
+                while (target.hasRemaining()) {
+                    int read = this.channel.read(target, position);
+                    if (read < 0)
+                        break;
+                    position += read;
+                }
+
+                int length = target.position();
+                boolean last = position >= this.end || target.hasRemaining();
+
+                int lineStart = 0;
+                for (int i = 0; i < length; i++) {
+                    if (block[i] == '\n') {
+                        line(block, lineStart, i);
+                        lineStart = i + 1;
+                    }
+                }
+
+                if (last) {
+                    if (lineStart < length)
+                        line(block, lineStart, length);
+                    break;
+                }
+
+                // the partial line at the end is moved to the front of the next block
+                filled = length - lineStart;
+                if (lineStart == 0)
+                    block = Arrays.copyOf(block, block.length * 2);
+                else
+                    System.arraycopy(block, lineStart, block, 0, filled);
+            }
+
+            for (int id = 0; id < this.count; id++)
+                this.labels.add(new String(this.pool, this.offsets[id], this.offsets[id + 1] - this.offsets[id],
+                        StandardCharsets.UTF_8));
+
+            return this;
+        }
+
+        private void line(byte[] bytes, int lineStart, int lineEnd) {
+            if (lineEnd > lineStart && bytes[lineEnd - 1] == '\r')
+                lineEnd--;
+
+            if (lineEnd > lineStart && !parseLine(bytes, lineStart, lineEnd) && this.badLine < 0) {
+                this.badLine = this.lines;
+                this.badText = new String(bytes, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8);
+            }
+
+            this.lines++;
+        }
+
+        /**
+         * @return {@code TRUE} iff the line is well formed
+         */
+        private boolean parseLine(byte[] bytes, int lineStart, int lineEnd) {
+            int firstComma = indexOfComma(bytes, lineStart, lineEnd);
+            if (firstComma < 0)
+                return false;
+
+            int secondComma = indexOfComma(bytes, firstComma + 1, lineEnd);
+            if (secondComma < 0)
+                return false;
+
+            int thirdComma = indexOfComma(bytes, secondComma + 1, lineEnd);
+            int weightEnd = (thirdComma < 0) ? lineEnd : thirdComma;
+
+            double weight = parseWeight(bytes, secondComma + 1, weightEnd);
+            if (Double.isNaN(weight))
+                return false;
+
+            if (this.edges == this.from.length) {
+                int capacity = this.edges * 2;
+                this.from = Arrays.copyOf(this.from, capacity);
+                this.to = Arrays.copyOf(this.to, capacity);
+                this.weights = Arrays.copyOf(this.weights, capacity);
+            }
+
+            this.from[this.edges] = id(bytes, lineStart, firstComma);
+            this.to[this.edges] = id(bytes, firstComma + 1, secondComma);
+            this.weights[this.edges] = weight;
+            this.edges++;
+
+            return true;
+        }
+
+        /**
+         * @return the local id of the label with the given bytes, a new one if
+         *         it is the first time it is seen
+         */
+        private int id(byte[] bytes, int from, int to) {
+            int hash = 1;
+            for (int i = from; i < to; i++)
+                hash = 31 * hash + bytes[i];
+            hash *= 0x9E3779B9;
+
+            int mask = this.slots.length - 1;
+            int i = (hash ^ (hash >>> 16)) & mask;
+            while (this.slots[i] != 0) {
+                int id = this.slots[i] - 1;
+                if (this.hashes[id] == hash && Arrays.equals(this.pool, this.offsets[id], this.offsets[id + 1],
+                        bytes, from, to))
+                    return id;
+                i = (i + 1) & mask;
+            }
+
+            int id = this.count++;
+            int length = to - from;
+            if (this.poolSize + length > this.pool.length)
+                this.pool = Arrays.copyOf(this.pool, Math.max(this.poolSize + length, this.pool.length * 2));
+            System.arraycopy(bytes, from, this.pool, this.poolSize, length);
+            this.poolSize += length;
+
+            if (this.count + 1 > this.offsets.length) {
+                this.offsets = Arrays.copyOf(this.offsets, this.offsets.length * 2);
+                this.hashes = Arrays.copyOf(this.hashes, this.hashes.length * 2);
+            }
+            this.offsets[id + 1] = this.poolSize;
+            this.hashes[id] = hash;
+            this.slots[i] = id + 1;
+
+            // at most 1/2 full, the table holds only ints
+            if (this.count * 2 > this.slots.length) {
+                this.slots = new int[this.slots.length * 2];
+                mask = this.slots.length - 1;
+                for (int other = 0; other < this.count; other++) {
+                    int j = (this.hashes[other] ^ (this.hashes[other] >>> 16)) & mask;
+                    while (this.slots[j] != 0)
+                        j = (j + 1) & mask;
+                    this.slots[j] = other + 1;
+                }
+            }
+
+            return id;
+        }
+
+        /**
+         * Parse a decimal without exponent exactly when its digits fit into a
+         * {@code double}, falling back to {@link Double#parseDouble(String)}
+         * otherwise
+         *
+         * @return the {@code weight}, {@code NaN} if it is not a number
+         */
+        private static double parseWeight(byte[] bytes, int from, int to) {
+            int i = from;
+            boolean negative = false;
+            if (i < to && (bytes[i] == '-' || bytes[i] == '+'))
+                negative = bytes[i++] == '-';
+
+            long mantissa = 0;
+            int digits = 0;
+            int decimals = -1;
+            for (; i < to; i++) {
+                byte c = bytes[i];
+                if (c >= '0' && c <= '9') {
+                    mantissa = mantissa * 10 + (c - '0');
+                    digits++;
+                    if (decimals >= 0)
+                        decimals++;
+                } else if (c == '.' && decimals < 0) {
+                    decimals = 0;
+                } else {
+                    break;
+                }
+            }
+
+            // up to 15 digits and 10^15 both are exact, so one division rounds right
+            if (i == to && digits > 0 && digits <= 15) {
+                double value = (decimals > 0) ? mantissa / POWERS_OF_TEN[decimals] : mantissa;
+                return negative ? -value : value;
+            }
+
+            try {
+                return Double.parseDouble(new String(bytes, from, to - from, StandardCharsets.UTF_8));
+            } catch (NumberFormatException e) {
+                return Double.NaN;
+            }
+        }
+
+        private static int indexOfComma(byte[] bytes, int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (bytes[i] == ',')
+                    return i;
+            }
+            return -1;
+        }
+    }
+}
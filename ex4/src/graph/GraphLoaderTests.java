@@ -0,0 +1,126 @@
+package graph;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GraphLoaderTests {
+    private Path file = null;
+
+    @Before
+    public void createFile() throws IOException {
+        file = Files.createTempFile("graph", ".csv");
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private void write(String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testLoadSymmetric() throws IOException, GraphException {
+        write("torino,milano,140000\r\nmilano,roma,570000.5\n\nroma,napoli,225e3\n");
+        Graph<String, String> graph = new Graph<>();
+
+        assertEquals(3, GraphLoader.load(file, graph, true, (from, to) -> from + "-" + to));
+        assertEquals(4, graph.getNumberVertices());
+        assertEquals(6, graph.getNumberEdges());
+        assertEquals("milano-torino", graph.getEdge("milano", "torino").getLabel());
+        assertEquals(140000, graph.getEdge("torino", "milano").getWeight(), 0);
+        assertEquals(570000.5, graph.getEdge("roma", "milano").getWeight(), 0);
+        assertEquals(225000, graph.getEdge("napoli", "roma").getWeight(), 0);
+        assertEquals(1, graph.getInDegree("torino"));
+    }
+
+    @Test
+    public void testLoadDirectedLastWeightWins() throws IOException, GraphException {
+        write("a,b,1\nb,c,2\na,b,3,ignored");
+        Graph<String, String> graph = new Graph<>();
+
+        assertEquals(3, GraphLoader.load(file, graph, false, (from, to) -> from + to));
+        assertEquals(2, graph.getNumberEdges());
+        assertFalse(graph.containsEdge("b", "a"));
+        assertEquals(3, graph.getEdge("a", "b").getWeight(), 0);
+    }
+
+    @Test
+    public void testLoadUndirected() throws IOException, GraphException {
+        write("a,b,1.25\nb,c,-2\n");
+        Graph<String, String> graph = new Graph<>(GraphType.UNDIRECTED);
+
+        GraphLoader.load(file, graph, false, (from, to) -> from + to);
+        assertEquals(2, graph.getNumberEdges());
+        assertEquals(1.25, graph.getEdge("b", "a").getWeight(), 0);
+        assertEquals(-2, graph.getEdge("c", "b").getWeight(), 0);
+    }
+
+    @Test
+    public void testLoadEmpty() throws IOException, GraphException {
+        write("");
+        Graph<String, String> graph = new Graph<>();
+
+        assertEquals(0, GraphLoader.load(file, graph, true, (from, to) -> from + to));
+        assertEquals(0, graph.getNumberVertices());
+    }
+
+    @Test
+    public void testLoadManyChunks() throws IOException, GraphException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200000; i++)
+            content.append("citt\u00e0").append(i % 5000).append(",citt\u00e0").append((i * 7 + 1) % 5000).append(',')
+                    .append(i % 1000).append(".25\n");
+        write(content.toString());
+
+        Graph<String, String> expected = new Graph<>();
+        for (String line : content.toString().split("\n")) {
+            String[] fields = line.split(",");
+            expected.addVertex(fields[0]);
+            expected.addVertex(fields[1]);
+            expected.addEdge(fields[0], fields[1], fields[0] + "-" + fields[1], Double.parseDouble(fields[2]));
+            expected.addEdge(fields[1], fields[0], fields[1] + "-" + fields[0], Double.parseDouble(fields[2]));
+        }
+
+        Graph<String, String> graph = new Graph<>();
+        assertEquals(200000, GraphLoader.load(file, graph, true, (from, to) -> from + "-" + to));
+        assertEquals(expected.getNumberVertices(), graph.getNumberVertices());
+        assertEquals(expected.getNumberEdges(), graph.getNumberEdges());
+        assertTrue(Arrays.equals(expected.getDegreeHistogram(), graph.getDegreeHistogram()));
+
+        for (Vertex<String, String> vertex : expected.vertices()) {
+            for (String adjacent : vertex.adjacentLabels()) {
+                Edge<String> edge = graph.getEdge(vertex.getLabel(), adjacent);
+                assertNotNull(edge);
+                assertEquals(vertex.getEdge(adjacent).getWeight(), edge.getWeight(), 0);
+                assertEquals(vertex.getEdge(adjacent).getLabel(), edge.getLabel());
+            }
+        }
+    }
+
+    @Test(expected = GraphException.class)
+    public void testLoadMissingField() throws IOException, GraphException {
+        write("a,b,1\na,b\n");
+        GraphLoader.load(file, new Graph<String, String>(), true, (from, to) -> from + to);
+    }
+
+    @Test(expected = GraphException.class)
+    public void testLoadBadWeight() throws IOException, GraphException {
+        write("a,b,one\n");
+        GraphLoader.load(file, new Graph<String, String>(), true, (from, to) -> from + to);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testLoadNullGraph() throws IOException, GraphException {
+        GraphLoader.load(file, null, true, (from, to) -> from + to);
+    }
+}
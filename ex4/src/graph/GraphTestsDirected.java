@@ -1,6 +1,7 @@
 package graph;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.HashSet;
@@ -189,6 +190,164 @@ public class GraphTestsDirected {
         assertThat(graph.getEdge(lb1, lb2).getLabel(), is('A'));
     }
 
+    @Test
+    public void testForEachNeighbor() throws NullPointerException, GraphException {
+        graph.addVertex(lb1);
+        graph.addVertex(lb2);
+        graph.addVertex(lb3);
+        graph.addEdge(lb1, lb2, c1);
+        graph.addEdge(lb1, lb3, c2);
+        graph.getEdge(lb1, lb2).setWeight(2.5);
+
+        Set<Integer> seen = new HashSet<>();
+        graph.forEachNeighbor(lb1, (v, weight) -> {
+            seen.add(v.getLabel());
+            assertEquals(graph.getEdge(lb1, v.getLabel()).getWeight(), weight, 0);
+        });
+        assertThat(seen, is(graph.getAdjacentVerticesLabel(lb1)));
+    }
+
+    @Test(expected = GraphException.class)
+    public void testForEachNeighbor_MissingVertex() throws NullPointerException, GraphException {
+        graph.forEachNeighbor(lb1, (v, weight) -> fail());
+    }
+
+    @Test(expected = GraphException.class)
+    public void testForEachNeighbor_VisitorThrows() throws NullPointerException, GraphException {
+        graph.addVertex(lb1);
+        graph.addEdge(lb1, lb1, c1);
+        graph.forEachNeighbor(lb1, (v, weight) -> {
+            throw new GraphException("stop");
+        });
+    }
+
+    @Test
+    public void testViewsFollowChanges() throws NullPointerException, GraphException {
+        Set<Integer> labels = graph.verticesLabel();
+        graph.addVertex(lb1);
+        graph.addVertex(lb2);
+        assertEquals(2, labels.size());
+        assertEquals(2, graph.vertices().size());
+
+        Vertex<Integer, Character> vertex = graph.getVertex(lb1);
+        Set<Integer> adjacents = vertex.adjacentLabels();
+        graph.addEdge(lb1, lb2, c1);
+        assertTrue(adjacents.contains(lb2));
+        assertEquals(1, vertex.edges().size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testViewsAreReadOnly() throws NullPointerException {
+        graph.addVertex(lb1);
+        graph.verticesLabel().remove(lb1);
+    }
+
+    @Test
+    public void testInDegree() throws NullPointerException, GraphException {
+        graph.addVertex(lb1);
+        graph.addVertex(lb2);
+        graph.addVertex(lb3);
+        graph.addEdge(lb1, lb3, c1);
+        graph.addEdge(lb2, lb3, c2);
+        assertEquals(2, graph.getInDegree(lb3));
+        assertEquals(0, graph.getInDegree(lb1));
+
+        graph.removeEdge(lb1, lb3);
+        assertEquals(1, graph.getInDegree(lb3));
+        assertThat(graph.getVertex(lb3).predecessorLabels(), is(Collections.singleton(lb2)));
+    }
+
+    @Test
+    public void testForEachPredecessor() throws NullPointerException, GraphException {
+        graph.addVertex(lb1);
+        graph.addVertex(lb2);
+        graph.addEdge(lb1, lb2, c1);
+        graph.getEdge(lb1, lb2).setWeight(3);
+
+        Set<Integer> seen = new HashSet<>();
+        graph.forEachPredecessor(lb2, (v, weight) -> {
+            seen.add(v.getLabel());
+            assertEquals(3, weight, 0);
+        });
+        assertThat(seen, is(Collections.singleton(lb1)));
+    }
+
+    @Test
+    public void testRemoveVertex_DropsIncomingEdges() throws NullPointerException, GraphException {
+        graph.addVertex(lb1);
+        graph.addVertex(lb2);
+        graph.addVertex(lb3);
+        graph.addEdge(lb1, lb2, c1);
+        graph.addEdge(lb2, lb3, c2);
+        graph.addEdge(lb3, lb2, c3);
+        graph.addEdge(lb2, lb2, c1);
+
+        Vertex<Integer, Character> removed = graph.removeVertex(lb2);
+        assertFalse(graph.areAdjacents(lb1, lb2));
+        assertFalse(graph.areAdjacents(lb3, lb2));
+        assertEquals(0, graph.getInDegree(lb3));
+        assertEquals(0, graph.getNumberEdges());
+        assertTrue(removed.hasAdjacent(lb3));
+
+        // the vertex removed no longer changes the Graph
+        removed.removeEdge(lb3);
+        graph.addVertex(lb2);
+        assertEquals(0, graph.getInDegree(lb3));
+    }
+
+    @Test
+    public void testAddAdjacent_RejectsVertexNotInGraph() throws NullPointerException, GraphException {
+        graph.addVertex(lb1);
+        Vertex<Integer, Character> vertex = graph.getVertex(lb1);
+        assertFalse(vertex.addAdjacent(lb2, c1));
+        assertEquals(0, graph.getNumberEdges());
+
+        // once added, the vertex can be linked and removed without leaving the edge
+        graph.addVertex(lb2);
+        assertTrue(vertex.addAdjacent(lb2, c1));
+        assertFalse(vertex.addAdjacent(lb2, c2));
+        assertEquals(1, graph.getInDegree(lb2));
+        graph.removeVertex(lb2);
+        assertFalse(vertex.hasAdjacent(lb2));
+        assertEquals(0, graph.getNumberEdges());
+    }
+
+    @Test
+    public void testClearEdges_UpdatesPredecessors() throws NullPointerException, GraphException {
+        graph.addVertex(lb1);
+        graph.addVertex(lb2);
+        graph.addEdge(lb1, lb2, c1);
+        graph.getVertex(lb1).clearEdges();
+        assertEquals(0, graph.getInDegree(lb2));
+    }
+
+    @Test
+    public void testDegreeStatistics() throws NullPointerException, GraphException {
+        assertEquals(0, graph.getMaxDegree());
+        assertEquals(0, graph.getAverageDegree(), 0);
+
+        graph.addVertex(lb1);
+        graph.addVertex(lb2);
+        graph.addVertex(lb3);
+        graph.addEdge(lb1, lb2, c1);
+        graph.addEdge(lb1, lb3, c2);
+        graph.addEdge(lb2, lb3, c3);
+
+        assertEquals(3, graph.getNumberEdges());
+        assertEquals(2, graph.getMaxDegree());
+        assertEquals(1, graph.getAverageDegree(), 1e-9);
+        assertArrayEquals(new int[] { 1, 1, 1 }, graph.getDegreeHistogram());
+
+        graph.getVertex(lb1).clearEdges();
+        assertEquals(1, graph.getNumberEdges());
+        assertEquals(1, graph.getMaxDegree());
+        assertArrayEquals(new int[] { 2, 1 }, graph.getDegreeHistogram());
+
+        graph.removeVertex(lb3);
+        assertEquals(0, graph.getNumberEdges());
+        assertArrayEquals(new int[] { 2 }, graph.getDegreeHistogram());
+    }
+
     // @Test
     // public void testAddThreeVerticesDirected() {
     // directedGraph.addVertex(lb1);
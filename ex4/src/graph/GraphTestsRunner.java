@@ -13,7 +13,9 @@ public class GraphTestsRunner {
     }
 
     public static void testDirectedGraph() {
-        Result result = JUnitCore.runClasses(GraphTestsDirected.class);
+        Result result = JUnitCore.runClasses(GraphTestsDirected.class, CsrGraphTests.class, OpenHashMapTests.class,
+                ConcurrentGraphTests.class, GraphLoaderTests.class, GraphFileTests.class,
+                CompressedGraphTests.class, OffHeapGraphTests.class);
         for (Failure failure : result.getFailures()) {
             System.out.println(failure.toString());
         }
@@ -0,0 +1,174 @@
+package graph;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Read-only graph served straight from a graph file mapped into memory by
+ * {@link GraphFile#map(java.nio.file.Path)}.
+ * <p>
+ * Nothing is copied on the Java heap: the arrays of the {@code Compressed
+ * Sparse Row} form and the label dictionary are read from the mapping, so
+ * opening the graph costs the same whatever its size, and the operating system
+ * loads the pages as the queries touch them. A label is looked up by hashing
+ * its {@code UTF-8} bytes into the table stored with the dictionary, and a new
+ * {@code String} is made only by {@link #getLabel(int)}.
+ * <p>
+ * The edges are numbered as into a {@link CsrGraph}, and the graph may be
+ * read by many threads at once.
+ *
+ * @see GraphFile
+ */
+public final class MappedGraph implements StaticGraph<String> {
+    private final GraphType type;
+    private final int vertices;
+    private final int arcs;
+    private final IntBuffer slots; // hash of the label -> id + 1, 0 if empty
+    private final IntBuffer labelOffsets; // id -> first byte of the label, one more for the end
+    private final ByteBuffer labelBytes;
+    private final IntBuffer offsets; // id -> first edge, one more for the end
+    private final IntBuffer targets; // edge -> id of the target
+    private final DoubleBuffer weights; // edge -> weight
+
+    MappedGraph(GraphType type, int vertices, int arcs, IntBuffer slots, IntBuffer labelOffsets,
+            ByteBuffer labelBytes, IntBuffer offsets, IntBuffer targets, DoubleBuffer weights) {
+        this.type = type;
+        this.vertices = vertices;
+        this.arcs = arcs;
+        this.slots = slots;
+        this.labelOffsets = labelOffsets;
+        this.labelBytes = labelBytes;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    @Override
+    public GraphType getType() {
+        return this.type;
+    }
+
+    @Override
+    public int getNumberVertices() {
+        return this.vertices;
+    }
+
+    @Override
+    public int getNumberEdges() {
+        return isDirected() ? this.arcs : this.arcs / 2;
+    }
+
+    @Override
+    public int getId(String vertexLabel) throws NullPointerException {
+        if (vertexLabel == null)
+            throw new NullPointerException("getId(vertexLabel): vertexLabel must not be null");
+
+        byte[] bytes = vertexLabel.getBytes(StandardCharsets.UTF_8);
+        int mask = this.slots.capacity() - 1;
+        int i = GraphFile.hash(bytes, 0, bytes.length) & mask;
+
+        for (int slot; (slot = this.slots.get(i)) != 0; i = (i + 1) & mask) {
+            if (hasLabel(slot - 1, bytes))
+                return slot - 1;
+        }
+
+        return -1;
+    }
+
+    private boolean hasLabel(int id, byte[] bytes) {
+        int from = this.labelOffsets.get(id);
+
+        if (this.labelOffsets.get(id + 1) - from != bytes.length)
+            return false;
+
+        for (int i = 0; i < bytes.length; i++) {
+            if (this.labelBytes.get(from + i) != bytes[i])
+                return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public String getLabel(int id) throws IndexOutOfBoundsException {
+        if (id < 0 || id >= this.vertices)
+            throw new IndexOutOfBoundsException("getLabel(id): there is no vertex " + id);
+
+        int from = this.labelOffsets.get(id);
+        byte[] bytes = new byte[this.labelOffsets.get(id + 1) - from];
+        this.labelBytes.get(from, bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int getOutDegree(int id) {
+        return this.offsets.get(id + 1) - this.offsets.get(id);
+    }
+
+    @Override
+    public <X extends Exception> void forEachArc(int id, ArcVisitor<X> visitor) throws X {
+        int last = this.offsets.get(id + 1);
+        for (int e = this.offsets.get(id); e < last; e++)
+            visitor.visit(this.targets.get(e), this.weights.get(e));
+    }
+
+    /**
+     * @param id of the vertex
+     * @return the index of the first edge going out of the vertex
+     */
+    public int firstEdge(int id) {
+        return this.offsets.get(id);
+    }
+
+    /**
+     * @param id of the vertex
+     * @return the index after the last edge going out of the vertex
+     */
+    public int lastEdge(int id) {
+        return this.offsets.get(id + 1);
+    }
+
+    /**
+     * @param edge index of the edge
+     * @return the {@code id} of the vertex the edge goes to
+     */
+    public int getTarget(int edge) {
+        return this.targets.get(edge);
+    }
+
+    /**
+     * @param edge index of the edge
+     * @return the {@code weight} of the edge
+     */
+    public double getWeight(int edge) {
+        return this.weights.get(edge);
+    }
+
+    /**
+     * @param from id of the first vertex
+     * @param to   id of the second vertex
+     * @return the index of the edge from {@code from} to {@code to}, {@code -1}
+     *         if there is no such edge
+     */
+    public int findEdge(int from, int to) {
+        int low = this.offsets.get(from);
+        int high = this.offsets.get(from + 1) - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int target = this.targets.get(middle);
+
+            if (target < to)
+                low = middle + 1;
+            else if (target > to)
+                high = middle - 1;
+            else
+                return middle;
+        }
+
+        return -1;
+    }
+}
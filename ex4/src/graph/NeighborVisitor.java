@@ -0,0 +1,20 @@
+package graph;
+
+/**
+ * Callback used to walk the adjacents of a vertex without building a
+ * collection, see {@link Graph#forEachNeighbor(Object, NeighborVisitor)} and
+ * {@link Vertex#forEachAdjacent(NeighborVisitor)}
+ *
+ * @param <V> type of the adjacent passed to the callback
+ * @param <X> checked exception the callback may throw
+ */
+@FunctionalInterface
+public interface NeighborVisitor<V, X extends Exception> {
+
+    /**
+     * @param neighbor adjacent vertex, or its label
+     * @param weight   of the edge going to {@code neighbor}
+     * @throws X to stop the walk
+     */
+    void visit(V neighbor, double weight) throws X;
+}
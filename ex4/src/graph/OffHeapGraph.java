@@ -0,0 +1,629 @@
+package graph;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Read-only graph with {@code String} labels stored outside of the Java heap,
+ * for graphs with billions of edges.
+ * <p>
+ * Every array of the {@code Compressed Sparse Row} form lives into direct
+ * {@code ByteBuffer} chunks: the {@code long} offset of the first arc of each
+ * vertex, the {@code int} target and the {@code double} weight of each arc,
+ * and the label dictionary (the {@code UTF-8} bytes of the labels and an open
+ * addressing table of their ids). An arc takes 12 bytes and no object, so the
+ * garbage collector never scans the graph and the Java heap only holds what a
+ * search keeps per vertex; the arcs are numbered with a {@code long}.
+ * <p>
+ * The graph is built by a {@link Builder}, or copied from another
+ * {@link StaticGraph} by {@link #copyOf(StaticGraph)}. {@link #close()} drops
+ * the chunks and every query throws {@link IllegalStateException} after it;
+ * their memory is released by the cleaner of the buffers once the collector
+ * finds them unreachable, so a query still running meanwhile may fail with an
+ * exception but never reads freed memory.
+ */
+public final class OffHeapGraph implements StaticGraph<String>, AutoCloseable {
+
+    static final int DEFAULT_CHUNK_SHIFT = 26; // 64 MB chunks
+
+    private final GraphType type;
+    private final int vertices;
+    private final long arcs;
+    private final Memory offsets; // id -> first arc (long), one more for the end
+    private final Memory targets; // arc -> id of the target (int)
+    private final Memory weights; // arc -> weight (double)
+    private final Memory labelOffsets; // id -> first byte of the label (long), one more for the end
+    private final Memory labelBytes;
+    private final Memory slots; // hash of the label -> id + 1 (int), 0 if empty
+    private final long slotMask;
+    private boolean closed = false;
+
+    private OffHeapGraph(Builder builder) {
+        this.type = builder.type;
+        this.vertices = builder.vertices;
+        this.arcs = builder.arcs;
+        this.offsets = builder.offsets;
+        this.targets = builder.targets;
+        this.weights = builder.weights;
+        this.labelOffsets = builder.labelOffsets;
+        this.labelBytes = builder.labelBytes;
+        this.slots = builder.slots;
+        this.slotMask = builder.slotMask;
+        builder.hashes.free();
+    }
+
+    /**
+     * Copy {@code graph} outside of the Java heap
+     *
+     * @param graph to copy
+     * @return the copy of {@code graph}
+     * @throws NullPointerException iff {@code graph} is {@code null}
+     */
+    public static OffHeapGraph copyOf(StaticGraph<String> graph) throws NullPointerException {
+        if (graph == null)
+            throw new NullPointerException("copyOf(graph): graph must not be null");
+
+        Builder builder = new Builder(graph.getType());
+        for (int id = 0; id < graph.getNumberVertices(); id++)
+            builder.addVertex(graph.getLabel(id));
+
+        try {
+            for (int id = 0; id < graph.getNumberVertices(); id++) {
+                int from = id;
+                graph.forEachArc(id, (to, weight) -> builder.addArc(from, to, weight));
+            }
+
+            return builder.build();
+        } catch (GraphException e) {
+            // the vertices are all there and visited in order
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Builder of an {@link OffHeapGraph}: the vertices are added first, then the
+     * arcs by increasing source, so that each row is written once.
+     * <p>
+     * Every arc is kept as given, so an {@code Undirected} edge is added as two
+     * arcs. The arcs of a source may come in any order; when the same arc is
+     * added more than once the last {@code weight} wins.
+     */
+    public static final class Builder {
+        private final GraphType type;
+        private int vertices = 0;
+        private long arcs = 0;
+        private final Memory offsets;
+        private final Memory targets;
+        private final Memory weights;
+        private final Memory labelOffsets;
+        private final Memory labelBytes;
+        private final Memory hashes; // id -> hash of the label (int), to grow the table
+        private Memory slots;
+        private long slotMask = 15;
+
+        private int row = -1; // source of the last arcs added
+        private Memory rowArcs = null; // target (long) and weight (double) of the arcs of the row to sort
+        private boolean built = false;
+
+        /**
+         * Init the {@code Builder} of a graph of given {@code type}
+         *
+         * @param type of the graph
+         * @throws NullPointerException iff {@code type} is {@code null}
+         */
+        public Builder(GraphType type) throws NullPointerException {
+            this(type, DEFAULT_CHUNK_SHIFT);
+        }
+
+        Builder(GraphType type, int chunkShift) throws NullPointerException {
+            if (type == null)
+                throw new NullPointerException("Builder(type): type must not be null");
+
+            this.type = type;
+            this.offsets = new Memory(chunkShift);
+            this.targets = new Memory(chunkShift);
+            this.weights = new Memory(chunkShift);
+            this.labelOffsets = new Memory(chunkShift);
+            this.labelBytes = new Memory(chunkShift);
+            this.hashes = new Memory(chunkShift);
+            this.slots = new Memory(chunkShift);
+            this.slots.ensure(4 * (this.slotMask + 1));
+            this.labelOffsets.ensure(8);
+            this.labelOffsets.putLong(0, 0);
+        }
+
+        /**
+         * @param vertexLabel
+         * @return the {@code id} of the vertex, the one it already has if it was
+         *         added before
+         * @throws NullPointerException  iff {@code vertexLabel} is {@code null}
+         * @throws IllegalStateException if the arcs are being added, or the
+         *                               graph was built
+         */
+        public int addVertex(String vertexLabel) throws NullPointerException, IllegalStateException {
+            if (vertexLabel == null)
+                throw new NullPointerException("addVertex(vertexLabel): vertexLabel must not be null");
+
+            if (this.built || this.row >= 0)
+                throw new IllegalStateException("addVertex(vertexLabel): the vertices must be added before the arcs");
+
+            byte[] bytes = vertexLabel.getBytes(StandardCharsets.UTF_8);
+            int hash = GraphFile.hash(bytes, 0, bytes.length);
+
+            long i = hash & this.slotMask;
+            for (int slot; (slot = this.slots.getInt(4 * i)) != 0; i = (i + 1) & this.slotMask) {
+                if (hasLabel(this.labelOffsets, this.labelBytes, slot - 1, bytes))
+                    return slot - 1;
+            }
+
+            int id = this.vertices++;
+            long from = this.labelOffsets.getLong(8L * id);
+            this.labelBytes.ensure(from + bytes.length);
+            for (int k = 0; k < bytes.length; k++)
+                this.labelBytes.putByte(from + k, bytes[k]);
+            this.labelOffsets.ensure(8L * (id + 2));
+            this.labelOffsets.putLong(8L * (id + 1), from + bytes.length);
+            this.hashes.ensure(4L * (id + 1));
+            this.hashes.putInt(4L * id, hash);
+            this.slots.putInt(4 * i, id + 1);
+
+            // at most 1/2 full, the table holds only ints
+            if (2L * this.vertices > this.slotMask + 1)
+                rehash();
+
+            return id;
+        }
+
+        private void rehash() {
+            Memory old = this.slots;
+            this.slotMask = 2 * this.slotMask + 1;
+            this.slots = new Memory(old.chunkShift);
+            this.slots.ensure(4 * (this.slotMask + 1));
+
+            for (int id = 0; id < this.vertices; id++) {
+                long i = this.hashes.getInt(4L * id) & this.slotMask;
+                while (this.slots.getInt(4 * i) != 0)
+                    i = (i + 1) & this.slotMask;
+                this.slots.putInt(4 * i, id + 1);
+            }
+
+            old.free();
+        }
+
+        /**
+         * @param from   id of the source, not less than the source of the arc
+         *               added before
+         * @param to     id of the target
+         * @param weight of the arc
+         * @throws GraphException        if {@code from} OR {@code to} are not
+         *                               vertices, or {@code from} is less than the
+         *                               source of the arc added before
+         * @throws IllegalStateException if the graph was built
+         */
+        public void addArc(int from, int to, double weight) throws GraphException, IllegalStateException {
+            if (this.built)
+                throw new IllegalStateException("addArc(from, to, weight): the graph was built");
+
+            if (from < 0 || from >= this.vertices)
+                throw new GraphException("There is no vertex:" + from + " in the Graph");
+
+            if (to < 0 || to >= this.vertices)
+                throw new GraphException("There is no vertex:" + to + " in the Graph");
+
+            if (from < this.row)
+                throw new GraphException("addArc(from, to, weight): the arcs of " + from
+                        + " must be added before the ones of " + this.row);
+
+            if (from > this.row)
+                startRow(from);
+
+            this.targets.ensure(4 * (this.arcs + 1));
+            this.weights.ensure(8 * (this.arcs + 1));
+            this.targets.putInt(4 * this.arcs, to);
+            this.weights.putDouble(8 * this.arcs, weight);
+            this.arcs++;
+        }
+
+        /**
+         * Close the row being written and start the ones up to {@code row}
+         */
+        private void startRow(int row) {
+            if (this.row >= 0)
+                sortRow();
+
+            this.offsets.ensure(8L * (row + 1));
+            for (int u = this.row + 1; u <= row; u++)
+                this.offsets.putLong(8L * u, this.arcs);
+            this.row = row;
+        }
+
+        /**
+         * Sort the arcs of the last row by target, keeping the last one of those
+         * with the same target.
+         * <p>
+         * The arcs are copied into an off-heap scratch of 16 bytes per arc, the
+         * target in the high half of a {@code long} and the position in the row
+         * in the low half, so the keys are distinct and a heapsort in place
+         * keeps the arcs with the same target in the order given.
+         */
+        private void sortRow() {
+            long first = this.offsets.getLong(8L * this.row);
+            long degree = this.arcs - first;
+
+            boolean sorted = true;
+            for (long k = 1; k < degree && sorted; k++)
+                sorted = this.targets.getInt(4 * (first + k - 1)) < this.targets.getInt(4 * (first + k));
+            if (sorted)
+                return;
+
+            if (this.rowArcs == null)
+                this.rowArcs = new Memory(this.targets.chunkShift);
+            Memory row = this.rowArcs;
+            row.ensure(16 * degree);
+            for (long k = 0; k < degree; k++) {
+                row.putLong(16 * k, ((long) this.targets.getInt(4 * (first + k)) << 32) | k);
+                row.putDouble(16 * k + 8, this.weights.getDouble(8 * (first + k)));
+            }
+
+            for (long k = degree / 2 - 1; k >= 0; k--)
+                siftDown(row, k, degree);
+            for (long end = degree - 1; end > 0; end--) {
+                swap(row, 0, end);
+                siftDown(row, 0, end);
+            }
+
+            long next = first;
+            for (long k = 0; k < degree; k++) {
+                int target = (int) (row.getLong(16 * k) >>> 32);
+                if (k + 1 < degree && (int) (row.getLong(16 * (k + 1)) >>> 32) == target)
+                    continue;
+                this.targets.putInt(4 * next, target);
+                this.weights.putDouble(8 * next, row.getDouble(16 * k + 8));
+                next++;
+            }
+            this.arcs = next;
+        }
+
+        /**
+         * Move the arc at {@code k} towards the leaves of the max heap made of
+         * the first {@code size} arcs of {@code row}
+         */
+        private static void siftDown(Memory row, long k, long size) {
+            while (true) {
+                long child = 2 * k + 1;
+
+                if (child >= size)
+                    return;
+
+                if (child + 1 < size && row.getLong(16 * (child + 1)) > row.getLong(16 * child))
+                    child++;
+
+                if (row.getLong(16 * k) >= row.getLong(16 * child))
+                    return;
+
+                swap(row, k, child);
+                k = child;
+            }
+        }
+
+        private static void swap(Memory row, long i, long j) {
+            long key = row.getLong(16 * i);
+            double weight = row.getDouble(16 * i + 8);
+            row.putLong(16 * i, row.getLong(16 * j));
+            row.putDouble(16 * i + 8, row.getDouble(16 * j + 8));
+            row.putLong(16 * j, key);
+            row.putDouble(16 * j + 8, weight);
+        }
+
+        /**
+         * @return the graph, which owns the memory of the {@code Builder} from now
+         *         on
+         * @throws IllegalStateException if the graph was already built
+         */
+        public OffHeapGraph build() throws IllegalStateException {
+            if (this.built)
+                throw new IllegalStateException("build(): the graph was already built");
+
+            startRow(this.vertices);
+            this.built = true;
+            if (this.rowArcs != null)
+                this.rowArcs.free();
+
+            return new OffHeapGraph(this);
+        }
+    }
+
+    private static boolean hasLabel(Memory labelOffsets, Memory labelBytes, int id, byte[] bytes) {
+        long from = labelOffsets.getLong(8L * id);
+
+        if (labelOffsets.getLong(8L * (id + 1)) - from != bytes.length)
+            return false;
+
+        for (int i = 0; i < bytes.length; i++) {
+            if (labelBytes.getByte(from + i) != bytes[i])
+                return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public GraphType getType() {
+        return this.type;
+    }
+
+    @Override
+    public int getNumberVertices() {
+        return this.vertices;
+    }
+
+    /**
+     * @return the number of edges, counted as {@link Graph#getNumberEdges()}
+     *         does, at most {@code Integer.MAX_VALUE}; see
+     *         {@link #getNumberArcs()}
+     */
+    @Override
+    public int getNumberEdges() {
+        return (int) Math.min(isDirected() ? this.arcs : this.arcs / 2, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return the number of arcs, where an {@code Undirected} edge is two arcs
+     */
+    public long getNumberArcs() {
+        return this.arcs;
+    }
+
+    /**
+     * @return the bytes taken outside of the Java heap
+     */
+    public long getMemorySize() {
+        return this.offsets.capacity() + this.targets.capacity() + this.weights.capacity()
+                + this.labelOffsets.capacity() + this.labelBytes.capacity() + this.slots.capacity();
+    }
+
+    @Override
+    public int getId(String vertexLabel) throws NullPointerException, IllegalStateException {
+        if (vertexLabel == null)
+            throw new NullPointerException("getId(vertexLabel): vertexLabel must not be null");
+
+        checkOpen("getId(vertexLabel)");
+
+        byte[] bytes = vertexLabel.getBytes(StandardCharsets.UTF_8);
+        long i = GraphFile.hash(bytes, 0, bytes.length) & this.slotMask;
+
+        for (int slot; (slot = this.slots.getInt(4 * i)) != 0; i = (i + 1) & this.slotMask) {
+            if (hasLabel(this.labelOffsets, this.labelBytes, slot - 1, bytes))
+                return slot - 1;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public String getLabel(int id) throws IndexOutOfBoundsException, IllegalStateException {
+        checkOpen("getLabel(id)");
+
+        if (id < 0 || id >= this.vertices)
+            throw new IndexOutOfBoundsException("getLabel(id): there is no vertex " + id);
+
+        long from = this.labelOffsets.getLong(8L * id);
+        byte[] bytes = new byte[(int) (this.labelOffsets.getLong(8L * (id + 1)) - from)];
+        for (int i = 0; i < bytes.length; i++)
+            bytes[i] = this.labelBytes.getByte(from + i);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int getOutDegree(int id) throws IllegalStateException {
+        return (int) (lastEdge(id) - firstEdge(id));
+    }
+
+    @Override
+    public <X extends Exception> void forEachArc(int id, ArcVisitor<X> visitor) throws X, IllegalStateException {
+        long last = lastEdge(id);
+        for (long e = firstEdge(id); e < last; e++)
+            visitor.visit(this.targets.getInt(4 * e), this.weights.getDouble(8 * e));
+    }
+
+    /**
+     * @param id of the vertex
+     * @return the index of the first arc going out of the vertex
+     * @throws IllegalStateException if the graph is closed
+     */
+    public long firstEdge(int id) throws IllegalStateException {
+        checkOpen("firstEdge(id)");
+
+        return this.offsets.getLong(8L * id);
+    }
+
+    /**
+     * @param id of the vertex
+     * @return the index after the last arc going out of the vertex
+     * @throws IllegalStateException if the graph is closed
+     */
+    public long lastEdge(int id) throws IllegalStateException {
+        checkOpen("lastEdge(id)");
+
+        return this.offsets.getLong(8L * (id + 1));
+    }
+
+    /**
+     * @param edge index of the arc
+     * @return the {@code id} of the vertex the arc goes to
+     * @throws IllegalStateException if the graph is closed
+     */
+    public int getTarget(long edge) throws IllegalStateException {
+        checkOpen("getTarget(edge)");
+
+        return this.targets.getInt(4 * edge);
+    }
+
+    /**
+     * @param edge index of the arc
+     * @return the {@code weight} of the arc
+     * @throws IllegalStateException if the graph is closed
+     */
+    public double getWeight(long edge) throws IllegalStateException {
+        checkOpen("getWeight(edge)");
+
+        return this.weights.getDouble(8 * edge);
+    }
+
+    /**
+     * @param from id of the first vertex
+     * @param to   id of the second vertex
+     * @return the index of the arc from {@code from} to {@code to}, {@code -1}
+     *         if there is no such arc
+     * @throws IllegalStateException if the graph is closed
+     */
+    public long findEdge(int from, int to) throws IllegalStateException {
+        long low = firstEdge(from);
+        long high = lastEdge(from) - 1;
+
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            int target = this.targets.getInt(4 * middle);
+
+            if (target < to)
+                low = middle + 1;
+            else if (target > to)
+                high = middle - 1;
+            else
+                return middle;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Drop the memory of the graph, released by the collector; calling it again
+     * has no effect
+     */
+    @Override
+    public void close() {
+        if (this.closed)
+            return;
+
+        this.closed = true;
+        this.offsets.free();
+        this.targets.free();
+        this.weights.free();
+        this.labelOffsets.free();
+        this.labelBytes.free();
+        this.slots.free();
+    }
+
+    private void checkOpen(String method) throws IllegalStateException {
+        if (this.closed)
+            throw new IllegalStateException(method + ": the OffHeapGraph is closed");
+    }
+
+    /**
+     * Growable memory made of direct {@code ByteBuffer} chunks of the same size;
+     * only the last chunk may be smaller, and it is grown by copying it until it
+     * reaches the full size. The values are in native order and must not cross
+     * the end of a chunk, which holds when each region stores values of one size.
+     */
+    private static final class Memory {
+        private static final int MIN_CHUNK = 4096;
+
+        private final int chunkShift;
+        private final long chunkMask;
+        private ByteBuffer[] chunks = new ByteBuffer[1];
+        private int chunkCount = 0;
+        private long limit = 0; // bytes that can be used without growing
+
+        Memory(int chunkShift) {
+            this.chunkShift = chunkShift;
+            this.chunkMask = (1L << chunkShift) - 1;
+        }
+
+        /**
+         * Make room for the first {@code bytes} bytes
+         */
+        void ensure(long bytes) {
+            if (bytes <= this.limit)
+                return;
+
+            int last = (int) ((bytes - 1) >>> this.chunkShift);
+            int chunkBytes = 1 << this.chunkShift;
+
+            if (last >= this.chunks.length)
+                this.chunks = Arrays.copyOf(this.chunks, Math.max(last + 1, 2 * this.chunks.length));
+
+            for (int i = 0; i <= last; i++) {
+                int needed = (i < last) ? chunkBytes : (int) (bytes - ((long) last << this.chunkShift));
+                ByteBuffer chunk = this.chunks[i];
+
+                if (chunk != null && chunk.capacity() >= needed)
+                    continue;
+
+                int capacity = (chunk == null) ? Math.max(needed, Math.min(MIN_CHUNK, chunkBytes))
+                        : Math.max(needed, (int) Math.min(2L * chunk.capacity(), chunkBytes));
+                ByteBuffer grown = ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+                if (chunk != null) {
+                    grown.put(chunk.duplicate().clear());
+                    grown.clear();
+                }
+                this.chunks[i] = grown;
+            }
+
+            this.chunkCount = Math.max(this.chunkCount, last + 1);
+            this.limit = ((long) (this.chunkCount - 1) << this.chunkShift)
+                    + this.chunks[this.chunkCount - 1].capacity();
+        }
+
+        long capacity() {
+            long capacity = 0;
+            for (int i = 0; i < this.chunkCount; i++)
+                capacity += this.chunks[i].capacity();
+            return capacity;
+        }
+
+        int getInt(long at) {
+            return this.chunks[(int) (at >>> this.chunkShift)].getInt((int) (at & this.chunkMask));
+        }
+
+        void putInt(long at, int value) {
+            this.chunks[(int) (at >>> this.chunkShift)].putInt((int) (at & this.chunkMask), value);
+        }
+
+        long getLong(long at) {
+            return this.chunks[(int) (at >>> this.chunkShift)].getLong((int) (at & this.chunkMask));
+        }
+
+        void putLong(long at, long value) {
+            this.chunks[(int) (at >>> this.chunkShift)].putLong((int) (at & this.chunkMask), value);
+        }
+
+        double getDouble(long at) {
+            return this.chunks[(int) (at >>> this.chunkShift)].getDouble((int) (at & this.chunkMask));
+        }
+
+        void putDouble(long at, double value) {
+            this.chunks[(int) (at >>> this.chunkShift)].putDouble((int) (at & this.chunkMask), value);
+        }
+
+        byte getByte(long at) {
+            return this.chunks[(int) (at >>> this.chunkShift)].get((int) (at & this.chunkMask));
+        }
+
+        void putByte(long at, byte value) {
+            this.chunks[(int) (at >>> this.chunkShift)].put((int) (at & this.chunkMask), value);
+        }
+
+        /**
+         * Drop the chunks; their memory is released by the cleaner of the
+         * buffers, so a reader still holding one never sees it freed
+         */
+        void free() {
+            Arrays.fill(this.chunks, 0, this.chunkCount, null);
+            this.chunkCount = 0;
+            this.limit = 0;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package graph;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static graph.StaticGraphAssert.assertSameGraph;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OffHeapGraphTests {
+    private CsrGraph<String> csr = null;
+
+    @Before
+    public void createGraph() throws GraphException {
+        Graph<String, String> graph = new Graph<>(GraphType.DIRECTED);
+        for (int i = 0; i < 200; i++)
+            graph.addVertex("v" + i);
+
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++)
+            graph.addEdge("v" + random.nextInt(200), "v" + random.nextInt(200), "e", random.nextInt(1000) / 4.0);
+
+        csr = graph.freeze();
+    }
+
+    @Test
+    public void testCopyOf() {
+        try (OffHeapGraph offHeap = OffHeapGraph.copyOf(csr)) {
+            assertSameGraph(csr, offHeap);
+            assertEquals(csr.getNumberEdges(), offHeap.getNumberArcs());
+            assertEquals(-1, offHeap.getId("z"));
+            assertTrue(offHeap.getMemorySize() >= 12L * offHeap.getNumberArcs());
+        }
+    }
+
+    @Test
+    public void testSmallChunks() throws GraphException {
+        // 64 bytes chunks, so that every array spans many of them
+        OffHeapGraph.Builder builder = new OffHeapGraph.Builder(GraphType.DIRECTED, 6);
+        for (int id = 0; id < csr.getNumberVertices(); id++)
+            assertEquals(id, builder.addVertex(csr.getLabel(id)));
+        for (int u = 0; u < csr.getNumberVertices(); u++) {
+            int from = u;
+            csr.forEachArc(u, (to, weight) -> builder.addArc(from, to, weight));
+        }
+
+        try (OffHeapGraph offHeap = builder.build()) {
+            assertSameGraph(csr, offHeap);
+            assertArrayEquals(csr.bfs(0), offHeap.bfs(0));
+        }
+    }
+
+    @Test
+    public void testBuilderSortsRows() throws GraphException {
+        OffHeapGraph.Builder builder = new OffHeapGraph.Builder(GraphType.DIRECTED);
+        int a = builder.addVertex("a");
+        int b = builder.addVertex("b");
+        int c = builder.addVertex("c");
+        assertEquals(b, builder.addVertex("b"));
+
+        builder.addArc(a, c, 1);
+        builder.addArc(a, b, 2);
+        builder.addArc(a, c, 3);
+        builder.addArc(c, a, 4);
+
+        try (OffHeapGraph offHeap = builder.build()) {
+            assertEquals(3, offHeap.getNumberVertices());
+            assertEquals(3, offHeap.getNumberEdges());
+            assertEquals(2, offHeap.getOutDegree(a));
+            assertEquals(0, offHeap.getOutDegree(b));
+            assertEquals(b, offHeap.getTarget(offHeap.firstEdge(a)));
+            assertEquals(3, offHeap.getWeight(offHeap.findEdge(a, c)), 0);
+            assertEquals(-1, offHeap.findEdge(b, a));
+            assertEquals(4, offHeap.getWeight(offHeap.findEdge(c, a)), 0);
+        }
+    }
+
+    @Test
+    public void testBuilderSortsShuffledRows() throws GraphException {
+        OffHeapGraph.Builder builder = new OffHeapGraph.Builder(GraphType.DIRECTED, 6);
+        for (int id = 0; id < csr.getNumberVertices(); id++)
+            builder.addVertex(csr.getLabel(id));
+
+        // every arc comes after a stale copy of itself, the rows in reverse order
+        for (int u = 0; u < csr.getNumberVertices(); u++) {
+            for (int e = csr.lastEdge(u) - 1; e >= csr.firstEdge(u); e--)
+                builder.addArc(u, csr.getTarget(e), -1);
+            for (int e = csr.lastEdge(u) - 1; e >= csr.firstEdge(u); e--)
+                builder.addArc(u, csr.getTarget(e), csr.getWeight(e));
+        }
+
+        try (OffHeapGraph offHeap = builder.build()) {
+            assertSameGraph(csr, offHeap);
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        try (OffHeapGraph offHeap = new OffHeapGraph.Builder(GraphType.UNDIRECTED).build()) {
+            assertEquals(0, offHeap.getNumberVertices());
+            assertEquals(0, offHeap.getNumberEdges());
+            assertFalse(offHeap.isDirected());
+        }
+    }
+
+    @Test(expected = GraphException.class)
+    public void testArcsOutOfOrder() throws GraphException {
+        OffHeapGraph.Builder builder = new OffHeapGraph.Builder(GraphType.DIRECTED);
+        builder.addVertex("a");
+        builder.addVertex("b");
+        builder.addArc(1, 0, 1);
+        builder.addArc(0, 1, 1);
+    }
+
+    @Test(expected = GraphException.class)
+    public void testArcToMissingVertex() throws GraphException {
+        OffHeapGraph.Builder builder = new OffHeapGraph.Builder(GraphType.DIRECTED);
+        builder.addVertex("a");
+        builder.addArc(0, 1, 1);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testVertexAfterArcs() throws GraphException {
+        OffHeapGraph.Builder builder = new OffHeapGraph.Builder(GraphType.DIRECTED);
+        builder.addVertex("a");
+        builder.addArc(0, 0, 1);
+        builder.addVertex("b");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testClosed() {
+        OffHeapGraph offHeap = OffHeapGraph.copyOf(csr);
+        offHeap.close();
+        offHeap.close();
+        offHeap.getOutDegree(0);
+    }
+}
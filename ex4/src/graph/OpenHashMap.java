@@ -0,0 +1,348 @@
+package graph;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Open addressing map (linear probing) used to store the vertices of a
+ * {@link Graph} and the edges of a {@link Vertex}.
+ * <p>
+ * Keys and values are kept into two arrays, so an entry costs two references
+ * instead of the node object of a {@code Hashtable}, and a lookup takes no
+ * lock. Keys are compared with {@code equals} and {@code hashCode} and neither
+ * keys nor values may be {@code null}, as into a {@code Hashtable}.
+ * <p>
+ * The map is NOT synchronized: it is meant to be changed by a single thread.
+ * The slots are published through a single volatile {@link Table}, replaced at
+ * every resize, so a reader running at the same time as the writer always
+ * works on keys, values and mask of the same size and never fails; it may
+ * miss the entry being put or removed at that moment, so the readers that need
+ * every write must be ordered with it by the caller, as
+ * {@link ConcurrentGraph} does with its locks. The iterators do not support
+ * {@code remove}.
+ */
+class OpenHashMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int MIN_CAPACITY = 8;
+
+    /**
+     * Slots of an {@code OpenHashMap}, with the mask of their size
+     */
+    static final class Table<K, V> {
+        private final Object[] keys;
+        private final Object[] values;
+        private final int mask;
+
+        private Table(int capacity) {
+            this.keys = new Object[capacity];
+            this.values = new Object[capacity];
+            this.mask = capacity - 1;
+        }
+
+        /**
+         * @return the number of slots, to visit them with {@link #keyAt(int)}
+         *         and {@link #valueAt(int)}
+         */
+        int capacity() {
+            return this.keys.length;
+        }
+
+        /**
+         * @param i slot
+         * @return the key into the slot, {@code null} if it is empty
+         */
+        @SuppressWarnings("unchecked")
+        K keyAt(int i) {
+            return (K) this.keys[i];
+        }
+
+        /**
+         * @param i slot
+         * @return the value into the slot, {@code null} if it is empty
+         */
+        @SuppressWarnings("unchecked")
+        V valueAt(int i) {
+            return (V) this.values[i];
+        }
+    }
+
+    private volatile Table<K, V> table = null;
+    private int size = 0;
+
+    OpenHashMap() {
+        this.table = new Table<>(MIN_CAPACITY);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public V get(Object key) {
+        if (key == null)
+            throw new NullPointerException("get(key): key must not be null");
+
+        Table<K, V> table = this.table;
+
+        return table.valueAt(slot(table, key));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (key == null)
+            throw new NullPointerException("containsKey(key): key must not be null");
+
+        Table<K, V> table = this.table;
+
+        return table.keys[slot(table, key)] != null;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        if (value == null)
+            throw new NullPointerException("containsValue(value): value must not be null");
+
+        Table<K, V> table = this.table;
+        for (int i = 0; i < table.keys.length; i++) {
+            if (table.keys[i] != null && value.equals(table.values[i]))
+                return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return put(key, value, true);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return put(key, value, false);
+    }
+
+    private V put(K key, V value, boolean replace) {
+        if (key == null)
+            throw new NullPointerException("put(key, value): key must not be null");
+
+        if (value == null)
+            throw new NullPointerException("put(key, value): value must not be null");
+
+        Table<K, V> table = this.table;
+        int i = slot(table, key);
+
+        if (table.keys[i] != null) {
+            V old = table.valueAt(i);
+            if (replace)
+                table.values[i] = value;
+            return old;
+        }
+
+        table.values[i] = value;
+        table.keys[i] = key;
+
+        // at most 3/4 full, so the clusters stay short
+        if (++this.size * 4 > table.keys.length * 3)
+            resize(table, table.keys.length * 2);
+
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (key == null)
+            throw new NullPointerException("remove(key): key must not be null");
+
+        Table<K, V> table = this.table;
+        Object[] keys = table.keys;
+        Object[] values = table.values;
+        int mask = table.mask;
+        int i = slot(table, key);
+
+        if (keys[i] == null)
+            return null;
+
+        V removed = table.valueAt(i);
+        this.size--;
+
+        // shift back the following entries of the cluster to fill the hole
+        int hole = i;
+        int j = (i + 1) & mask;
+        while (keys[j] != null) {
+            int home = hash(keys[j]) & mask;
+
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+            j = (j + 1) & mask;
+        }
+        keys[hole] = null;
+        values[hole] = null;
+
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        this.table = new Table<>(MIN_CAPACITY);
+        this.size = 0;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public int size() {
+                return OpenHashMap.this.size;
+            }
+
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new SlotIterator<Entry<K, V>>() {
+                    @Override
+                    Entry<K, V> at(Table<K, V> table, int i) {
+                        return new SimpleImmutableEntry<>(table.keyAt(i), table.valueAt(i));
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * @return a read-only view of the keys, whose iterator allocates no entry
+     */
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public int size() {
+                return OpenHashMap.this.size;
+            }
+
+            @Override
+            public boolean contains(Object key) {
+                return containsKey(key);
+            }
+
+            @Override
+            public Iterator<K> iterator() {
+                return new SlotIterator<K>() {
+                    @Override
+                    K at(Table<K, V> table, int i) {
+                        return table.keyAt(i);
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * @return a read-only view of the values, whose iterator allocates no entry
+     */
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public int size() {
+                return OpenHashMap.this.size;
+            }
+
+            @Override
+            public Iterator<V> iterator() {
+                return new SlotIterator<V>() {
+                    @Override
+                    V at(Table<K, V> table, int i) {
+                        return table.valueAt(i);
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * @return the slots of the map, to visit them all from the same
+     *         {@link Table} even if the map grows meanwhile
+     */
+    Table<K, V> table() {
+        return this.table;
+    }
+
+    /**
+     * Visit the slots of the {@link Table} of its creation in order, skipping
+     * the empty ones
+     */
+    private abstract class SlotIterator<E> implements Iterator<E> {
+        private final Table<K, V> table = OpenHashMap.this.table;
+        private int next = advance(0);
+
+        abstract E at(Table<K, V> table, int i);
+
+        private int advance(int i) {
+            while (i < this.table.keys.length && this.table.keys[i] == null)
+                i++;
+            return i;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next < this.table.keys.length;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            int i = this.next;
+            this.next = advance(i + 1);
+
+            return at(this.table, i);
+        }
+    }
+
+    /**
+     * @return the slot of {@code table} that holds {@code key}, or the empty
+     *         slot where it would be added
+     */
+    private static int slot(Table<?, ?> table, Object key) {
+        Object[] keys = table.keys;
+        int mask = table.mask;
+        int i = hash(key) & mask;
+
+        while (keys[i] != null && !keys[i].equals(key))
+            i = (i + 1) & mask;
+
+        return i;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Fill a larger {@link Table} with the entries of {@code old}, then publish
+     * it
+     */
+    private void resize(Table<K, V> old, int capacity) {
+        Table<K, V> table = new Table<>(capacity);
+
+        for (int i = 0; i < old.keys.length; i++) {
+            if (old.keys[i] != null) {
+                int j = slot(table, old.keys[i]);
+                table.keys[j] = old.keys[i];
+                table.values[j] = old.values[i];
+            }
+        }
+
+        this.table = table;
+    }
+}
@@ -0,0 +1,100 @@
+package graph;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OpenHashMapTests {
+    private OpenHashMap<Integer, String> map = null;
+
+    @Before
+    public void createMap() {
+        map = new OpenHashMap<>();
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, map.size());
+        assertNull(map.get(1));
+        assertEquals("{}", map.toString());
+    }
+
+    @Test
+    public void testPutIfAbsent() {
+        assertNull(map.putIfAbsent(1, "a"));
+        assertEquals("a", map.putIfAbsent(1, "b"));
+        assertEquals("a", map.get(1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testRemove() {
+        map.put(1, "a");
+        map.put(2, "b");
+        assertEquals("a", map.remove(1));
+        assertNull(map.remove(1));
+        assertFalse(map.containsKey(1));
+        assertTrue(map.containsValue("b"));
+        assertEquals("{2=b}", map.toString());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullKey() {
+        map.get(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullValue() {
+        map.put(1, null);
+    }
+
+    @Test
+    public void testSameAsHashMap() {
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(17);
+
+        // few distinct keys, so removals often shift back long clusters
+        for (int i = 0; i < 20000; i++) {
+            Integer key = random.nextInt(300) * 64;
+            if (random.nextInt(3) == 0)
+                assertEquals(expected.remove(key), map.remove(key));
+            else
+                assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+            assertEquals(expected.size(), map.size());
+        }
+
+        assertEquals(expected, map);
+        assertEquals(expected.entrySet(), map.entrySet());
+    }
+
+    @Test(timeout = 10000)
+    public void testReaderWhileWriterGrows() throws InterruptedException {
+        final int n = 200000;
+        Throwable[] failure = { null };
+        Thread reader = new Thread(() -> {
+            try {
+                // the reads may miss the entry being put, but never fail
+                while (map.size() < n) {
+                    map.get(n / 2);
+                    map.containsKey(7);
+                    for (Integer key : map.keySet())
+                        assertNotNull(key);
+                }
+            } catch (Throwable t) {
+                failure[0] = t;
+            }
+        });
+
+        reader.start();
+        for (int i = 0; i < n; i++)
+            map.put(i, "v" + i);
+        reader.join();
+
+        assertNull(failure[0]);
+        assertEquals("v" + (n / 2), map.get(n / 2));
+    }
+}
@@ -0,0 +1,113 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * Read-only graph whose vertices are numbered with a dense {@code id} from
+ * {@code 0} to {@code getNumberVertices() - 1}, so that a search can keep its
+ * state into arrays indexed by id.
+ * <p>
+ * It is the query surface shared by the immutable representations of a
+ * {@link Graph}, whatever the way they store their edges.
+ *
+ * @param <T> type of the vertex labels
+ * @see CsrGraph
+ * @see MappedGraph
+ */
+public interface StaticGraph<T> {
+
+    /**
+     * @return the {@code type} of the graph
+     */
+    GraphType getType();
+
+    /**
+     * @return {@code TRUE} iff the graph is {@code Directed}, {@code FALSE}
+     *         otherwise
+     */
+    default boolean isDirected() {
+        return getType() == GraphType.DIRECTED;
+    }
+
+    /**
+     * @return the number of vertices
+     */
+    int getNumberVertices();
+
+    /**
+     * @return the number of edges, counted as {@link Graph#getNumberEdges()}
+     *         does
+     */
+    int getNumberEdges();
+
+    /**
+     * @param vertexLabel
+     * @return the {@code id} of the vertex with the given label, {@code -1} if
+     *         there is no such vertex
+     * @throws NullPointerException iff {@code vertexLabel} is {@code null}
+     */
+    int getId(T vertexLabel) throws NullPointerException;
+
+    /**
+     * @param id of the vertex
+     * @return the label of the vertex with the given {@code id}
+     * @throws IndexOutOfBoundsException iff {@code id} is not a vertex
+     */
+    T getLabel(int id) throws IndexOutOfBoundsException;
+
+    /**
+     * @param id of the vertex
+     * @return the number of edges going out of the vertex
+     */
+    int getOutDegree(int id);
+
+    /**
+     * Call {@code visitor} on every edge going out of the vertex, by increasing
+     * target
+     *
+     * @param id      of the vertex
+     * @param visitor called with the target and the {@code weight} of each edge
+     * @throws X as thrown by {@code visitor}, the edges left are not visited
+     */
+    <X extends Exception> void forEachArc(int id, ArcVisitor<X> visitor) throws X;
+
+    /**
+     * Visit the vertices in {@code Breadth First} order from {@code source}
+     *
+     * @param source id of the first vertex
+     * @return the number of edges on the shortest path from {@code source} to
+     *         every vertex, by id; {@code -1} for the vertices not reached
+     */
+    default int[] bfs(int source) {
+        int[] hops = new int[getNumberVertices()];
+        Arrays.fill(hops, -1);
+
+        // the ids in the queue are also the visiting order
+        int[] queue = new int[getNumberVertices()];
+
+        class Frontier implements ArcVisitor<RuntimeException> {
+            int tail = 0;
+            int hop = 0; // of the vertices found from the one being visited
+
+            @Override
+            public void visit(int v, double weight) {
+                if (hops[v] < 0) {
+                    hops[v] = this.hop;
+                    queue[this.tail++] = v;
+                }
+            }
+        }
+
+        Frontier frontier = new Frontier();
+        hops[source] = 0;
+        queue[frontier.tail++] = source;
+
+        for (int head = 0; head < frontier.tail; head++) {
+            int u = queue[head];
+            frontier.hop = hops[u] + 1;
+            forEachArc(u, frontier);
+        }
+
+        return hops;
+    }
+}
@@ -0,0 +1,40 @@
+package graph;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Assertions shared by the tests of the {@link StaticGraph} formats
+ */
+final class StaticGraphAssert {
+
+    private StaticGraphAssert() {
+    }
+
+    /**
+     * Assert that {@code actual} has the type, the labels and the arcs of
+     * {@code expected}, matching the vertices by label
+     */
+    static <T> void assertSameGraph(StaticGraph<T> expected, StaticGraph<T> actual) {
+        assertEquals(expected.getType(), actual.getType());
+        assertEquals(expected.getNumberVertices(), actual.getNumberVertices());
+        assertEquals(expected.getNumberEdges(), actual.getNumberEdges());
+
+        for (int u = 0; u < expected.getNumberVertices(); u++) {
+            T label = expected.getLabel(u);
+            int id = actual.getId(label);
+            assertEquals(label, actual.getLabel(id));
+            assertEquals(expected.getOutDegree(u), actual.getOutDegree(id));
+            assertEquals(arcs(expected, u), arcs(actual, id));
+        }
+    }
+
+    /**
+     * @return the arcs going out of {@code id}, in order, as
+     *         {@code "label=weight "} pairs
+     */
+    static <T> String arcs(StaticGraph<T> graph, int id) {
+        StringBuilder s = new StringBuilder();
+        graph.forEachArc(id, (v, weight) -> s.append(graph.getLabel(v)).append('=').append(weight).append(' '));
+        return s.toString();
+    }
+}
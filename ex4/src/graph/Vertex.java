@@ -1,13 +1,15 @@
 package graph;
 
-import java.util.Enumeration;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.Hashtable;
 import java.util.Set;
 
 public class Vertex<T, S> {
     private T label = null;
-    private Hashtable<T, Edge<S>> adjacentList = null;
+    private OpenHashMap<T, Edge<S>> adjacentList = null;
+    private OpenHashMap<T, Edge<S>> incomingList = null; // predecessor label -> edge coming from it
+    private Graph<T, S> owner = null; // keeps the incomingList of the adjacents up to date
     private double distance = 0;
     private Vertex<T, S> pi = null;
 
@@ -15,7 +17,8 @@ public class Vertex<T, S> {
      * Create a new {@code Vertex} with the given {@code label}
      */
     public Vertex(T label) {
-        this.adjacentList = new Hashtable<>();
+        this.adjacentList = new OpenHashMap<>();
+        this.incomingList = new OpenHashMap<>();
         this.label = label;
     }
 
@@ -65,6 +68,45 @@ public class Vertex<T, S> {
         return adjacentList.size();
     }
 
+    /**
+     * @return the total number of {@code edge} incoming from the vertices of
+     *         the same {@link Graph}, {@code 0} for a {@code Vertex} outside of
+     *         a {@code Graph}
+     */
+    public int getInDegree() {
+        return incomingList.size();
+    }
+
+    /**
+     * @return a read-only view of the labels of the vertices with an
+     *         {@code edge} to the current {@code Vertex}
+     */
+    public Set<T> predecessorLabels() {
+        return Collections.unmodifiableSet(incomingList.keySet());
+    }
+
+    /**
+     * Call {@code visitor} with the label of every predecessor and the
+     * {@code weight} of the edge coming from it, without allocating; the
+     * {@code Graph} must not change during the walk
+     * 
+     * @param visitor called for every predecessor
+     * @throws NullPointerException iff {@code visitor} is {@code null}
+     * @throws X                    thrown by {@code visitor}, which ends the walk
+     */
+    public <X extends Exception> void forEachPredecessor(NeighborVisitor<? super T, X> visitor)
+            throws NullPointerException, X {
+        if (visitor == null)
+            throw new NullPointerException("forEachPredecessor(visitor): visitor must not be null");
+
+        OpenHashMap.Table<T, Edge<S>> table = incomingList.table();
+        for (int i = 0; i < table.capacity(); i++) {
+            Edge<S> edge = table.valueAt(i);
+            if (edge != null)
+                visitor.visit(table.keyAt(i), edge.getWeight());
+        }
+    }
+
     /**
      * @return a new {@link Set} of vertex label containing all the vertices
      *         adjacents
@@ -83,16 +125,52 @@ public class Vertex<T, S> {
      */
     public Set<Edge<S>> getEdges() {
         Set<Edge<S>> ris = new HashSet<>();
-        Enumeration<Edge<S>> edge = adjacentList.elements();
 
-        while (edge.hasMoreElements()) {
-            Edge<S> e = edge.nextElement();
+        for (Edge<S> e : adjacentList.values()) {
             ris.add(e);
         }
 
         return ris;
     }
 
+    /**
+     * @return a read-only view of the labels of the vertices adjacents, which
+     *         follows the changes of the {@code Vertex}
+     */
+    public Set<T> adjacentLabels() {
+        return Collections.unmodifiableSet(adjacentList.keySet());
+    }
+
+    /**
+     * @return a read-only view of the edges, which follows the changes of the
+     *         {@code Vertex}
+     */
+    public Collection<Edge<S>> edges() {
+        return Collections.unmodifiableCollection(adjacentList.values());
+    }
+
+    /**
+     * Call {@code visitor} with the label and the {@code weight} of the edge of
+     * every adjacent, without allocating; the {@code Vertex} must not change
+     * during the walk
+     * 
+     * @param visitor called for every adjacent
+     * @throws NullPointerException iff {@code visitor} is {@code null}
+     * @throws X                    thrown by {@code visitor}, which ends the walk
+     */
+    public <X extends Exception> void forEachAdjacent(NeighborVisitor<? super T, X> visitor)
+            throws NullPointerException, X {
+        if (visitor == null)
+            throw new NullPointerException("forEachAdjacent(visitor): visitor must not be null");
+
+        OpenHashMap.Table<T, Edge<S>> table = adjacentList.table();
+        for (int i = 0; i < table.capacity(); i++) {
+            Edge<S> edge = table.valueAt(i);
+            if (edge != null)
+                visitor.visit(table.keyAt(i), edge.getWeight());
+        }
+    }
+
     /**
      * Check if the given {@code vertexLabel} is an adjacent of the current
      * {@code Vertex}
@@ -119,13 +197,17 @@ public class Vertex<T, S> {
         if (edge == null)
             throw new NullPointerException("hasEdge(edge): edge must not be null");
 
-        return adjacentList.contains(edge);
+        return adjacentList.containsValue(edge);
     }
 
     /**
-     * @param adjacentLabel of the vertex adjacent
+     * @param adjacentLabel of the vertex adjacent; when the current
+     *                      {@code Vertex} belongs to a {@link Graph}, it must
+     *                      be a vertex of the same {@code Graph}
      * @param edgeLabel     of the edge
-     * @return {@code TRUE} iff added successfully, {@code FALSE} otherwise
+     * @return {@code TRUE} iff added successfully, {@code FALSE} if the edge
+     *         already exists or {@code adjacentLabel} is not in the
+     *         {@code Graph} of the current {@code Vertex}
      * @throws NullPointerException iff {@code adjacentLabel} OR {@code edgeLabel}
      *                              are {@code null}
      */
@@ -136,9 +218,40 @@ public class Vertex<T, S> {
         if (edgeLabel == null)
             throw new NullPointerException("addAdjacent(adjacentLabel, edgeLabel): edgeLabel must not be null");
 
+        if (owner == null) {
+            // out of a Graph there is no incoming index to keep
+            return adjacentList.putIfAbsent(adjacentLabel, new Edge<>(edgeLabel)) == null;
+        }
+
+        // an edge to a vertex added later would have no incoming entry, and
+        // removing that vertex would leave the edge dangling
+        Vertex<T, S> adjacent = ownedVertex(adjacentLabel);
+        if (adjacent == null || adjacentList.containsKey(adjacentLabel))
+            return false;
+
+        link(adjacent, edgeLabel);
+
+        return true;
+    }
+
+    /**
+     * Add an edge to {@code adjacent}, a vertex of the same {@link Graph},
+     * without searching it by label
+     * 
+     * @return the {@code Edge} added, or the one already there
+     */
+    Edge<S> link(Vertex<T, S> adjacent, S edgeLabel) {
         Edge<S> edge = new Edge<>(edgeLabel);
+        Edge<S> old = adjacentList.putIfAbsent(adjacent.label, edge);
+
+        if (old != null)
+            return old;
+
+        if (owner != null)
+            owner.outDegreeChanged(adjacentList.size() - 1, adjacentList.size());
+        adjacent.incomingList.put(this.label, edge);
 
-        return (adjacentList.putIfAbsent(adjacentLabel, edge) == null);
+        return edge;
     }
 
     /**
@@ -187,13 +300,69 @@ public class Vertex<T, S> {
         if (adjacentLabel == null)
             throw new NullPointerException("remove(adjacentLabel): adjacentLabel must not be null");
 
-        return adjacentList.remove(adjacentLabel);
+        Edge<S> ris = adjacentList.remove(adjacentLabel);
+
+        if (ris != null) {
+            if (owner != null)
+                owner.outDegreeChanged(adjacentList.size() + 1, adjacentList.size());
+
+            Vertex<T, S> adjacent = ownedVertex(adjacentLabel);
+            if (adjacent != null)
+                adjacent.incomingList.remove(this.label);
+        }
+
+        return ris;
     }
 
     /**
-     * Remove all the adjacents vertices
+     * @return the adjacents label mapped to their {@code Edge}, read by the
+     *         {@link Graph} to walk them
+     */
+    OpenHashMap<T, Edge<S>> adjacents() {
+        return adjacentList;
+    }
+
+    /**
+     * @return the predecessors label mapped to the {@code Edge} coming from
+     *         them, read by the {@link Graph} to walk them
+     */
+    OpenHashMap<T, Edge<S>> incomings() {
+        return incomingList;
+    }
+
+    /**
+     * Set the {@link Graph} the {@code Vertex} belongs to, {@code null} when it
+     * leaves it
+     */
+    void setOwner(Graph<T, S> owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * @return the {@code Vertex} of the owner {@code Graph} with the given label,
+     *         {@code null} if it has no owner or there is no such vertex
+     */
+    private Vertex<T, S> ownedVertex(T vertexLabel) {
+        return (owner == null) ? null : owner.getVertex(vertexLabel);
+    }
+
+    /**
+     * Remove all the adjacents vertices, updating the counters of the owner
+     * {@link Graph}
      */
     public void clearEdges() {
+        if (owner != null) {
+            OpenHashMap.Table<T, Edge<S>> table = adjacentList.table();
+            for (int i = 0; i < table.capacity(); i++) {
+                T adjacentLabel = table.keyAt(i);
+                Vertex<T, S> adjacent = (adjacentLabel == null) ? null : owner.getVertex(adjacentLabel);
+                if (adjacent != null)
+                    adjacent.incomingList.remove(this.label);
+            }
+
+            owner.outDegreeChanged(adjacentList.size(), 0);
+        }
+
         adjacentList.clear();
     }
 
@@ -1,12 +1,8 @@
 package usage;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.Iterator;
 import java.util.Set;
 
@@ -14,63 +10,55 @@ import dijkstra.Dijkstra;
 import graph.Edge;
 import graph.Graph;
 import graph.GraphException;
+import graph.GraphFile;
+import graph.GraphLoader;
 import graph.GraphType;
+import graph.MappedGraph;
 import graph.Vertex;
+import minimumheap.MinimumHeapException;
 
 public class Main {
 
-    private static final Charset ENCODING = StandardCharsets.UTF_8;
+    private static final String GRAPH_FILE_EXTENSION = ".bin";
 
     private static void loadGraph(String filepath, Graph<String, String> graph)
             throws IOException, GraphException {
         System.out.format("\n%sLoading data from file...%s\n", ConsoleColors.YELLOW, ConsoleColors.RESET);
 
-        Path inputFilePath = Paths.get(filepath);
+        GraphLoader.load(Paths.get(filepath), graph, true, (from, to) -> from + "-" + to);
 
-        /* ADD ALL VERTICES */
-        try (BufferedReader fileInputReader = Files.newBufferedReader(inputFilePath, ENCODING)) {
-            String line = null;
-            while ((line = fileInputReader.readLine()) != null) {
-                String[] lineElements = line.split(",");
+        System.out.format("%sData loaded%s\n\n", ConsoleColors.YELLOW, ConsoleColors.RESET);
+    }
 
-                graph.addVertex(lineElements[0]);
-                graph.addVertex(lineElements[1]);
-            }
-        }
+    /**
+     * Convert the {@code CSV} file into a graph file, to be mapped by the next
+     * runs instead of parsed
+     */
+    private static void convertGraph(String csvPath, String filepath) throws IOException, GraphException {
+        System.out.format("\n%sConverting data to %s...%s\n", ConsoleColors.YELLOW, filepath, ConsoleColors.RESET);
 
-        /* ADD ALL EDGES + WEIGHTS */
-        try (BufferedReader fileInputReader = Files.newBufferedReader(inputFilePath,
-                ENCODING)) {
-            String line = null;
-            while ((line = fileInputReader.readLine()) != null) {
-                String[] lineElements = line.split(",");
-
-                try {
-                    graph.addEdge(lineElements[0], lineElements[1], lineElements[0] + "-" +
-                            lineElements[1]);
-                    graph.addEdge(lineElements[1], lineElements[0], lineElements[1] + "-" +
-                            lineElements[0]);
-
-                    graph.getEdge(lineElements[0],
-                            lineElements[1]).setWeight(Double.parseDouble(lineElements[2]));
-
-                    graph.getEdge(lineElements[1],
-                            lineElements[0]).setWeight(Double.parseDouble(lineElements[2]));
-                } catch (Exception e) {
-                    e.printStackTrace(System.err);
-                }
-            }
-        }
-        System.out.format("%sData loaded%s\n\n", ConsoleColors.YELLOW, ConsoleColors.RESET);
+        GraphFile.convert(Paths.get(csvPath), Paths.get(filepath), GraphType.DIRECTED, true);
+
+        System.out.format("%sData converted%s\n\n", ConsoleColors.YELLOW, ConsoleColors.RESET);
     }
 
     public static void main(String[] args) {
+        String srcLabel = "torino";
+        String dstLabel = "catania";
+
         Graph<String, String> graph = new Graph<>();
         try {
-            loadGraph(args[0], graph);
+            if (args.length > 1) {
+                convertGraph(args[0], args[1]);
+                return;
+            }
 
-            String srcLabel = "torino";
-            String dstLabel = "catania";
+            if (args[0].endsWith(GRAPH_FILE_EXTENSION)) {
+                runMapped(args[0], srcLabel, dstLabel);
+                return;
+            }
+
+            loadGraph(args[0], graph);
 
             long nanoTime1 = System.nanoTime();
             Set<Vertex<String, String>> ris = Dijkstra.dijkstra(graph, srcLabel);
@@ -88,6 +76,64 @@ public class Main {
         }
     }
 
+    /**
+     * Map the graph file and run Dijkstra on it, without building any
+     * {@code Vertex}
+     */
+    private static void runMapped(String filepath, String srcLabel, String dstLabel)
+            throws IOException, MinimumHeapException {
+        long nanoTime0 = System.nanoTime();
+        MappedGraph graph = GraphFile.map(Paths.get(filepath));
+        long nanoTime1 = System.nanoTime();
+        System.out.format("\n%sTime taken to map the graph:%s %.2f milliseconds%s\n\n", ConsoleColors.CYAN,
+                ConsoleColors.GREEN_BOLD_BRIGHT, (double) (nanoTime1 - nanoTime0) / 1000000, ConsoleColors.RESET);
+
+        int src = graph.getId(srcLabel);
+        int dst = graph.getId(dstLabel);
+        if (src < 0 || dst < 0) {
+            System.out.format("%sDistance between %s and %s :%s %f%s\n\n", ConsoleColors.CYAN, srcLabel, dstLabel,
+                    ConsoleColors.RED_BOLD, Double.POSITIVE_INFINITY, ConsoleColors.RESET);
+            return;
+        }
+
+        int[] pi = new int[graph.getNumberVertices()];
+        long nanoTime2 = System.nanoTime();
+        double[] distance = Dijkstra.dijkstra(graph, src, pi);
+        long nanoTime3 = System.nanoTime();
+        System.out.format("%sTime taken by Dijkstra:%s %.2f milliseconds%s\n\n", ConsoleColors.CYAN,
+                ConsoleColors.GREEN_BOLD_BRIGHT, (double) (nanoTime3 - nanoTime2) / 1000000, ConsoleColors.RESET);
+
+        if (distance[dst] == Double.POSITIVE_INFINITY) {
+            System.out.format("%sDistance between %s and %s :%s %f%s\n\n", ConsoleColors.CYAN, srcLabel, dstLabel,
+                    ConsoleColors.RED_BOLD, Double.POSITIVE_INFINITY, ConsoleColors.RESET);
+            return;
+        }
+
+        // the path is found backwards from the destination
+        ArrayDeque<String> path = new ArrayDeque<>();
+        for (int v = dst; v >= 0; v = pi[v])
+            path.push(graph.getLabel(v));
+
+        System.out.format("%sCities crossed:%s\n", ConsoleColors.CYAN, ConsoleColors.RESET);
+        System.out.format("\t%s%s%s\n", ConsoleColors.PURPLE_BACKGROUND_BRIGHT, path.pop(), ConsoleColors.RESET);
+        int cities = 1;
+        while (path.size() > 1) {
+            System.out.println("\t" + path.pop());
+            cities++;
+        }
+        if (!path.isEmpty()) {
+            System.out.format("\t%s%s%s\n", ConsoleColors.PURPLE_BACKGROUND_BRIGHT, path.pop(), ConsoleColors.RESET);
+            cities++;
+        }
+
+        System.out.format("%sNumber of cities crossed:%s %d%s\n", ConsoleColors.CYAN, ConsoleColors.GREEN_BOLD_BRIGHT,
+                cities, ConsoleColors.RESET);
+        System.out.format("%sDistance between %s%s%s and %s%s%s :%s ~%.2f Km%s\n\n", ConsoleColors.CYAN,
+                ConsoleColors.PURPLE_BACKGROUND_BRIGHT, srcLabel, ConsoleColors.CYAN,
+                ConsoleColors.PURPLE_BACKGROUND_BRIGHT, dstLabel, ConsoleColors.CYAN,
+                ConsoleColors.GREEN_BOLD_BRIGHT, (distance[dst] / 1000), ConsoleColors.RESET);
+    }
+
     /**
      * From the given {@code Set} of vertices print the path and the distance from
      * {@code srcLabel} to {@code dstLabel}